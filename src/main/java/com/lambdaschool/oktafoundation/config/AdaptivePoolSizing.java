@@ -0,0 +1,79 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Periodically resizes every registered pool according to its own PoolSizePolicy.
+ * Off unless datasource.adaptive.enabled is true.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "datasource.adaptive.enabled", havingValue = "true")
+public class AdaptivePoolSizing {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdaptivePoolSizing.class);
+
+	@Autowired
+	private PoolMetricsRegistry poolMetricsRegistry;
+
+	@Value("${datasource.adaptive.min-pool-size:2}")
+	private int minPoolSize;
+
+	@Value("${datasource.adaptive.max-pool-size:30}")
+	private int maxPoolSize;
+
+	@Value("${datasource.adaptive.step:2}")
+	private int step;
+
+	@Value("${datasource.adaptive.target-wait-ms:5}")
+	private double targetWaitMillis;
+
+	@Value("${datasource.adaptive.saturation-factor:2.0}")
+	private double saturationFactor;
+
+	private final Map<String, PoolSizePolicy> policies = new HashMap<>();
+
+	private final Map<String, PoolMetrics.Totals> lastTotals = new HashMap<>();
+
+	@Scheduled(fixedDelayString = "${datasource.adaptive.interval-ms:10000}")
+	public void resizePools() {
+		for (String poolName : poolMetricsRegistry.getPoolNames()) {
+			PoolMetrics metrics = poolMetricsRegistry.getMetrics(poolName);
+			if (metrics == null) {
+				continue;
+			}
+
+			PoolMetrics.Totals totals   = metrics.totals();
+			PoolMetrics.Totals previous = lastTotals.put(poolName, totals);
+			if (previous == null) {
+				continue;
+			}
+
+			HikariDataSource pool = poolMetricsRegistry.getPool(poolName);
+			int currentSize = pool.getHikariConfigMXBean()
+					.getMaximumPoolSize();
+			int nextSize = policies.computeIfAbsent(poolName,
+					name -> new PoolSizePolicy(minPoolSize, maxPoolSize, step, targetWaitMillis, saturationFactor))
+					.resize(currentSize, totals.since(previous), metrics.getPendingThreads(), metrics.getIdleConnections());
+			if (nextSize != currentSize) {
+				logger.info("Resizing pool {} from {} to {} connections", poolName, currentSize, nextSize);
+				pool.getHikariConfigMXBean()
+						.setMaximumPoolSize(nextSize);
+			}
+		}
+	}
+
+}
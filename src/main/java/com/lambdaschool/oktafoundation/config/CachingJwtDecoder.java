@@ -0,0 +1,114 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import com.lambdaschool.oktafoundation.models.CacheStatistics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Remembers the tokens its delegate has verified, so a client sending the same bearer token with every request
+ * pays for the signature check once.
+ * <p>
+ * Entries are keyed by the SHA-256 of the token (the cache never holds a usable credential), evicted least recently
+ * used first, and never returned past the token's exp. A token without an exp is not cached.
+ */
+public class CachingJwtDecoder
+		implements JwtDecoder {
+
+	static final String REGION = "tokens";
+
+	private final JwtDecoder delegate;
+
+	private final Clock clock;
+
+	private final Map<String, Jwt> verified;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder puts = new LongAdder();
+
+	/**
+	 * @param delegate Does the actual parsing, signature check, and claim validation
+	 * @param maxSize  The number of verified tokens to remember
+	 * @param clock    Decides when a cached token has expired
+	 */
+	public CachingJwtDecoder(
+			JwtDecoder delegate,
+			int maxSize,
+			Clock clock
+	) {
+		this.delegate = delegate;
+		this.clock    = clock;
+		this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	@Override
+	public Jwt decode(String token)
+	throws JwtException {
+		String  key = hash(token);
+		Instant now = clock.instant();
+
+		Jwt jwt;
+		synchronized (verified) {
+			jwt = verified.get(key);
+			if (jwt != null && !now.isBefore(jwt.getExpiresAt())) {
+				verified.remove(key);
+				jwt = null;
+			}
+		}
+		if (jwt != null) {
+			hits.increment();
+			return jwt;
+		}
+
+		misses.increment();
+		jwt = delegate.decode(token);
+		if (jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt())) {
+			synchronized (verified) {
+				verified.put(key, jwt);
+			}
+			puts.increment();
+		}
+		return jwt;
+	}
+
+	/**
+	 * @return Hits, misses, and puts since startup, reported as the "tokens" region
+	 */
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(REGION, hits.sum(), misses.sum(), puts.sum());
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getUrlEncoder()
+					.withoutPadding()
+					.encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			// every JRE has SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -4,15 +4,23 @@ package com.lambdaschool.oktafoundation.config;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
  * Configures which database we are using based on a property in application.properties
+ * <p>
+ * When replicas are configured the datasource is a ReadReplicaRoutingDataSource: read only transactions go to the
+ * replicas, everything else to the primary.
+ * <p>
+ * Every pool reports to the PoolMetricsRegistry (served at /pools/statistics) and, when
+ * datasource.adaptive.enabled is set, is resized by AdaptivePoolSizing.
  */
 @Configuration
 public class DataSourceConfig {
@@ -29,6 +37,61 @@ public class DataSourceConfig {
 	@Value("${spring.datasource.url:}")
 	private String dbURL;
 
+	/**
+	 * Connections in the primary pool
+	 */
+	@Value("${datasource.primary.maximum-pool-size:10}")
+	private int primaryPoolSize;
+
+	/**
+	 * JDBC urls of the POSTGRESQL read replicas. Defaults to none, which sends everything to the primary
+	 */
+	@Value("${datasource.replica.urls:}")
+	private String[] replicaURLs;
+
+	/**
+	 * Connections in each replica pool
+	 */
+	@Value("${datasource.replica.maximum-pool-size:10}")
+	private int replicaPoolSize;
+
+	/**
+	 * Under H2, stands up a second in memory database as a replica. Nothing is copied to it, so it is only useful
+	 * for seeing where queries are routed.
+	 */
+	@Value("${datasource.replica.h2-standin:false}")
+	private boolean h2StandIn;
+
+	/**
+	 * How long a connection may be held before Hikari logs who took it. 0 turns leak detection off
+	 */
+	@Value("${datasource.leak-detection-threshold-ms:60000}")
+	private long leakDetectionThreshold;
+
+	/**
+	 * How long a caller waits for a connection before giving up
+	 */
+	@Value("${datasource.connection-timeout-ms:30000}")
+	private long connectionTimeout;
+
+	/**
+	 * Whether AdaptivePoolSizing is resizing the pools
+	 */
+	@Value("${datasource.adaptive.enabled:false}")
+	private boolean adaptive;
+
+	/**
+	 * With adaptive sizing on, pools keep only this many idle connections so a shrunk pool actually gives
+	 * connections back
+	 */
+	@Value("${datasource.adaptive.min-pool-size:2}")
+	private int adaptiveMinPoolSize;
+
+	@Bean
+	public PoolMetricsRegistry poolMetricsRegistry() {
+		return new PoolMetricsRegistry(leakDetectionThreshold);
+	}
+
 	/**
 	 * The actual datasource configuration
 	 *
@@ -36,26 +99,78 @@ public class DataSourceConfig {
 	 */
 	@Bean
 	public DataSource dataSource() {
+		List<DataSource> replicas = new ArrayList<>();
+		DataSource       primary;
+
 		if (dbValue.equalsIgnoreCase("POSTGRESQL")) {
 			// Assume Heroku
-			HikariConfig config = new HikariConfig();
-			config.setDriverClassName("org.postgresql.Driver");
-			config.setJdbcUrl(dbURL);
-			return new HikariDataSource(config);
+			primary = postgresqlPool("primary", dbURL, primaryPoolSize);
+			for (int i = 0; i < replicaURLs.length; i++) {
+				replicas.add(postgresqlPool("replica-" + i, replicaURLs[i], replicaPoolSize));
+			}
 		} else {
 			// Assume H2
-			String myURLString   = "jdbc:h2:mem:testdb";
-			String myDriverClass = "org.h2.Driver";
-			String myDBUser      = "sa";
-			String myDBPassword  = "";
-
-			return DataSourceBuilder.create()
-					.username(myDBUser)
-					.password(myDBPassword)
-					.url(myURLString)
-					.driverClassName(myDriverClass)
-					.build();
+			primary = h2Pool("primary", "jdbc:h2:mem:testdb", primaryPoolSize);
+			if (h2StandIn) {
+				replicas.add(h2Pool("replica-0", "jdbc:h2:mem:replicadb", replicaPoolSize));
+			}
+		}
+
+		if (replicas.isEmpty()) {
+			return primary;
+		}
+		ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, replicas);
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	private DataSource postgresqlPool(
+			String name,
+			String url,
+			int size
+	) {
+		HikariConfig config = poolConfig(name, size);
+		config.setDriverClassName("org.postgresql.Driver");
+		config.setJdbcUrl(url);
+		// lets the driver send each JDBC batch of inserts as multi-row INSERT statements
+		config.addDataSourceProperty("reWriteBatchedInserts", "true");
+		return poolMetricsRegistry().register(new HikariDataSource(config));
+	}
+
+	private DataSource h2Pool(
+			String name,
+			String url,
+			int size
+	) {
+		String myDriverClass = "org.h2.Driver";
+		String myDBUser      = "sa";
+		String myDBPassword  = "";
+
+		HikariConfig config = poolConfig(name, size);
+		config.setDriverClassName(myDriverClass);
+		config.setJdbcUrl(url);
+		config.setUsername(myDBUser);
+		config.setPassword(myDBPassword);
+		return poolMetricsRegistry().register(new HikariDataSource(config));
+	}
+
+	/**
+	 * The settings every pool shares, whatever database it points at
+	 */
+	private HikariConfig poolConfig(
+			String name,
+			int size
+	) {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName(name);
+		config.setMaximumPoolSize(size);
+		if (adaptive) {
+			config.setMinimumIdle(Math.min(adaptiveMinPoolSize, size));
 		}
+		config.setConnectionTimeout(connectionTimeout);
+		config.setLeakDetectionThreshold(leakDetectionThreshold);
+		config.setMetricsTrackerFactory(poolMetricsRegistry());
+		return config;
 	}
 
 }
@@ -1,13 +1,61 @@
 package com.lambdaschool.oktafoundation.config;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.hateoas.config.EnableHypermediaSupport;
 import org.springframework.hateoas.config.EnableHypermediaSupport.HypermediaType;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
 
+
+/**
+ * HAL, plus the same HAL in CBOR and Smile for clients that send Accept: application/cbor or
+ * application/x-jackson-smile (see BinaryFormats).
+ * <p>
+ * The binary mappers are configured the way the HAL JSON one is, from the application's Jackson settings and the
+ * HAL module, so they leave out what the JSON leaves out and render links the same way. They go after the JSON
+ * converters, so that a request without a preference still gets JSON.
+ */
 @Configuration
 @EnableWebMvc
 @EnableHypermediaSupport(type = {HypermediaType.HAL})
-public class HypermediaConfig {}
+public class HypermediaConfig
+		implements WebMvcConfigurer {
+
+	@Autowired
+	private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+	@Autowired
+	private HalMediaTypeConfiguration halMediaTypeConfiguration;
+
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		// Spring MVC adds plain ones of its own when the formats are on the classpath
+		converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+				|| converter instanceof MappingJackson2SmileHttpMessageConverter);
+
+		converters.add(new MappingJackson2CborHttpMessageConverter(halMapper(new ObjectMapper(new CBORFactory()))));
+		converters.add(new MappingJackson2SmileHttpMessageConverter(halMapper(new ObjectMapper(new SmileFactory()))));
+	}
+
+	/**
+	 * @param objectMapper A mapper for the binary format, otherwise unconfigured
+	 * @return The mapper, set up like the one HAL JSON is written with
+	 */
+	private ObjectMapper halMapper(ObjectMapper objectMapper) {
+		objectMapperBuilder.configure(objectMapper);
+		return halMediaTypeConfiguration.configureObjectMapper(objectMapper);
+	}
+
+}
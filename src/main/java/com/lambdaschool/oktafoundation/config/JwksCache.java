@@ -0,0 +1,182 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+
+/**
+ * The authorization server's signing keys, kept in memory so verifying a token never waits on the network.
+ * <p>
+ * The key set is fetched on the executor: in the background once it is older than maxAge (requests keep using the
+ * old one meanwhile), and when a token names a key id the cached set does not have, which is how a key rotation
+ * shows up. Only the request carrying the unknown key id waits for that fetch, and there is at most one fetch per
+ * minRefreshInterval, so tokens with made-up key ids cannot turn into a stream of fetches.
+ */
+public class JwksCache
+		implements JWKSource<SecurityContext> {
+
+	/**
+	 * Fetches the current key set, e.g. from the authorization server's /v1/keys
+	 */
+	@FunctionalInterface
+	public interface Loader {
+
+		JWKSet load()
+		throws Exception;
+
+	}
+
+	private final Loader loader;
+
+	private final Executor executor;
+
+	private final long maxAgeNanos;
+
+	private final long minRefreshIntervalNanos;
+
+	private final long fetchTimeoutNanos;
+
+	private final LongSupplier clock;
+
+	private volatile Snapshot current;
+
+	private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+	/**
+	 * When the last fetch was started, set by whoever won inFlight's compare and set
+	 */
+	private volatile long lastFetchStarted;
+
+	public JwksCache(
+			Loader loader,
+			Executor executor,
+			long maxAgeNanos,
+			long minRefreshIntervalNanos,
+			long fetchTimeoutNanos,
+			LongSupplier clock
+	) {
+		this.loader                  = loader;
+		this.executor                = executor;
+		this.maxAgeNanos             = maxAgeNanos;
+		this.minRefreshIntervalNanos = minRefreshIntervalNanos;
+		this.fetchTimeoutNanos       = fetchTimeoutNanos;
+		this.clock                   = clock;
+	}
+
+	@Override
+	public List<JWK> get(
+			JWKSelector jwkSelector,
+			SecurityContext context
+	)
+	throws KeySourceException {
+		Snapshot snapshot = current;
+		if (snapshot == null) {
+			// nothing to fall back on, so even a known key id has to wait for the first fetch
+			snapshot = await(refresh(true));
+			if (snapshot == null) {
+				throw new KeySourceException("Could not fetch the signing keys");
+			}
+		}
+
+		List<JWK> keys = jwkSelector.select(snapshot.keys);
+		if (!keys.isEmpty()) {
+			if (clock.getAsLong() - snapshot.fetchedAt > maxAgeNanos) {
+				refresh(false);
+			}
+			return keys;
+		}
+
+		// an unknown key id: either the keys were rotated or the token is bogus
+		CompletableFuture<Snapshot> fetch = refresh(false);
+		if (fetch == null) {
+			return keys;
+		}
+		Snapshot refreshed = await(fetch);
+		return refreshed == null ? keys : jwkSelector.select(refreshed.keys);
+	}
+
+	/**
+	 * Starts a fetch unless one is running or the last one started less than minRefreshInterval ago
+	 *
+	 * @param force Ignore minRefreshInterval
+	 * @return The running fetch, or null when none was started
+	 */
+	private CompletableFuture<Snapshot> refresh(boolean force) {
+		while (true) {
+			CompletableFuture<Snapshot> running = inFlight.get();
+			if (running != null) {
+				return running;
+			}
+			long now = clock.getAsLong();
+			if (!force && current != null && now - lastFetchStarted < minRefreshIntervalNanos) {
+				return null;
+			}
+
+			CompletableFuture<Snapshot> fetch = new CompletableFuture<>();
+			if (inFlight.compareAndSet(null, fetch)) {
+				lastFetchStarted = now;
+				executor.execute(() -> fetch(fetch));
+				return fetch;
+			}
+		}
+	}
+
+	private void fetch(CompletableFuture<Snapshot> fetch) {
+		try {
+			Snapshot snapshot = new Snapshot(loader.load(), clock.getAsLong());
+			current = snapshot;
+			fetch.complete(snapshot);
+		} catch (Exception e) {
+			// keep serving the key set we have
+			fetch.completeExceptionally(e);
+		} finally {
+			inFlight.compareAndSet(fetch, null);
+		}
+	}
+
+	/**
+	 * @return The fetched key set, or null when the fetch failed or took longer than fetchTimeout
+	 */
+	private Snapshot await(CompletableFuture<Snapshot> fetch) {
+		try {
+			return fetch.get(fetchTimeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread()
+					.interrupt();
+			return null;
+		} catch (ExecutionException | TimeoutException e) {
+			return null;
+		}
+	}
+
+	private static class Snapshot {
+
+		final JWKSet keys;
+
+		final long fetchedAt;
+
+		Snapshot(
+				JWKSet keys,
+				long fetchedAt
+		) {
+			this.keys      = keys;
+			this.fetchedAt = fetchedAt;
+		}
+
+	}
+
+}
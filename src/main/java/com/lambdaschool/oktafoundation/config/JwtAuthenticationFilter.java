@@ -1,9 +1,11 @@
 package com.lambdaschool.oktafoundation.config;
 
 
+import com.lambdaschool.oktafoundation.models.Caller;
 import com.lambdaschool.oktafoundation.models.User;
 import com.lambdaschool.oktafoundation.models.UserRoles;
 import com.lambdaschool.oktafoundation.repository.UserRepository;
+import com.lambdaschool.oktafoundation.services.PrincipalCache;
 import com.lambdaschool.oktafoundation.services.RoleService;
 import com.lambdaschool.oktafoundation.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +44,12 @@ public class JwtAuthenticationFilter
 	@Autowired
 	private RoleService roleService;
 
+	/**
+	 * Saves a user lookup on every request after a caller's first
+	 */
+	@Autowired
+	private PrincipalCache principalCache;
+
 	@Override
 	protected void doFilterInternal(
 			HttpServletRequest httpServletRequest,
@@ -55,22 +63,13 @@ public class JwtAuthenticationFilter
 
 		// if we have an authenticated context, we'll enter into this statement
 		if (!(authentication instanceof AnonymousAuthenticationToken)) {
-			User workingUser = userRepository.findByUsername(authentication.getName());
-
-			// if we don't yet have this user, we should make one
-			if (workingUser == null) {
-				workingUser = new User(authentication.getName());
-				// adds a default ADMIN role to this new user... should we default to ADMIN?
-				Set<UserRoles> newRoles = new HashSet<>();
-				newRoles.add(new UserRoles(workingUser, roleService.findByName("ADMIN")));
-				workingUser.setRoles(newRoles);
-				workingUser = userService.save(workingUser);
-			}
+			Caller caller = principalCache.get(authentication.getName(), this::loadCaller);
 
 			// Forcing authentication to recognize the BE authorities not Okta's.
-			Authentication newAuth = new UsernamePasswordAuthenticationToken(authentication.getName(),
+			// The caller becomes the principal, so the rest of this request can read it instead of loading the user.
+			Authentication newAuth = new UsernamePasswordAuthenticationToken(caller,
 					authentication.getCredentials(),
-					workingUser.getAuthority()
+					caller.getAuthorities()
 			);
 
 			SecurityContextHolder.getContext()
@@ -82,4 +81,23 @@ public class JwtAuthenticationFilter
 		filterChain.doFilter(httpServletRequest, httpServletResponse);
 	}
 
+	/**
+	 * Only runs on a principal cache miss
+	 */
+	private Caller loadCaller(String username) {
+		User workingUser = userRepository.findByUsername(username);
+
+		// if we don't yet have this user, we should make one
+		if (workingUser == null) {
+			workingUser = new User(username);
+			// adds a default ADMIN role to this new user... should we default to ADMIN?
+			Set<UserRoles> newRoles = new HashSet<>();
+			newRoles.add(new UserRoles(workingUser, roleService.findByName("ADMIN")));
+			workingUser.setRoles(newRoles);
+			workingUser = userService.save(workingUser);
+		}
+
+		return Caller.of(workingUser);
+	}
+
 }
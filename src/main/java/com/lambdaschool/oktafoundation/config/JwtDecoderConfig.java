@@ -0,0 +1,120 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.RemoteJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.annotation.PreDestroy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Validates bearer tokens locally instead of through the Okta starter's decoder (which this bean replaces):
+ * the signing keys come from a JwksCache, and verified tokens are remembered by a CachingJwtDecoder.
+ * <p>
+ * The checks are the ones the Okta starter makes: an RS256 signature by one of the issuer's keys, the issuer,
+ * exp/nbf (with a minute of clock skew), and the audience.
+ */
+@Configuration
+public class JwtDecoderConfig {
+
+	@Value("${okta.oauth2.issuer}")
+	private String issuer;
+
+	@Value("${okta.oauth2.audience:api://default}")
+	private String audience;
+
+	/**
+	 * Defaults to the issuer's /v1/keys, where Okta authorization servers publish their keys
+	 */
+	@Value("${security.jwt.jwk-set-uri:}")
+	private String jwkSetUri;
+
+	@Value("${security.jwt.jwks-max-age-seconds:3600}")
+	private long jwksMaxAgeSeconds;
+
+	@Value("${security.jwt.jwks-min-refresh-interval-seconds:30}")
+	private long jwksMinRefreshIntervalSeconds;
+
+	@Value("${security.jwt.jwks-fetch-timeout-ms:5000}")
+	private int jwksFetchTimeoutMs;
+
+	@Value("${security.jwt.token-cache.max-size:10000}")
+	private int tokenCacheMaxSize;
+
+	private final ExecutorService jwksFetcher = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "jwks-fetcher");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@Bean
+	public JwksCache jwksCache()
+	throws MalformedURLException {
+		URL keys = new URL(jwkSetUri.isEmpty() ? issuer + "/v1/keys" : jwkSetUri);
+		return new JwksCache(() -> JWKSet.load(keys,
+				jwksFetchTimeoutMs,
+				jwksFetchTimeoutMs,
+				RemoteJWKSet.DEFAULT_HTTP_SIZE_LIMIT
+		),
+				jwksFetcher,
+				TimeUnit.SECONDS.toNanos(jwksMaxAgeSeconds),
+				TimeUnit.SECONDS.toNanos(jwksMinRefreshIntervalSeconds),
+				TimeUnit.MILLISECONDS.toNanos(jwksFetchTimeoutMs),
+				System::nanoTime
+		);
+	}
+
+	@Bean
+	public CachingJwtDecoder jwtDecoder(JwksCache jwksCache) {
+		return new CachingJwtDecoder(verifyingDecoder(jwksCache, issuer, audience),
+				tokenCacheMaxSize,
+				Clock.systemUTC()
+		);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		jwksFetcher.shutdownNow();
+	}
+
+	/**
+	 * A decoder that verifies every token it is given, with keys from keySource
+	 */
+	static NimbusJwtDecoder verifyingDecoder(
+			JWKSource<SecurityContext> keySource,
+			String issuer,
+			String audience
+	) {
+		DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+		processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keySource));
+		// claims are checked by the validators below
+		processor.setJWTClaimsSetVerifier((claims, context) -> {
+		});
+
+		NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+		decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefaultWithIssuer(issuer),
+				new JwtClaimValidator<Collection<String>>("aud", aud -> aud != null && aud.contains(audience))
+		));
+		return decoder;
+	}
+
+}
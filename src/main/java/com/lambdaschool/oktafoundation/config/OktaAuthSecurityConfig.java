@@ -46,6 +46,12 @@ public class OktaAuthSecurityConfig
 				.authenticated()
 				.antMatchers("/teachers/**")
 				.authenticated()
+				.antMatchers(HttpMethod.GET, "/search/**")
+				.authenticated()
+				.antMatchers(HttpMethod.GET, "/cache/**", "/pools/**")
+				.hasAnyRole("ADMIN")
+				.antMatchers(HttpMethod.GET, "/upload/**")
+				.hasAnyRole("ADMIN", "TEACHER")
 				.antMatchers(HttpMethod.GET, "/courses/**", "/modules/**", "/students/**", "/users/**", "/tags/**")
 				.authenticated()
 				.antMatchers(HttpMethod.POST, "/courses/**", "modules/**", "/teachers/**", "/upload/**", "/tags/**")
@@ -51,7 +51,10 @@ public class OktaAuthSecurityConfigLocal
 						"/teachers/**",
 						"/okta/**",
 						"/upload/**",
-						"/tags/**"
+						"/tags/**",
+						"/search/**",
+						"/cache/**",
+						"/pools/**"
 				)
 				.permitAll()
 				.antMatchers(HttpMethod.GET, "/courses/**", "/modules/**", "/students/**", "/users/**", "/tags/**")
@@ -0,0 +1,216 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * What Hikari reports about one pool: how long callers waited for a connection (as a histogram), how long they
+ * held it, how many gave up waiting, and the live active/idle/pending counts.
+ * <p>
+ * A connection held for longer than the leak detection threshold is counted when it finally comes back. Hikari
+ * itself logs the stack trace of whoever took it once the threshold passes, including for connections that never
+ * come back.
+ */
+public class PoolMetrics
+		implements IMetricsTracker {
+
+	/**
+	 * Upper bounds of the acquire latency buckets, in nanoseconds. The last bucket takes everything slower.
+	 */
+	static final long[] BUCKET_BOUNDS = {
+			100_000L,
+			1_000_000L,
+			5_000_000L,
+			10_000_000L,
+			50_000_000L,
+			100_000_000L,
+			500_000_000L,
+			1_000_000_000L
+	};
+
+	private final String poolName;
+
+	private final PoolStats poolStats;
+
+	private final long leakThresholdMillis;
+
+	private final AtomicLongArray acquireBuckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+
+	private final LongAdder acquires = new LongAdder();
+
+	private final LongAdder acquireNanos = new LongAdder();
+
+	private final LongAdder usages = new LongAdder();
+
+	private final LongAdder usageMillis = new LongAdder();
+
+	private final LongAdder timeouts = new LongAdder();
+
+	private final LongAdder heldPastLeakThreshold = new LongAdder();
+
+	/**
+	 * @param poolName            The pool being tracked
+	 * @param poolStats           Hikari's live view of the pool
+	 * @param leakThresholdMillis How long a connection may be held before it counts as a leak. 0 turns this off.
+	 */
+	public PoolMetrics(
+			String poolName,
+			PoolStats poolStats,
+			long leakThresholdMillis
+	) {
+		this.poolName            = poolName;
+		this.poolStats           = poolStats;
+		this.leakThresholdMillis = leakThresholdMillis;
+	}
+
+	@Override
+	public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+		acquires.increment();
+		acquireNanos.add(elapsedAcquiredNanos);
+		acquireBuckets.incrementAndGet(bucketOf(elapsedAcquiredNanos));
+	}
+
+	@Override
+	public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+		usages.increment();
+		usageMillis.add(elapsedBorrowedMillis);
+		if (leakThresholdMillis > 0 && elapsedBorrowedMillis >= leakThresholdMillis) {
+			heldPastLeakThreshold.increment();
+		}
+	}
+
+	@Override
+	public void recordConnectionTimeout() {
+		timeouts.increment();
+	}
+
+	static int bucketOf(long nanos) {
+		int bucket = 0;
+		while (bucket < BUCKET_BOUNDS.length && nanos > BUCKET_BOUNDS[bucket]) {
+			bucket++;
+		}
+		return bucket;
+	}
+
+	public String getPoolName() {
+		return poolName;
+	}
+
+	public int getActiveConnections() {
+		return poolStats.getActiveConnections();
+	}
+
+	public int getIdleConnections() {
+		return poolStats.getIdleConnections();
+	}
+
+	public int getPendingThreads() {
+		return poolStats.getPendingThreads();
+	}
+
+	public int getTotalConnections() {
+		return poolStats.getTotalConnections();
+	}
+
+	/**
+	 * @return How many acquires landed in each bucket of BUCKET_BOUNDS, since startup
+	 */
+	public long[] getAcquireHistogram() {
+		long[] counts = new long[acquireBuckets.length()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = acquireBuckets.get(i);
+		}
+		return counts;
+	}
+
+	public long getHeldPastLeakThreshold() {
+		return heldPastLeakThreshold.sum();
+	}
+
+	/**
+	 * @return The running totals, for working out what happened between two points in time
+	 */
+	public Totals totals() {
+		return new Totals(acquires.sum(),
+				acquireNanos.sum(),
+				usages.sum(),
+				usageMillis.sum(),
+				timeouts.sum()
+		);
+	}
+
+	/**
+	 * Running totals of one pool since startup
+	 */
+	public static class Totals {
+
+		final long acquires;
+
+		final long acquireNanos;
+
+		final long usages;
+
+		final long usageMillis;
+
+		final long timeouts;
+
+		Totals(
+				long acquires,
+				long acquireNanos,
+				long usages,
+				long usageMillis,
+				long timeouts
+		) {
+			this.acquires     = acquires;
+			this.acquireNanos = acquireNanos;
+			this.usages       = usages;
+			this.usageMillis  = usageMillis;
+			this.timeouts     = timeouts;
+		}
+
+		public long getAcquires() {
+			return acquires;
+		}
+
+		public long getUsages() {
+			return usages;
+		}
+
+		public long getTimeouts() {
+			return timeouts;
+		}
+
+		/**
+		 * @return Average wait for a connection in milliseconds, 0 before the first acquire
+		 */
+		public double getMeanAcquireMillis() {
+			return acquires == 0 ? 0 : acquireNanos / (acquires * 1_000_000.0);
+		}
+
+		/**
+		 * @return Average time a connection was held in milliseconds, 0 before the first one came back
+		 */
+		public double getMeanUsageMillis() {
+			return usages == 0 ? 0 : (double) usageMillis / usages;
+		}
+
+		/**
+		 * @return What happened between earlier and these totals
+		 */
+		public Totals since(Totals earlier) {
+			return new Totals(acquires - earlier.acquires,
+					acquireNanos - earlier.acquireNanos,
+					usages - earlier.usages,
+					usageMillis - earlier.usageMillis,
+					timeouts - earlier.timeouts
+			);
+		}
+
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Every connection pool DataSourceConfig builds, along with its PoolMetrics. Hikari hands each pool to this as it
+ * starts (MetricsTrackerFactory); DataSourceConfig registers the pools themselves so they can be resized.
+ */
+public class PoolMetricsRegistry
+		implements MetricsTrackerFactory {
+
+	private final long leakThresholdMillis;
+
+	private final Map<String, PoolMetrics> metrics = new ConcurrentHashMap<>();
+
+	private final Map<String, HikariDataSource> pools = new ConcurrentHashMap<>();
+
+	public PoolMetricsRegistry(long leakThresholdMillis) {
+		this.leakThresholdMillis = leakThresholdMillis;
+	}
+
+	@Override
+	public IMetricsTracker create(
+			String poolName,
+			PoolStats poolStats
+	) {
+		PoolMetrics poolMetrics = new PoolMetrics(poolName, poolStats, leakThresholdMillis);
+		metrics.put(poolName, poolMetrics);
+		return poolMetrics;
+	}
+
+	/**
+	 * @param pool A pool built with this registry as its metrics tracker factory
+	 * @return the same pool
+	 */
+	public HikariDataSource register(HikariDataSource pool) {
+		pools.put(pool.getPoolName(), pool);
+		return pool;
+	}
+
+	/**
+	 * @return The names of the registered pools, primary first
+	 */
+	public List<String> getPoolNames() {
+		List<String> names = new ArrayList<>(pools.keySet());
+		names.sort((a, b) -> a.equals(ReadReplicaRoutingDataSource.PRIMARY) ? -1 :
+		                     b.equals(ReadReplicaRoutingDataSource.PRIMARY) ? 1 : a.compareTo(b));
+		return names;
+	}
+
+	public HikariDataSource getPool(String poolName) {
+		return pools.get(poolName);
+	}
+
+	/**
+	 * @return The pool's metrics, or null if it has not handed out a connection yet
+	 */
+	public PoolMetrics getMetrics(String poolName) {
+		return metrics.get(poolName);
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+/**
+ * Decides the next maximum size of one pool from what happened to it since the last look.
+ * <p>
+ * Callers waiting on the pool means it is too small, unless the database is the bottleneck: then connections are
+ * held longer than usual (the baseline), and more of them would only move the queue from the pool into the
+ * database, so the pool shrinks instead. A pool nobody waits on gives back connections it leaves idle.
+ */
+public class PoolSizePolicy {
+
+	/**
+	 * How much each quiet period moves the baseline hold time
+	 */
+	private static final double BASELINE_WEIGHT = 0.2;
+
+	private final int minPoolSize;
+
+	private final int maxPoolSize;
+
+	private final int step;
+
+	private final double targetWaitMillis;
+
+	private final double saturationFactor;
+
+	private double baselineUsageMillis;
+
+	/**
+	 * @param minPoolSize      Never shrink below this
+	 * @param maxPoolSize      Never grow beyond this
+	 * @param step             Connections added or removed per decision
+	 * @param targetWaitMillis Average acquire wait that counts as callers waiting
+	 * @param saturationFactor How many times the baseline hold time means the database is saturated
+	 */
+	public PoolSizePolicy(
+			int minPoolSize,
+			int maxPoolSize,
+			int step,
+			double targetWaitMillis,
+			double saturationFactor
+	) {
+		this.minPoolSize      = minPoolSize;
+		this.maxPoolSize      = maxPoolSize;
+		this.step             = step;
+		this.targetWaitMillis = targetWaitMillis;
+		this.saturationFactor = saturationFactor;
+	}
+
+	/**
+	 * @param currentSize The pool's maximum size now
+	 * @param window      What happened since the last decision
+	 * @param pending     Callers waiting for a connection right now
+	 * @param idle        Idle connections right now
+	 * @return The pool's next maximum size
+	 */
+	public int resize(
+			int currentSize,
+			PoolMetrics.Totals window,
+			int pending,
+			int idle
+	) {
+		boolean waiting = pending > 0 || window.getTimeouts() > 0 || window.getMeanAcquireMillis() > targetWaitMillis;
+		if (!waiting) {
+			if (window.getUsages() > 0) {
+				baselineUsageMillis = baselineUsageMillis == 0 ? window.getMeanUsageMillis() :
+				                      baselineUsageMillis + BASELINE_WEIGHT * (window.getMeanUsageMillis() - baselineUsageMillis);
+			}
+			if (idle > step) {
+				return clamp(currentSize - step);
+			}
+			return clamp(currentSize);
+		}
+		if (baselineUsageMillis > 0 && window.getMeanUsageMillis() > baselineUsageMillis * saturationFactor) {
+			return clamp(currentSize - step);
+		}
+		return clamp(currentSize + step);
+	}
+
+	private int clamp(int size) {
+		return Math.max(minPoolSize, Math.min(maxPoolSize, size));
+	}
+
+	double getBaselineUsageMillis() {
+		return baselineUsageMillis;
+	}
+
+}
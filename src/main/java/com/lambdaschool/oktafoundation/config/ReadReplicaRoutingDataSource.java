@@ -0,0 +1,122 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Sends read only transactions to one of the replica pools (round robin) and everything else to the primary.
+ * <p>
+ * The route is picked when a connection is first used, so this has to sit behind a LazyConnectionDataSourceProxy:
+ * a transaction manager asks for its connection before the transaction's read only flag is published.
+ * <p>
+ * Once a thread has been routed to the primary inside a read-write transaction it stays pinned to the primary,
+ * so a read that follows a write sees that write instead of a lagging replica. The pin lasts until the end of the
+ * thread's pin scope (ReplicaPinFilter opens one per request) or, on a thread without one (background workers,
+ * schedulers, startup listeners), until the transaction that set it completes.
+ */
+public class ReadReplicaRoutingDataSource
+		extends AbstractRoutingDataSource {
+
+	static final String PRIMARY = "primary";
+
+	private static final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+
+	private static final ThreadLocal<Boolean> pinScope = new ThreadLocal<>();
+
+	private final int replicaCount;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	/**
+	 * @param primary  The pool every write (and any read outside a read only transaction) goes to
+	 * @param replicas The pools read only transactions are spread over. Must not be empty.
+	 */
+	public ReadReplicaRoutingDataSource(
+			DataSource primary,
+			List<DataSource> replicas
+	) {
+		if (replicas.isEmpty()) {
+			throw new IllegalArgumentException("At least one replica is required");
+		}
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < replicas.size(); i++) {
+			targets.put(replicaKey(i), replicas.get(i));
+		}
+		replicaCount = replicas.size();
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+	}
+
+	static String replicaKey(int index) {
+		return "replica-" + index;
+	}
+
+	/**
+	 * Keeps the rest of this thread's read only transactions on the primary. Without a pin scope that is only until
+	 * the current transaction completes.
+	 */
+	public static void pinToPrimary() {
+		if (isPinnedToPrimary()) {
+			return;
+		}
+		pinnedToPrimary.set(Boolean.TRUE);
+		if (pinScope.get() == null && TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					clearPin();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Makes a pin set on this thread last until {@link #closePinScope()} rather than the end of its transaction
+	 */
+	public static void openPinScope() {
+		pinnedToPrimary.remove();
+		pinScope.set(Boolean.TRUE);
+	}
+
+	/**
+	 * Ends this thread's pin scope and clears its pin
+	 */
+	public static void closePinScope() {
+		pinScope.remove();
+		pinnedToPrimary.remove();
+	}
+
+	/**
+	 * Lets read only transactions on this thread go back to the replicas
+	 */
+	public static void clearPin() {
+		pinnedToPrimary.remove();
+	}
+
+	public static boolean isPinnedToPrimary() {
+		return pinnedToPrimary.get() != null;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+		if (readOnly && !isPinnedToPrimary()) {
+			return replicaKey(Math.floorMod(next.getAndIncrement(), replicaCount));
+		}
+		if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+			pinToPrimary();
+		}
+		return PRIMARY;
+	}
+
+}
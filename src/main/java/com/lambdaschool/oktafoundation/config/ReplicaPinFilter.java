@@ -0,0 +1,38 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+
+/**
+ * Scopes ReadReplicaRoutingDataSource's primary pin to one request, so a read in a later transaction of the same
+ * request still sees what an earlier one wrote. The pin is cleared when the request is done, so a pooled request
+ * thread that once wrote does not keep sending its reads to the primary for every request it serves afterwards.
+ */
+@Component
+public class ReplicaPinFilter
+		extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(
+			HttpServletRequest request,
+			HttpServletResponse response,
+			FilterChain filterChain
+	)
+	throws ServletException, IOException {
+		ReadReplicaRoutingDataSource.openPinScope();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			ReadReplicaRoutingDataSource.closePinScope();
+		}
+	}
+
+}
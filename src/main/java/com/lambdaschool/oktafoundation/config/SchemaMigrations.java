@@ -0,0 +1,89 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import com.lambdaschool.oktafoundation.models.RoleType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+
+/**
+ * Migrates the data of a PostgreSQL database that predates the current mapping where ddl-auto=update cannot: the
+ * statements in schema/postgresql-migrations.sql, then the steps that need RoleType ordinals.
+ * <p>
+ * Runs while the application context is being built: after Hibernate has updated the schema (the
+ * EntityManagerFactory is a dependency) and before the web server takes requests or any CommandLineRunner
+ * (SeedData) gets going, so nothing reads or writes the old data in between. Every step is idempotent and applied on
+ * each startup. Only applies when running against PostgreSQL, H2 is created from scratch on every run.
+ */
+@Component
+public class SchemaMigrations {
+
+	/**
+	 * The property from application properties. Defaults to H2
+	 */
+	@Value("${local.run.db:H2}")
+	private String dbValue;
+
+	@Autowired
+	private DataSource dataSource;
+
+	/**
+	 * Not used, only orders this after Hibernate's schema update
+	 */
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PostConstruct
+	public void migrate() {
+		if (dbValue.equalsIgnoreCase("POSTGRESQL")) {
+			new ResourceDatabasePopulator(new ClassPathResource("schema/postgresql-migrations.sql")).execute(dataSource);
+
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			fillRoleTypes(jdbcTemplate);
+			fillEnrollmentCounts(jdbcTemplate);
+		}
+	}
+
+	/**
+	 * Fills in users.role_type for the users saved before it was kept up to date, then makes it NOT NULL.
+	 * <p>
+	 * A user's role type is the highest of their roles' (the lowest ordinal, see RoleType). A user none of whose roles
+	 * has a type is given the STUDENT role, as UserServiceImpl.save does for new users.
+	 */
+	private void fillRoleTypes(JdbcTemplate jdbcTemplate) {
+		// Hibernate cannot add the NOT NULL column to a table that has rows, so it may not be there yet
+		jdbcTemplate.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS role_type integer");
+		jdbcTemplate.update("UPDATE users u SET role_type = (SELECT min(r.role_type) FROM user_roles ur " +
+		                    "JOIN roles r ON r.role_id = ur.role_id WHERE ur.user_id = u.user_id) " +
+		                    "WHERE u.role_type IS NULL");
+		jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id, created_by, created_date, last_modified_by, " +
+		                    "last_modified_date) SELECT u.user_id, r.role_id, 'SYSTEM', now(), 'SYSTEM', now() " +
+		                    "FROM users u JOIN roles r " +
+		                    "ON r.role_id = (SELECT min(role_id) FROM roles WHERE role_type = ?) " +
+		                    "WHERE u.role_type IS NULL", RoleType.STUDENT.ordinal());
+		jdbcTemplate.update("UPDATE users SET role_type = ? WHERE role_type IS NULL", RoleType.STUDENT.ordinal());
+		jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN role_type SET NOT NULL");
+	}
+
+	/**
+	 * Counts the enrollments made before enrollmentCounts existed. Runs only while the table is empty, from then on
+	 * EnrollmentCountService keeps the counters in step. Each user is counted once per course under their priority
+	 * role, admins are not counted.
+	 */
+	private void fillEnrollmentCounts(JdbcTemplate jdbcTemplate) {
+		jdbcTemplate.update("INSERT INTO enrollment_counts (course_id, role, enrolled) " +
+		                    "SELECT uc.course_id, u.role_type, count(*) FROM user_courses uc " +
+		                    "JOIN users u ON u.user_id = uc.user_id " +
+		                    "WHERE u.role_type <> ? AND NOT EXISTS (SELECT 1 FROM enrollment_counts) " +
+		                    "GROUP BY uc.course_id, u.role_type", RoleType.ADMIN.ordinal());
+	}
+
+}
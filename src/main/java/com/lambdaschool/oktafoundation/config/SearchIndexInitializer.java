@@ -0,0 +1,41 @@
+package com.lambdaschool.oktafoundation.config;
+
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+
+/**
+ * Installs the search columns and indexes used by the ranked search queries.
+ * <p>
+ * Hibernate owns the schema (ddl-auto), so the generated search columns are added once the schema exists and
+ * before any CommandLineRunner (SeedData) gets going. Only applies when running against PostgreSQL, H2 uses the
+ * portable search queries instead.
+ */
+@Component
+public class SearchIndexInitializer {
+
+	/**
+	 * The property from application properties. Defaults to H2
+	 */
+	@Value("${local.run.db:H2}")
+	private String dbValue;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@EventListener(ApplicationStartedEvent.class)
+	public void installSearchIndexes() {
+		if (dbValue.equalsIgnoreCase("POSTGRESQL")) {
+			new ResourceDatabasePopulator(new ClassPathResource("search/postgresql-search.sql")).execute(dataSource);
+		}
+	}
+
+}
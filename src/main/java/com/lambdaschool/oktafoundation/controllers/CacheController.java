@@ -0,0 +1,40 @@
+package com.lambdaschool.oktafoundation.controllers;
+
+
+import com.lambdaschool.oktafoundation.models.CacheStatistics;
+import com.lambdaschool.oktafoundation.services.CacheStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+
+@RestController
+public class CacheController {
+
+	private final CacheStatisticsService cacheStatisticsService;
+
+	@Autowired
+	public CacheController(CacheStatisticsService cacheStatisticsService) {
+		this.cacheStatisticsService = cacheStatisticsService;
+	}
+
+	/**
+	 * Hit/miss statistics for the second-level cache regions (roles, tags, programs, program tags, query results)
+	 * and for the principal and verified token caches the authentication filters read
+	 * <br>Example: <a href="http://localhost:2019/cache/statistics">http://localhost:2019/cache/statistics</a>
+	 *
+	 * @return JSON list of per-region statistics with a status of OK
+	 */
+	@PreAuthorize("hasAnyRole('ADMIN', 'ROLE_ADMIN')")
+	@GetMapping(value = "/cache/statistics", produces = "application/json")
+	public ResponseEntity<?> getCacheStatistics() {
+		List<CacheStatistics> statistics = cacheStatisticsService.findAll();
+		return new ResponseEntity<>(statistics, HttpStatus.OK);
+	}
+
+}
@@ -3,14 +3,29 @@ package com.lambdaschool.oktafoundation.controllers;
 
 import com.lambdaschool.oktafoundation.exceptions.CourseNotFoundException;
 import com.lambdaschool.oktafoundation.modelAssemblers.CourseModelAssembler;
+import com.lambdaschool.oktafoundation.modelAssemblers.EntityModelStreamer;
+import com.lambdaschool.oktafoundation.modelAssemblers.LinkTemplate;
+import com.lambdaschool.oktafoundation.modelAssemblers.NextLinks;
+import com.lambdaschool.oktafoundation.models.CompactList;
 import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.CourseCard;
 import com.lambdaschool.oktafoundation.repository.CourseRepository;
 import com.lambdaschool.oktafoundation.services.CourseService;
+import com.lambdaschool.oktafoundation.services.HelperFunctions;
+import com.lambdaschool.oktafoundation.utils.BinaryFormats;
+import com.lambdaschool.oktafoundation.utils.CompactView;
+import com.lambdaschool.oktafoundation.utils.Cursor;
+import com.lambdaschool.oktafoundation.utils.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,13 +34,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,45 +59,177 @@ public class CourseController {
 	private final CourseRepository     courseRepository;
 	private final CourseService        courseService;
 	private final CourseModelAssembler courseModelAssembler;
+	private final EntityModelStreamer  entityModelStreamer;
+	private final HelperFunctions      helperFunctions;
+
+	/**
+	 * The "item" link of the compact view
+	 */
+	private final LinkTemplate courseTemplate;
 
 	@Autowired
 	public CourseController(
 			CourseRepository courseRepository,
 			CourseService courseService,
-			CourseModelAssembler courseModelAssembler
+			CourseModelAssembler courseModelAssembler,
+			EntityModelStreamer entityModelStreamer,
+			HelperFunctions helperFunctions
 	) {
 		this.courseRepository     = courseRepository;
 		this.courseService        = courseService;
 		this.courseModelAssembler = courseModelAssembler;
+		this.entityModelStreamer  = entityModelStreamer;
+		this.helperFunctions      = helperFunctions;
+
+		courseTemplate = LinkTemplate.ofId(id -> methodOn(CourseController.class).getCourseByCourseId(id, null));
 	}
 
-	@GetMapping(value = "/courses", produces = {"application/json"})
-	public ResponseEntity<CollectionModel<EntityModel<Course>>> getAllCourses() {
+	/**
+	 * A page of courses, in id order. With ?view=compact, or an Accept header with the compact profile, only their
+	 * ids (see CompactView).
+	 * <p>
+	 * Weakly ETagged by the versions of the courses on the page (see ETags), so a client polling with
+	 * If-None-Match gets a 304 without the courses being loaded or rendered.
+	 */
+	@GetMapping(value = "/courses", produces = {"application/json", BinaryFormats.CBOR_VALUE, BinaryFormats.SMILE_VALUE})
+	public ResponseEntity<?> getAllCourses(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size,
+			@RequestParam(defaultValue = CompactView.FULL)
+					String view,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+					String accept,
+			WebRequest request
+	) {
+		boolean compact = CompactView.isRequested(view, accept);
+		String  eTag    = ETags.weak(courseService.findPageVersion(Cursor.decode(cursor), Cursor.size(size)),
+				compact ? CompactView.COMPACT : helperFunctions.getCurrentPriorityRole(),
+				BinaryFormats.of(accept)
+		);
+		if (request.checkNotModified(eTag)) {
+			return new ResponseEntity<>(CompactView.headers(), HttpStatus.NOT_MODIFIED);
+		}
+
+		if (compact) {
+			return getCompactCourses(cursor, size);
+		}
 
-		List<EntityModel<Course>> courses = courseService.findAll()
-				.stream()
+		Slice<Course> page = courseService.findAllAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<Course>> courses = page.stream()
 				.map(courseModelAssembler::toModel)
 				.collect(Collectors.toList());
 
-		CollectionModel<EntityModel<Course>> entityCourses = CollectionModel.of(courses,
-				linkTo(methodOn(CourseController.class).getAllCourses()).withSelfRel()
+		CollectionModel<EntityModel<Course>> collectionModel = CollectionModel.of(courses,
+				linkTo(methodOn(CourseController.class).getAllCourses(cursor, size, null, null, null)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				Course::getCourseId,
+				next -> methodOn(CourseController.class).getAllCourses(next, size, null, null, null)
+		);
+
+		return new ResponseEntity<>(collectionModel, CompactView.headers(), HttpStatus.OK);
+	}
+
+	private ResponseEntity<CompactList> getCompactCourses(
+			String cursor,
+			Integer size
+	) {
+		Slice<Long> page = courseService.findIdsAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		CompactList compactList = new CompactList(page.getContent());
+		compactList.add(linkTo(methodOn(CourseController.class).getAllCourses(cursor,
+						size,
+						CompactView.COMPACT,
+						null,
+						null
+				)).withSelfRel(),
+				courseTemplate.toTemplatedLink(LinkTemplate.currentBaseUri(), "id", IanaLinkRelations.ITEM)
+		);
+		NextLinks.addAfter(compactList,
+				page,
+				Long::longValue,
+				next -> methodOn(CourseController.class).getAllCourses(next,
+						size,
+						CompactView.COMPACT,
+						null,
+						null
+				)
+		);
+
+		return new ResponseEntity<>(compactList, CompactView.headers(), HttpStatus.OK);
+	}
+
+	/**
+	 * Every course, in id order, as one JSON array of the same models {@link #getAllCourses} pages through.
+	 * The rows come off a database cursor and each is written as soon as it is read, so neither the table nor its
+	 * models are ever held in memory at once.
+	 */
+	@GetMapping(value = "/courses/stream", produces = "application/json")
+	public void streamAllCourses(HttpServletResponse response)
+	throws IOException {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		courseService.streamAll(courses -> entityModelStreamer.write(courses,
+				courseModelAssembler,
+				response.getOutputStream()
+		));
+	}
+
+	/**
+	 * Course cards for list views. Same cursor paging as {@link #getAllCourses}, but only the card columns are
+	 * selected, so each course's Program (and that program's owner and roles) is never loaded.
+	 */
+	@GetMapping(value = "/courses/cards", produces = "application/json")
+	public ResponseEntity<CollectionModel<CourseCard>> getCourseCards(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
+	) {
+		Slice<CourseCard> page = courseService.findCardsAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		CollectionModel<CourseCard> collectionModel = CollectionModel.of(page.getContent(),
+				linkTo(methodOn(CourseController.class).getCourseCards(cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				CourseCard::getCourseId,
+				next -> methodOn(CourseController.class).getCourseCards(next, size)
 		);
 
-		return new ResponseEntity<>(entityCourses, HttpStatus.OK);
+		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
 	}
 
+	/**
+	 * Courses relevant to the calling user, optionally filtered by a search term. Search results are ranked, so the
+	 * cursor for this endpoint tracks the result page rather than the last id.
+	 */
 	@GetMapping("/courses/relevant")
 	public ResponseEntity<?> getRelevantCourses(
 			@RequestParam(required = false)
-					String query
+					String query,
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
 	) {
-		List<EntityModel<Course>> courses = courseService.findRelevant(query)
-				.stream()
+		Page<Course> results = courseService.findRelevant(query,
+				PageRequest.of(Cursor.decodePage(cursor), Cursor.size(size))
+		);
+
+		List<EntityModel<Course>> courses = results.stream()
 				.map(courseModelAssembler::toModel)
 				.collect(Collectors.toList());
 
 		CollectionModel<EntityModel<Course>> collectionModel = CollectionModel.of(courses,
-				linkTo(methodOn(CourseController.class).getRelevantCourses(query)).withSelfRel()
+				linkTo(methodOn(CourseController.class).getRelevantCourses(query, cursor, size)).withSelfRel()
+		);
+		NextLinks.add(collectionModel,
+				NextLinks.cursorAfterPage(results),
+				next -> methodOn(CourseController.class).getRelevantCourses(query, next, size)
 		);
 
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
@@ -116,7 +266,7 @@ public class CourseController {
 			@PathVariable
 					long userId
 	) {
-		List<EntityModel<Course>> courses = courseRepository.findAntiCoursesByUserId(userId)
+		List<EntityModel<Course>> courses = courseService.findNotByUser(userId)
 				.stream()
 				.map(courseModelAssembler::toModel)
 				.collect(Collectors.toList());
@@ -131,14 +281,8 @@ public class CourseController {
 			@PathVariable
 					long userId
 	) {
-		List<Course> enrolledCourses = new ArrayList<>();
-		courseRepository.findCoursesByUserId(userId)
-				.iterator()
-				.forEachRemaining(enrolledCourses::add);
-		List<Course> availableCourses = new ArrayList<>();
-		courseRepository.findAntiCoursesByUserId(userId)
-				.iterator()
-				.forEachRemaining(availableCourses::add);
+		List<Course> enrolledCourses  = courseService.findByUser(userId);
+		List<Course> availableCourses = courseService.findNotByUser(userId);
 		Map<String, List<Course>> mappedCourses = new HashMap<>();
 		mappedCourses.put("enrolled", enrolledCourses);
 		mappedCourses.put("available", availableCourses);
@@ -150,7 +294,7 @@ public class CourseController {
 			@PathVariable
 					long userId
 	) {
-		List<EntityModel<Course>> courses = courseRepository.findCoursesByUserId(userId)
+		List<EntityModel<Course>> courses = courseService.findByUser(userId)
 				.stream()
 				.map(courseModelAssembler::toModel)
 				.collect(Collectors.toList());
@@ -167,7 +311,7 @@ public class CourseController {
 			@PathVariable
 					long userId
 	) {
-		List<EntityModel<Course>> courses = courseRepository.findCoursesByUserId(userId)
+		List<EntityModel<Course>> courses = courseService.findByUser(userId)
 				.stream()
 				.map(courseModelAssembler::toModel)
 				.collect(Collectors.toList());
@@ -179,13 +323,30 @@ public class CourseController {
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
 	}
 
-	@GetMapping(value = "/courses/course/{courseId}", produces = {"application/json"})
+	/**
+	 * One course, strongly ETagged by its version. The version is checked against If-None-Match first, so a client
+	 * that already has the current course gets a 304 without the course being loaded.
+	 */
+	@GetMapping(value = "/courses/course/{courseId}", produces = {"application/json", BinaryFormats.CBOR_VALUE, BinaryFormats.SMILE_VALUE})
 	public ResponseEntity<EntityModel<Course>> getCourseByCourseId(
 			@PathVariable
-					long courseId
+					long courseId,
+			WebRequest request
 	) {
+		String eTag = ETags.strong(courseService.findVersion(courseId),
+				helperFunctions.getCurrentPriorityRole(),
+				BinaryFormats.of(request.getHeader(HttpHeaders.ACCEPT))
+		);
+		if (request.checkNotModified(eTag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.varyBy(HttpHeaders.ACCEPT)
+					.build();
+		}
+
 		EntityModel<Course> course = courseModelAssembler.toModel(courseService.findCourseById(courseId));
-		return new ResponseEntity<>(course, HttpStatus.OK);
+		return ResponseEntity.ok()
+				.varyBy(HttpHeaders.ACCEPT)
+				.body(course);
 	}
 
 	@GetMapping(value = "/courses/{programId}", produces = {"application/json"})
@@ -193,7 +354,7 @@ public class CourseController {
 			@PathVariable
 					long programId
 	) {
-		List<EntityModel<Course>> courses = courseRepository.findCoursesByProgram_ProgramId(programId)
+		List<EntityModel<Course>> courses = courseService.findByProgram(programId)
 				.stream()
 				.map(courseModelAssembler::toModel)
 				.collect(Collectors.toList());
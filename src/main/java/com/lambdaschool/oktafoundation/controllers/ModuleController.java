@@ -2,15 +2,28 @@ package com.lambdaschool.oktafoundation.controllers;
 
 
 import com.lambdaschool.oktafoundation.exceptions.ResourceNotFoundException;
+import com.lambdaschool.oktafoundation.modelAssemblers.EntityModelStreamer;
+import com.lambdaschool.oktafoundation.modelAssemblers.LinkTemplate;
 import com.lambdaschool.oktafoundation.modelAssemblers.ModuleModelAssembler;
+import com.lambdaschool.oktafoundation.modelAssemblers.NextLinks;
+import com.lambdaschool.oktafoundation.models.CompactList;
 import com.lambdaschool.oktafoundation.models.Module;
+import com.lambdaschool.oktafoundation.models.ModuleHeader;
 import com.lambdaschool.oktafoundation.repository.ModuleRepository;
+import com.lambdaschool.oktafoundation.services.HelperFunctions;
 import com.lambdaschool.oktafoundation.services.ModuleService;
+import com.lambdaschool.oktafoundation.utils.BinaryFormats;
+import com.lambdaschool.oktafoundation.utils.CompactView;
+import com.lambdaschool.oktafoundation.utils.Cursor;
+import com.lambdaschool.oktafoundation.utils.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,10 +33,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -39,31 +57,145 @@ public class ModuleController {
 	private final ModuleRepository     moduleRepository;
 	private final ModuleService        moduleService;
 	private final ModuleModelAssembler moduleModelAssembler;
+	private final EntityModelStreamer  entityModelStreamer;
+	private final HelperFunctions      helperFunctions;
+
+	/**
+	 * The "item" link of the compact view
+	 */
+	private final LinkTemplate moduleTemplate;
 
 	@Autowired
 	public ModuleController(
 			ModuleRepository moduleRepository,
 			ModuleService moduleService,
-			ModuleModelAssembler moduleModelAssembler
+			ModuleModelAssembler moduleModelAssembler,
+			EntityModelStreamer entityModelStreamer,
+			HelperFunctions helperFunctions
 	) {
 		this.moduleRepository     = moduleRepository;
 		this.moduleService        = moduleService;
 		this.moduleModelAssembler = moduleModelAssembler;
+		this.entityModelStreamer  = entityModelStreamer;
+		this.helperFunctions      = helperFunctions;
+
+		moduleTemplate = LinkTemplate.ofId(id -> methodOn(ModuleController.class).getModuleById(id, null));
 	}
 
-	@GetMapping(value = "/modules", produces = "application/json")
-	public ResponseEntity<CollectionModel<EntityModel<Module>>> getAllModules() {
-		List<EntityModel<Module>> modules = moduleService.findAll()
-				.stream()
+	/**
+	 * A page of modules, in id order. With ?view=compact, or an Accept header with the compact profile, only their
+	 * ids (see CompactView). Weakly ETagged by the version of the modules table.
+	 */
+	@GetMapping(value = "/modules", produces = {"application/json", BinaryFormats.CBOR_VALUE, BinaryFormats.SMILE_VALUE})
+	public ResponseEntity<?> getAllModules(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size,
+			@RequestParam(defaultValue = CompactView.FULL)
+					String view,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+					String accept,
+			WebRequest request
+	) {
+		boolean compact = CompactView.isRequested(view, accept);
+		String  eTag    = ETags.weak(moduleService.findListVersion(),
+				compact ? CompactView.COMPACT : helperFunctions.getCurrentPriorityRole(),
+				BinaryFormats.of(accept)
+		);
+		if (request.checkNotModified(eTag)) {
+			return new ResponseEntity<>(CompactView.headers(), HttpStatus.NOT_MODIFIED);
+		}
+
+		if (compact) {
+			return getCompactModules(cursor, size);
+		}
+
+		Slice<Module> page = moduleService.findAllAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<Module>> modules = page.stream()
 				.map(moduleModelAssembler::toModel)
 				.collect(Collectors.toList());
 
-		CollectionModel<EntityModel<Module>> entityModules = CollectionModel.of(modules,
-				linkTo(methodOn(ModuleController.class).getAllModules()).withSelfRel()
+		CollectionModel<EntityModel<Module>> collectionModel = CollectionModel.of(modules,
+				linkTo(methodOn(ModuleController.class).getAllModules(cursor, size, null, null, null)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				Module::getModuleId,
+				next -> methodOn(ModuleController.class).getAllModules(next, size, null, null, null)
 		);
 
+		return new ResponseEntity<>(collectionModel, CompactView.headers(), HttpStatus.OK);
+	}
 
-		return new ResponseEntity<>(entityModules, HttpStatus.OK);
+	private ResponseEntity<CompactList> getCompactModules(
+			String cursor,
+			Integer size
+	) {
+		Slice<Long> page = moduleService.findIdsAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		CompactList compactList = new CompactList(page.getContent());
+		compactList.add(linkTo(methodOn(ModuleController.class).getAllModules(cursor,
+						size,
+						CompactView.COMPACT,
+						null,
+						null
+				)).withSelfRel(),
+				moduleTemplate.toTemplatedLink(LinkTemplate.currentBaseUri(), "id", IanaLinkRelations.ITEM)
+		);
+		NextLinks.addAfter(compactList,
+				page,
+				Long::longValue,
+				next -> methodOn(ModuleController.class).getAllModules(next,
+						size,
+						CompactView.COMPACT,
+						null,
+						null
+				)
+		);
+
+		return new ResponseEntity<>(compactList, CompactView.headers(), HttpStatus.OK);
+	}
+
+	/**
+	 * Every module, in id order, as one JSON array of the same models {@link #getAllModules} pages through.
+	 * The rows come off a database cursor and each is written as soon as it is read, so neither the table nor its
+	 * models are ever held in memory at once.
+	 */
+	@GetMapping(value = "/modules/stream", produces = "application/json")
+	public void streamAllModules(HttpServletResponse response)
+	throws IOException {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		moduleService.streamAll(modules -> entityModelStreamer.write(modules,
+				moduleModelAssembler,
+				response.getOutputStream()
+		));
+	}
+
+	/**
+	 * Module headers (id, name, description, course id) for list views, paged like {@link #getAllModules}. The
+	 * markdown content is left out.
+	 */
+	@GetMapping(value = "/modules/headers", produces = "application/json")
+	public ResponseEntity<CollectionModel<ModuleHeader>> getModuleHeaders(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
+	) {
+		Slice<ModuleHeader> page = moduleService.findHeadersAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		CollectionModel<ModuleHeader> collectionModel = CollectionModel.of(page.getContent(),
+				linkTo(methodOn(ModuleController.class).getModuleHeaders(cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				ModuleHeader::getModuleId,
+				next -> methodOn(ModuleController.class).getModuleHeaders(next, size)
+		);
+
+		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
 	}
 
 	@GetMapping("/modules/markdown/{moduleId}")
@@ -86,13 +218,30 @@ public class ModuleController {
 		return new ResponseEntity<>(HttpStatus.OK);
 	}
 
-	@GetMapping(value = "/modules/module/{moduleId}", produces = "application/json")
+	/**
+	 * One module, strongly ETagged by its version, which is compared with If-None-Match before the module (and its
+	 * content) is read
+	 */
+	@GetMapping(value = "/modules/module/{moduleId}", produces = {"application/json", BinaryFormats.CBOR_VALUE, BinaryFormats.SMILE_VALUE})
 	public ResponseEntity<EntityModel<Module>> getModuleById(
 			@PathVariable
-					Long moduleId
+					Long moduleId,
+			WebRequest request
 	) {
+		String eTag = ETags.strong(moduleService.findVersion(moduleId),
+				helperFunctions.getCurrentPriorityRole(),
+				BinaryFormats.of(request.getHeader(HttpHeaders.ACCEPT))
+		);
+		if (request.checkNotModified(eTag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.varyBy(HttpHeaders.ACCEPT)
+					.build();
+		}
+
 		Module module = moduleService.findModulesById(moduleId);
-		return new ResponseEntity<>(moduleModelAssembler.toModel(module), HttpStatus.OK);
+		return ResponseEntity.ok()
+				.varyBy(HttpHeaders.ACCEPT)
+				.body(moduleModelAssembler.toModel(module));
 	}
 
 	@GetMapping(value = "/modules/{courseId}", produces = "application/json")
@@ -100,13 +249,13 @@ public class ModuleController {
 			@PathVariable
 					Long courseId
 	) {
-		List<EntityModel<Module>> allModules = moduleRepository.findModulesByCourse_CourseId(courseId)
+		List<EntityModel<Module>> allModules = moduleService.findByCourse(courseId)
 				.stream()
 				.map(moduleModelAssembler::toModel)
 				.collect(Collectors.toList());
 
 		CollectionModel<EntityModel<Module>> entityModules = CollectionModel.of(allModules,
-				linkTo(methodOn(ModuleController.class).getAllModules()).withSelfRel()
+				linkTo(methodOn(ModuleController.class).getModulesByCourseId(courseId)).withSelfRel()
 		);
 
 		return new ResponseEntity<>(entityModules, HttpStatus.OK);
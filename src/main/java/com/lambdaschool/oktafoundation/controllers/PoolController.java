@@ -0,0 +1,39 @@
+package com.lambdaschool.oktafoundation.controllers;
+
+
+import com.lambdaschool.oktafoundation.models.PoolStatistics;
+import com.lambdaschool.oktafoundation.services.PoolStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+
+@RestController
+public class PoolController {
+
+	private final PoolStatisticsService poolStatisticsService;
+
+	@Autowired
+	public PoolController(PoolStatisticsService poolStatisticsService) {
+		this.poolStatisticsService = poolStatisticsService;
+	}
+
+	/**
+	 * Size, usage, acquire latency, timeouts, and leaks of each database connection pool
+	 * <br>Example: <a href="http://localhost:2019/pools/statistics">http://localhost:2019/pools/statistics</a>
+	 *
+	 * @return JSON list of per-pool statistics with a status of OK
+	 */
+	@PreAuthorize("hasAnyRole('ADMIN', 'ROLE_ADMIN')")
+	@GetMapping(value = "/pools/statistics", produces = "application/json")
+	public ResponseEntity<?> getPoolStatistics() {
+		List<PoolStatistics> statistics = poolStatisticsService.findAll();
+		return new ResponseEntity<>(statistics, HttpStatus.OK);
+	}
+
+}
@@ -1,17 +1,27 @@
 package com.lambdaschool.oktafoundation.controllers;
 
 
+import com.lambdaschool.oktafoundation.modelAssemblers.LinkTemplate;
+import com.lambdaschool.oktafoundation.modelAssemblers.NextLinks;
 import com.lambdaschool.oktafoundation.modelAssemblers.ProgramModelAssembler;
+import com.lambdaschool.oktafoundation.models.CompactList;
 import com.lambdaschool.oktafoundation.models.Program;
 import com.lambdaschool.oktafoundation.models.ProgramIn;
+import com.lambdaschool.oktafoundation.models.ProgramSummary;
 import com.lambdaschool.oktafoundation.models.Tag;
-import com.lambdaschool.oktafoundation.repository.ProgramRepository;
 import com.lambdaschool.oktafoundation.repository.TagRepository;
+import com.lambdaschool.oktafoundation.services.HelperFunctions;
 import com.lambdaschool.oktafoundation.services.ProgramService;
 import com.lambdaschool.oktafoundation.services.TagService;
+import com.lambdaschool.oktafoundation.utils.BinaryFormats;
+import com.lambdaschool.oktafoundation.utils.CompactView;
+import com.lambdaschool.oktafoundation.utils.Cursor;
+import com.lambdaschool.oktafoundation.utils.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,7 +32,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -39,23 +52,30 @@ public class ProgramController {
 
 	private final TagRepository         tagRepository;
 	private final ProgramService        programService;
-	private final ProgramRepository     programRepos;
 	private final ProgramModelAssembler programModelAssembler;
 	private final TagService            tagService;
+	private final HelperFunctions       helperFunctions;
+
+	/**
+	 * The "item" link of the compact view
+	 */
+	private final LinkTemplate programTemplate;
 
 	@Autowired
 	public ProgramController(
 			TagRepository tagRepository,
 			ProgramService programService,
-			ProgramRepository programRepos,
 			ProgramModelAssembler programModelAssembler,
-			TagService tagService
+			TagService tagService,
+			HelperFunctions helperFunctions
 	) {
 		this.tagRepository         = tagRepository;
 		this.programService        = programService;
-		this.programRepos          = programRepos;
 		this.programModelAssembler = programModelAssembler;
 		this.tagService            = tagService;
+		this.helperFunctions       = helperFunctions;
+
+		programTemplate = LinkTemplate.ofId(id -> methodOn(ProgramController.class).getProgramById(id, null));
 	}
 
 	@GetMapping(value = "/programs/tag-title/{tagTitle}")
@@ -76,28 +96,131 @@ public class ProgramController {
 		return new ResponseEntity<>(tags, HttpStatus.OK);
 	}
 
-	@GetMapping(value = "/programs", produces = "application/json")
-	public ResponseEntity<CollectionModel<EntityModel<Program>>> listAllPrograms() {
-		List<EntityModel<Program>> programEntities = programService.findAll()
-				.stream()
+	/**
+	 * A page of programs, in id order. With ?view=compact, or an Accept header with the compact profile, only their
+	 * ids (see CompactView). Weakly ETagged by the version of the programs table.
+	 */
+	@GetMapping(value = "/programs", produces = {"application/json", BinaryFormats.CBOR_VALUE, BinaryFormats.SMILE_VALUE})
+	public ResponseEntity<?> listAllPrograms(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size,
+			@RequestParam(defaultValue = CompactView.FULL)
+					String view,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+					String accept,
+			WebRequest request
+	) {
+		boolean compact = CompactView.isRequested(view, accept);
+		String  eTag    = ETags.weak(programService.findListVersion(),
+				compact ? CompactView.COMPACT : helperFunctions.getCurrentPriorityRole(),
+				BinaryFormats.of(accept)
+		);
+		if (request.checkNotModified(eTag)) {
+			return new ResponseEntity<>(CompactView.headers(), HttpStatus.NOT_MODIFIED);
+		}
+
+		if (compact) {
+			return getCompactPrograms(cursor, size);
+		}
+
+		Slice<Program> page = programService.findAllAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<Program>> programEntities = page.stream()
 				.map(programModelAssembler::toModel)
 				.collect(Collectors.toList());
 
 		CollectionModel<EntityModel<Program>> collectionModel = CollectionModel.of(programEntities,
 				// Link to SELF -- `listAllPrograms` method
-				linkTo(methodOn(ProgramController.class).listAllPrograms()).withSelfRel()
+				linkTo(methodOn(ProgramController.class).listAllPrograms(cursor, size, null, null, null)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				Program::getProgramId,
+				next -> methodOn(ProgramController.class).listAllPrograms(next, size, null, null, null)
+		);
+
+		return new ResponseEntity<>(collectionModel, CompactView.headers(), HttpStatus.OK);
+	}
+
+	private ResponseEntity<CompactList> getCompactPrograms(
+			String cursor,
+			Integer size
+	) {
+		Slice<Long> page = programService.findIdsAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		CompactList compactList = new CompactList(page.getContent());
+		compactList.add(linkTo(methodOn(ProgramController.class).listAllPrograms(cursor,
+						size,
+						CompactView.COMPACT,
+						null,
+						null
+				)).withSelfRel(),
+				programTemplate.toTemplatedLink(LinkTemplate.currentBaseUri(), "id", IanaLinkRelations.ITEM)
+		);
+		NextLinks.addAfter(compactList,
+				page,
+				Long::longValue,
+				next -> methodOn(ProgramController.class).listAllPrograms(next,
+						size,
+						CompactView.COMPACT,
+						null,
+						null
+				)
+		);
+
+		return new ResponseEntity<>(compactList, CompactView.headers(), HttpStatus.OK);
+	}
+
+	/**
+	 * Program summaries for list views, paged like {@link #listAllPrograms} but without the owning user.
+	 */
+	@GetMapping(value = "/programs/summaries", produces = "application/json")
+	public ResponseEntity<CollectionModel<ProgramSummary>> listProgramSummaries(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
+	) {
+		Slice<ProgramSummary> page = programService.findSummariesAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		CollectionModel<ProgramSummary> collectionModel = CollectionModel.of(page.getContent(),
+				linkTo(methodOn(ProgramController.class).listProgramSummaries(cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				ProgramSummary::getProgramId,
+				next -> methodOn(ProgramController.class).listProgramSummaries(next, size)
 		);
 
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
 	}
 
-	@GetMapping(value = "/programs/program/{programId}", produces = "application/json")
+	/**
+	 * One program, strongly ETagged by its version. A matching If-None-Match is answered 304 before the program is
+	 * loaded.
+	 */
+	@GetMapping(value = "/programs/program/{programId}", produces = {"application/json", BinaryFormats.CBOR_VALUE, BinaryFormats.SMILE_VALUE})
 	public ResponseEntity<EntityModel<Program>> getProgramById(
 			@PathVariable
-					Long programId
+					Long programId,
+			WebRequest request
 	) {
+		String eTag = ETags.strong(programService.findVersion(programId),
+				helperFunctions.getCurrentPriorityRole(),
+				BinaryFormats.of(request.getHeader(HttpHeaders.ACCEPT))
+		);
+		if (request.checkNotModified(eTag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.varyBy(HttpHeaders.ACCEPT)
+					.build();
+		}
+
 		EntityModel<Program> entityProgram = programModelAssembler.toModel(programService.findProgramsById(programId));
-		return new ResponseEntity<>(entityProgram, HttpStatus.OK);
+		return ResponseEntity.ok()
+				.varyBy(HttpHeaders.ACCEPT)
+				.body(entityProgram);
 	}
 
 	@GetMapping(value = "/programs/program/name/{programName}", produces = "application/json")
@@ -115,7 +238,7 @@ public class ProgramController {
 			@PathVariable
 					long userId
 	) {
-		List<EntityModel<Program>> programEntities = programRepos.findProgramsByUserId(userId)
+		List<EntityModel<Program>> programEntities = programService.findByUser(userId)
 				.stream()
 				.map(programModelAssembler::toModel)
 				.collect(Collectors.toList());
@@ -84,14 +84,14 @@ public class RolesController {
 	 *
 	 * @return JSON object of the role you seek
 	 *
-	 * @see RoleService#findByName(String) RoleService.findByName(String)
+	 * @see RoleService#findRoleByName(String) RoleService.findRoleByName(String)
 	 */
 	@GetMapping(value = "/role/name/{roleName}", produces = "application/json")
 	public ResponseEntity<?> getRoleByName(
 			@PathVariable
 					String roleName
 	) {
-		Role r = roleService.findByName(roleName);
+		Role r = roleService.findRoleByName(roleName);
 		return new ResponseEntity<>(r, HttpStatus.OK);
 	}
 
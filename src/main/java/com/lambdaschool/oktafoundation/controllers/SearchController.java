@@ -0,0 +1,50 @@
+package com.lambdaschool.oktafoundation.controllers;
+
+
+import com.lambdaschool.oktafoundation.models.Suggestion;
+import com.lambdaschool.oktafoundation.models.SuggestionType;
+import com.lambdaschool.oktafoundation.services.SuggestionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+
+@RestController
+public class SearchController {
+
+	private final SuggestionService suggestionService;
+
+	@Autowired
+	public SearchController(SuggestionService suggestionService) {
+		this.suggestionService = suggestionService;
+	}
+
+	/**
+	 * Typeahead suggestions for pickers, served from memory
+	 * <br>Example: <a href="http://localhost:2019/search/suggest?q=jan&type=USER">http://localhost:2019/search/suggest?q=jan&type=USER</a>
+	 *
+	 * @param q     The text typed so far
+	 * @param type  Optionally restricts suggestions to USER, TAG, or COURSE
+	 * @param limit The maximum number of suggestions to return, defaults to 10
+	 *
+	 * @return JSON list of suggestions with a status of OK
+	 */
+	@GetMapping(value = "/search/suggest", produces = "application/json")
+	public ResponseEntity<?> suggest(
+			@RequestParam
+					String q,
+			@RequestParam(required = false)
+					SuggestionType type,
+			@RequestParam(defaultValue = "10")
+					int limit
+	) {
+		List<Suggestion> suggestions = suggestionService.suggest(q, type, limit);
+		return new ResponseEntity<>(suggestions, HttpStatus.OK);
+	}
+
+}
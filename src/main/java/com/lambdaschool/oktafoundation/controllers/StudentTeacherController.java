@@ -1,10 +1,13 @@
 package com.lambdaschool.oktafoundation.controllers;
 
 
+import com.lambdaschool.oktafoundation.modelAssemblers.NextLinks;
 import com.lambdaschool.oktafoundation.modelAssemblers.UserModelAssembler;
 import com.lambdaschool.oktafoundation.models.User;
 import com.lambdaschool.oktafoundation.services.StudentTeacherService;
+import com.lambdaschool.oktafoundation.utils.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -39,39 +43,75 @@ public class StudentTeacherController {
 	}
 
 	@GetMapping("/users/admins")
-	public ResponseEntity<CollectionModel<EntityModel<User>>> getAllAdmins() {
-		List<EntityModel<User>> adminEntities = studentTeacherService.getAllAdmins()
-				.stream()
+	public ResponseEntity<CollectionModel<EntityModel<User>>> getAllAdmins(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
+	) {
+		Slice<User> page = studentTeacherService.getAllAdmins(Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<User>> adminEntities = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
+
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(adminEntities,
-				linkTo(methodOn(StudentTeacherController.class).getAllAdmins()).withSelfRel()
+				linkTo(methodOn(StudentTeacherController.class).getAllAdmins(cursor, size)).withSelfRel()
 		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				User::getUserId,
+				next -> methodOn(StudentTeacherController.class).getAllAdmins(next, size)
+		);
+
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
 	}
 
 	@GetMapping("/users/students")
-	public ResponseEntity<CollectionModel<EntityModel<User>>> getAllStudents() {
-		List<EntityModel<User>> studentEntities = studentTeacherService.getAllStudents()
-				.stream()
+	public ResponseEntity<CollectionModel<EntityModel<User>>> getAllStudents(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
+	) {
+		Slice<User> page = studentTeacherService.getAllStudents(Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<User>> studentEntities = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
+
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(studentEntities,
-				linkTo(methodOn(StudentTeacherController.class).getAllStudents()).withSelfRel()
+				linkTo(methodOn(StudentTeacherController.class).getAllStudents(cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				User::getUserId,
+				next -> methodOn(StudentTeacherController.class).getAllStudents(next, size)
 		);
 
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
 	}
 
 	@GetMapping("/users/teachers")
-	public ResponseEntity<CollectionModel<EntityModel<User>>> getAllTeachers() {
-		List<EntityModel<User>> teacherEntities = studentTeacherService.getAllTeachers()
-				.stream()
+	public ResponseEntity<CollectionModel<EntityModel<User>>> getAllTeachers(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
+	) {
+		Slice<User> page = studentTeacherService.getAllTeachers(Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<User>> teacherEntities = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
 
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(teacherEntities,
-				linkTo(methodOn(StudentTeacherController.class).getAllTeachers()).withSelfRel()
+				linkTo(methodOn(StudentTeacherController.class).getAllTeachers(cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				User::getUserId,
+				next -> methodOn(StudentTeacherController.class).getAllTeachers(next, size)
 		);
 
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
@@ -80,16 +120,25 @@ public class StudentTeacherController {
 	@GetMapping("/courses/course/{courseId}/enrolled")
 	public ResponseEntity<CollectionModel<EntityModel<User>>> getAllEnrolled(
 			@PathVariable
-					Long courseId
+					Long courseId,
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
 	) {
+		Slice<User> page = studentTeacherService.getCourseAttachedUsers(courseId, Cursor.decode(cursor), Cursor.size(size));
 
-		List<EntityModel<User>> enrolledUsers = studentTeacherService.getCourseAttachedUsers(courseId)
-				.stream()
+		List<EntityModel<User>> enrolledUsers = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
 
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(enrolledUsers,
-				linkTo(methodOn(StudentTeacherController.class).getAllEnrolled(courseId)).withSelfRel()
+				linkTo(methodOn(StudentTeacherController.class).getAllEnrolled(courseId, cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				User::getUserId,
+				next -> methodOn(StudentTeacherController.class).getAllEnrolled(courseId, next, size)
 		);
 
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
@@ -99,33 +148,52 @@ public class StudentTeacherController {
 	@GetMapping("/courses/course/{courseId}/detached")
 	public ResponseEntity<CollectionModel<EntityModel<User>>> getAllNotEnrolled(
 			@PathVariable
-					Long courseId
+					Long courseId,
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
 	) {
-		List<EntityModel<User>> notEnrolledUsers = studentTeacherService.getCourseNotAttachedUsers(courseId)
-				.stream()
+		Slice<User> page = studentTeacherService.getCourseNotAttachedUsers(courseId, Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<User>> notEnrolledUsers = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
 
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(notEnrolledUsers,
-				linkTo(methodOn(StudentTeacherController.class).getAllNotEnrolled(courseId)).withSelfRel()
+				linkTo(methodOn(StudentTeacherController.class).getAllNotEnrolled(courseId, cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				User::getUserId,
+				next -> methodOn(StudentTeacherController.class).getAllNotEnrolled(courseId, next, size)
 		);
 
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
-
 	}
 
 	@GetMapping("/courses/course/{courseId}/enrolled-students")
 	public ResponseEntity<CollectionModel<EntityModel<User>>> getEnrolledStudents(
 			@PathVariable
-					Long courseId
+					Long courseId,
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
 	) {
-		List<EntityModel<User>> enrolledStudents = studentTeacherService.getCourseAttachedStudents(courseId)
-				.stream()
+		Slice<User> page = studentTeacherService.getCourseAttachedStudents(courseId, Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<User>> enrolledStudents = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
 
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(enrolledStudents,
-				linkTo(methodOn(StudentTeacherController.class).getEnrolledStudents(courseId)).withSelfRel()
+				linkTo(methodOn(StudentTeacherController.class).getEnrolledStudents(courseId, cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				User::getUserId,
+				next -> methodOn(StudentTeacherController.class).getEnrolledStudents(courseId, next, size)
 		);
 
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
@@ -134,15 +202,25 @@ public class StudentTeacherController {
 	@GetMapping("/courses/course/{courseId}/enrolled-teachers")
 	public ResponseEntity<CollectionModel<EntityModel<User>>> getEnrolledTeachers(
 			@PathVariable
-					Long courseId
+					Long courseId,
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
 	) {
-		List<EntityModel<User>> enrolledTeachers = studentTeacherService.getCourseAttachedTeachers(courseId)
-				.stream()
+		Slice<User> page = studentTeacherService.getCourseAttachedTeachers(courseId, Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<User>> enrolledTeachers = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
 
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(enrolledTeachers,
-				linkTo(methodOn(StudentTeacherController.class).getEnrolledTeachers(courseId)).withSelfRel()
+				linkTo(methodOn(StudentTeacherController.class).getEnrolledTeachers(courseId, cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				User::getUserId,
+				next -> methodOn(StudentTeacherController.class).getEnrolledTeachers(courseId, next, size)
 		);
 
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
@@ -151,30 +229,54 @@ public class StudentTeacherController {
 	@GetMapping("/courses/course/{courseId}/detached-students")
 	public ResponseEntity<CollectionModel<EntityModel<User>>> getDetachedStudents(
 			@PathVariable
-					Long courseId
+					Long courseId,
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
 	) {
-		List<EntityModel<User>> detachedStudents = studentTeacherService.getCourseDetachedStudents(courseId)
-				.stream()
+		Slice<User> page = studentTeacherService.getCourseDetachedStudents(courseId, Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<User>> detachedStudents = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
+
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(detachedStudents,
-				linkTo(methodOn(StudentTeacherController.class).getDetachedStudents(courseId)).withSelfRel()
+				linkTo(methodOn(StudentTeacherController.class).getDetachedStudents(courseId, cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				User::getUserId,
+				next -> methodOn(StudentTeacherController.class).getDetachedStudents(courseId, next, size)
 		);
+
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
 	}
 
 	@GetMapping("/courses/course/{courseId}/detached-teachers")
 	public ResponseEntity<CollectionModel<EntityModel<User>>> getDetachedTeachers(
 			@PathVariable
-					Long courseId
+					Long courseId,
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
 	) {
-		List<EntityModel<User>> detachedTeachers = studentTeacherService.getCourseDetachedTeachers(courseId)
-				.stream()
+		Slice<User> page = studentTeacherService.getCourseDetachedTeachers(courseId, Cursor.decode(cursor), Cursor.size(size));
+
+		List<EntityModel<User>> detachedTeachers = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
+
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(detachedTeachers,
-				linkTo(methodOn(StudentTeacherController.class).getDetachedTeachers(courseId)).withSelfRel()
+				linkTo(methodOn(StudentTeacherController.class).getDetachedTeachers(courseId, cursor, size)).withSelfRel()
 		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				User::getUserId,
+				next -> methodOn(StudentTeacherController.class).getDetachedTeachers(courseId, next, size)
+		);
+
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
 	}
 
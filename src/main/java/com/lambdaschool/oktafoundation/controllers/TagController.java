@@ -1,9 +1,14 @@
 package com.lambdaschool.oktafoundation.controllers;
 
 
+import com.lambdaschool.oktafoundation.modelAssemblers.NextLinks;
 import com.lambdaschool.oktafoundation.models.Tag;
 import com.lambdaschool.oktafoundation.services.TagService;
+import com.lambdaschool.oktafoundation.utils.Cursor;
+import com.lambdaschool.oktafoundation.utils.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,11 +18,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 
 @RestController
 public class TagController {
@@ -29,17 +39,48 @@ public class TagController {
 		this.tagService = tagService;
 	}
 
+	/**
+	 * A page of tags, weakly ETagged by the version of the tags table
+	 */
 	@GetMapping(value = "/tags")
-	public ResponseEntity<?> getAll() {
-		List<Tag> tags = tagService.getAll();
-		return new ResponseEntity<>(tags, HttpStatus.OK);
+	public ResponseEntity<CollectionModel<Tag>> getAll(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size,
+			WebRequest request
+	) {
+		if (request.checkNotModified(ETags.weak(tagService.findListVersion()))) {
+			return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+		}
+
+		Slice<Tag> page = tagService.getAllAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		CollectionModel<Tag> collectionModel = CollectionModel.of(page.getContent(),
+				linkTo(methodOn(TagController.class).getAll(cursor, size, null)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				Tag::getTagId,
+				next -> methodOn(TagController.class).getAll(next, size, null)
+		);
+
+		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
 	}
 
+	/**
+	 * One tag, strongly ETagged by its version
+	 */
 	@GetMapping(value = "/tags/tag/{tagId}")
 	public ResponseEntity<?> get(
 			@PathVariable
-					Long tagId
+					Long tagId,
+			WebRequest request
 	) {
+		if (request.checkNotModified(ETags.strong(tagService.findVersion(tagId)))) {
+			return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+		}
+
 		Tag tag = tagService.get(tagId);
 		return new ResponseEntity<>(tag, HttpStatus.OK);
 	}
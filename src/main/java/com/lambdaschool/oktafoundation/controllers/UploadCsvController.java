@@ -1,18 +1,29 @@
 package com.lambdaschool.oktafoundation.controllers;
 
 
+import com.lambdaschool.oktafoundation.models.RosterImportJob;
+import com.lambdaschool.oktafoundation.models.RosterImportStatus;
 import com.lambdaschool.oktafoundation.services.CsvService;
 import com.lambdaschool.oktafoundation.utils.CsvHelper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 
+
+/**
+ * Roster uploads. A roster is imported in the background (see CsvServiceImpl): the upload answers 202 Accepted with
+ * the job, and its Location is where to poll the job until it is SUCCEEDED or FAILED.
+ */
 @RestController
 public class UploadCsvController {
 
@@ -30,19 +41,7 @@ public class UploadCsvController {
 			@RequestParam("file")
 					MultipartFile file
 	) {
-		String message;
-		if (CsvHelper.hasCsvFormat(file)) {
-			try {
-				csvService.save(file, courseId);
-				message = "Uploaded the file successfully: " + file.getOriginalFilename();
-				return new ResponseEntity<>(message, HttpStatus.CREATED);
-			} catch (Exception e) {
-				message = "Could not upload the file " + file.getOriginalFilename() + "!";
-				return new ResponseEntity<>(message, HttpStatus.EXPECTATION_FAILED);
-			}
-		}
-		message = "Please upload a CSV File!";
-		return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+		return importRoster(file, courseId);
 	}
 
 	@PostMapping("/upload/csv/student-roster")
@@ -50,20 +49,49 @@ public class UploadCsvController {
 			@RequestParam("file")
 					MultipartFile file
 	) {
-		String message;
+		return importRoster(file, null);
+	}
+
+	/**
+	 * @param jobId The id an upload answered with
+	 * @return The job: its status, how many rows it has processed, created, enrolled, and failed so far, and why
+	 * rows failed
+	 */
+	@GetMapping(value = "/upload/jobs/{jobId}", produces = "application/json")
+	public ResponseEntity<RosterImportJob> getImportJob(
+			@PathVariable
+					long jobId
+	) {
+		return new ResponseEntity<>(csvService.findImportJobById(jobId), HttpStatus.OK);
+	}
+
+	private ResponseEntity<?> importRoster(
+			MultipartFile file,
+			Long courseId
+	) {
+		if (!CsvHelper.hasCsvFormat(file)) {
+			return new ResponseEntity<>("Please upload a CSV File!", HttpStatus.BAD_REQUEST);
+		}
 
-		if (CsvHelper.hasCsvFormat(file)) {
-			try {
-				csvService.save(file);
-				message = "Uploaded the file successfully: " + file.getOriginalFilename();
-				return new ResponseEntity<>(message, HttpStatus.ACCEPTED);
-			} catch (Exception e) {
-				message = "Could not upload the file: " + file.getOriginalFilename() + "!";
-				return new ResponseEntity<>(message, HttpStatus.EXPECTATION_FAILED);
-			}
+		RosterImportJob job;
+		try {
+			job = csvService.importRoster(file, courseId);
+		} catch (IOException e) {
+			return new ResponseEntity<>("Could not upload the file " + file.getOriginalFilename() + "!",
+					HttpStatus.EXPECTATION_FAILED
+			);
+		}
+		if (job.getStatus() == RosterImportStatus.FAILED) {
+			// turned away, the importer is busy
+			return new ResponseEntity<>(job, HttpStatus.SERVICE_UNAVAILABLE);
 		}
-		message = "Please upload a CSV File!";
-		return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+
+		HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.setLocation(ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/upload/jobs/{jobId}")
+				.buildAndExpand(job.getJobId())
+				.toUri());
+		return new ResponseEntity<>(job, responseHeaders, HttpStatus.ACCEPTED);
 	}
 
 }
@@ -2,21 +2,32 @@ package com.lambdaschool.oktafoundation.controllers;
 
 
 import com.lambdaschool.oktafoundation.exceptions.RoleNotSufficientException;
+import com.lambdaschool.oktafoundation.modelAssemblers.EntityModelStreamer;
+import com.lambdaschool.oktafoundation.modelAssemblers.LinkTemplate;
+import com.lambdaschool.oktafoundation.modelAssemblers.NextLinks;
 import com.lambdaschool.oktafoundation.modelAssemblers.UserModelAssembler;
+import com.lambdaschool.oktafoundation.models.CompactList;
 import com.lambdaschool.oktafoundation.models.MinimumUser;
 import com.lambdaschool.oktafoundation.models.Role;
 import com.lambdaschool.oktafoundation.models.RoleType;
 import com.lambdaschool.oktafoundation.models.User;
 import com.lambdaschool.oktafoundation.models.UserRoles;
+import com.lambdaschool.oktafoundation.models.UserRow;
 import com.lambdaschool.oktafoundation.services.HelperFunctions;
-import com.lambdaschool.oktafoundation.services.OktaSDKService;
 import com.lambdaschool.oktafoundation.services.RoleService;
 import com.lambdaschool.oktafoundation.services.UserService;
+import com.lambdaschool.oktafoundation.utils.BinaryFormats;
+import com.lambdaschool.oktafoundation.utils.CompactView;
+import com.lambdaschool.oktafoundation.utils.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,11 +37,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -48,11 +62,16 @@ public class UserController {
 	/**
 	 * Using the User service to process user data
 	 */
-	private final UserService        userService;
-	private final UserModelAssembler userModelAssembler;
-	private final RoleService        roleService;
-	private final HelperFunctions    helperFunctions;
-	private final OktaSDKService     okta;
+	private final UserService         userService;
+	private final UserModelAssembler  userModelAssembler;
+	private final RoleService         roleService;
+	private final HelperFunctions     helperFunctions;
+	private final EntityModelStreamer entityModelStreamer;
+
+	/**
+	 * The "item" link of the compact view
+	 */
+	private final LinkTemplate userTemplate;
 
 	@Autowired
 	public UserController(
@@ -60,35 +79,152 @@ public class UserController {
 			UserModelAssembler userModelAssembler,
 			RoleService roleService,
 			HelperFunctions helperFunctions,
-			OktaSDKService okta
+			EntityModelStreamer entityModelStreamer
 	) {
-		this.userService        = userService;
-		this.userModelAssembler = userModelAssembler;
-		this.roleService        = roleService;
-		this.helperFunctions    = helperFunctions;
-		this.okta               = okta;
+		this.userService         = userService;
+		this.userModelAssembler  = userModelAssembler;
+		this.roleService         = roleService;
+		this.helperFunctions     = helperFunctions;
+		this.entityModelStreamer = entityModelStreamer;
+
+		userTemplate = LinkTemplate.ofId(id -> methodOn(UserController.class).getUserById(id));
 	}
 
 	/**
-	 * Returns a list of all users
-	 * <br>Example: <a href="http://localhost:2019/users/users">http://localhost:2019/users/users</a>
+	 * Returns a page of users, optionally filtered by a search term
+	 * <br>Example: <a href="http://localhost:2019/users?query=cin">http://localhost:2019/users?query=cin</a>
+	 * <p>
+	 * Follow the "next" link (or pass its cursor back) to get the following page. Without a query, users are listed
+	 * in id order and the cursor remembers the last id seen, so deep pages cost the same as the first one.
+	 *
+	 * @param query  Optional search term matched against username, first name, last name, and email
+	 * @param cursor The opaque cursor from a previous page's "next" link. Omit for the first page.
+	 * @param size   Page size, defaults to 25 (at most 100)
+	 * @param view   "compact" for only the ids of the users (see CompactView)
+	 * @param accept Also asks for the compact view when it carries the compact profile
 	 *
-	 * @return JSON list of all users with a status of OK
+	 * @return JSON list of users with a status of OK, and a "next" link when there are more results
 	 *
-	 * @see UserService#findAll() UserService.findAll()
+	 * @see UserService#findAllAfter(long, int) UserService.findAllAfter(long, int)
+	 * @see UserService#search(String, org.springframework.data.domain.Pageable) UserService.search(String, Pageable)
 	 */
-	@GetMapping(value = "/users", produces = "application/json")
-	public ResponseEntity<CollectionModel<EntityModel<User>>> listAllUsers(
+	@GetMapping(value = "/users", produces = {"application/json", BinaryFormats.CBOR_VALUE, BinaryFormats.SMILE_VALUE})
+	public ResponseEntity<?> listAllUsers(
 			@RequestParam(required = false)
-					String query
+					String query,
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size,
+			@RequestParam(defaultValue = CompactView.FULL)
+					String view,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+					String accept
 	) {
-		List<EntityModel<User>> myUsers = userService.search(query)
-				.stream()
+		if (CompactView.isRequested(view, accept)) {
+			return listCompactUsers(query, cursor, size);
+		}
+
+		Slice<User> page;
+		String      nextCursor;
+		if (query == null) {
+			page       = userService.findAllAfter(Cursor.decode(cursor), Cursor.size(size));
+			nextCursor = NextLinks.cursorAfter(page, User::getUserId);
+		} else {
+			// search results are ranked, so the cursor tracks the result page instead
+			page       = userService.search(query, PageRequest.of(Cursor.decodePage(cursor), Cursor.size(size)));
+			nextCursor = NextLinks.cursorAfterPage(page);
+		}
+
+		List<EntityModel<User>> myUsers = page.stream()
 				.map(userModelAssembler::toModel)
 				.collect(Collectors.toList());
 
 		CollectionModel<EntityModel<User>> collectionModel = CollectionModel.of(myUsers,
-				linkTo(methodOn(UserController.class).listAllUsers(query)).withSelfRel()
+				linkTo(methodOn(UserController.class).listAllUsers(query, cursor, size, null, null)).withSelfRel()
+		);
+		NextLinks.add(collectionModel,
+				nextCursor,
+				next -> methodOn(UserController.class).listAllUsers(query, next, size, null, null)
+		);
+
+		return new ResponseEntity<>(collectionModel, CompactView.headers(), HttpStatus.OK);
+	}
+
+	private ResponseEntity<CompactList> listCompactUsers(
+			String query,
+			String cursor,
+			Integer size
+	) {
+		Slice<Long> page;
+		String      nextCursor;
+		if (query == null) {
+			page       = userService.findIdsAfter(Cursor.decode(cursor), Cursor.size(size));
+			nextCursor = NextLinks.cursorAfter(page, Long::longValue);
+		} else {
+			// searching needs the users themselves, only the response is compact
+			page       = userService.search(query, PageRequest.of(Cursor.decodePage(cursor), Cursor.size(size)))
+					.map(User::getUserId);
+			nextCursor = NextLinks.cursorAfterPage(page);
+		}
+
+		CompactList compactList = new CompactList(page.getContent());
+		compactList.add(linkTo(methodOn(UserController.class).listAllUsers(query,
+						cursor,
+						size,
+						CompactView.COMPACT,
+						null
+				)).withSelfRel(),
+				userTemplate.toTemplatedLink(LinkTemplate.currentBaseUri(), "id", IanaLinkRelations.ITEM)
+		);
+		NextLinks.add(compactList,
+				nextCursor,
+				next -> methodOn(UserController.class).listAllUsers(query,
+						next,
+						size,
+						CompactView.COMPACT,
+						null
+				)
+		);
+
+		return new ResponseEntity<>(compactList, CompactView.headers(), HttpStatus.OK);
+	}
+
+	/**
+	 * Every user, in id order, as one JSON array of the same models {@link #listAllUsers} pages through.
+	 * The rows come off a database cursor and each is written as soon as it is read, so neither the table nor its
+	 * models are ever held in memory at once.
+	 */
+	@GetMapping(value = "/users/stream", produces = "application/json")
+	public void streamAllUsers(HttpServletResponse response)
+	throws IOException {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		userService.streamAll(users -> entityModelStreamer.write(users,
+				userModelAssembler,
+				response.getOutputStream()
+		));
+	}
+
+	/**
+	 * User rows for list views. Pages by cursor like {@link #listAllUsers} without a query, but reads only the
+	 * row columns and never touches roles.
+	 */
+	@GetMapping(value = "/users/rows", produces = "application/json")
+	public ResponseEntity<CollectionModel<UserRow>> listUserRows(
+			@RequestParam(required = false)
+					String cursor,
+			@RequestParam(defaultValue = Cursor.DEFAULT_SIZE)
+					Integer size
+	) {
+		Slice<UserRow> page = userService.findRowsAfter(Cursor.decode(cursor), Cursor.size(size));
+
+		CollectionModel<UserRow> collectionModel = CollectionModel.of(page.getContent(),
+				linkTo(methodOn(UserController.class).listUserRows(cursor, size)).withSelfRel()
+		);
+		NextLinks.addAfter(collectionModel,
+				page,
+				UserRow::getUserId,
+				next -> methodOn(UserController.class).listUserRows(next, size)
 		);
 
 		return new ResponseEntity<>(collectionModel, HttpStatus.OK);
@@ -104,13 +240,15 @@ public class UserController {
 	 *
 	 * @see UserService#findUserById(long) UserService.findUserById(long)
 	 */
-	@GetMapping(value = "/users/user/{userId}", produces = "application/json")
+	@GetMapping(value = "/users/user/{userId}", produces = {"application/json", BinaryFormats.CBOR_VALUE, BinaryFormats.SMILE_VALUE})
 	public ResponseEntity<EntityModel<User>> getUserById(
 			@PathVariable
 					Long userId
 	) {
 		EntityModel<User> user = userModelAssembler.toModel(userService.findUserById(userId));
-		return new ResponseEntity<>(user, HttpStatus.OK);
+		return ResponseEntity.ok()
+				.varyBy(HttpHeaders.ACCEPT)
+				.body(user);
 	}
 
 	/**
@@ -189,14 +327,8 @@ public class UserController {
 		} else {
 			newUser.setLastName(minimumUser.getEmail());
 		}
-		newUser = userService.save(newUser);
-
-		com.okta.sdk.resource.user.User oktaUser = okta.createOktaUser(newUser.getEmail(),
-				newUser.getFirstName(),
-				newUser.getLastName(),
-				newUser.getRole()
-						.name()
-		);
+		// created in Okta in the background, see OktaProvisioningServiceImpl
+		newUser = userService.saveAndProvision(newUser);
 
 		HttpHeaders responseHeaders = new HttpHeaders();
 		URI newUserURI = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -0,0 +1,14 @@
+package com.lambdaschool.oktafoundation.exceptions;
+
+
+/**
+ * A custom exception to be used when a client sends a pagination cursor we did not hand out
+ */
+public class InvalidCursorException
+		extends RuntimeException {
+
+	public InvalidCursorException(String cursor) {
+		super(String.format("Error invalid cursor %s", cursor));
+	}
+
+}
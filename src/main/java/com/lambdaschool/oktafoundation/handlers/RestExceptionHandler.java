@@ -1,6 +1,7 @@
 package com.lambdaschool.oktafoundation.handlers;
 
 
+import com.lambdaschool.oktafoundation.exceptions.InvalidCursorException;
 import com.lambdaschool.oktafoundation.exceptions.ResourceFoundException;
 import com.lambdaschool.oktafoundation.exceptions.ResourceNotFoundException;
 import com.lambdaschool.oktafoundation.models.ErrorDetail;
@@ -101,6 +102,27 @@ public class RestExceptionHandler
 		return new ResponseEntity<>(errorDetail, null, HttpStatus.BAD_REQUEST);
 	}
 
+	/**
+	 * Our custom handling of InvalidCursorExceptions. Thrown when a client sends back a cursor we never handed out.
+	 *
+	 * @param ice All the information about the exception that is thrown.
+	 *
+	 * @return The error details for displaying to the client plus the status Bad Request.
+	 */
+	@ExceptionHandler(InvalidCursorException.class)
+	public ResponseEntity<?> handleInvalidCursorException(InvalidCursorException ice) {
+		ErrorDetail errorDetail = new ErrorDetail();
+		errorDetail.setTimestamp(new Date());
+		errorDetail.setStatus(HttpStatus.BAD_REQUEST.value());
+		errorDetail.setTitle("Invalid Cursor");
+		errorDetail.setDetail(ice.getMessage());
+		errorDetail.setDeveloperMessage(ice.getClass()
+				.getName());
+		errorDetail.setErrors(helperFunctions.getConstraintViolation(ice));
+
+		return new ResponseEntity<>(errorDetail, null, HttpStatus.BAD_REQUEST);
+	}
+
 	/**
 	 * Reports when a correct endpoint is accessed but with an unsupported Http Method.
 	 *
@@ -10,16 +10,21 @@ import com.lambdaschool.oktafoundation.models.RoleType;
 import com.lambdaschool.oktafoundation.services.HelperFunctions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import java.util.EnumMap;
+import java.util.Map;
+
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 
 /**
  * A helper component able to transform a Course model into a restful Representation Model with
  * relative links.
+ * <p>
+ * The links are compiled into LinkTemplates once, when the assembler is created, one set per calling role.
  */
 @Component
 public class CourseModelAssembler
@@ -27,9 +32,95 @@ public class CourseModelAssembler
 
 	private final HelperFunctions helperFunctions;
 
+	/**
+	 * What every caller sees, and all a STUDENT sees
+	 */
+	private final EntityLinks<Course> linksForAnyone;
+
+	private final Map<RoleType, EntityLinks<Course>> linksByRole = new EnumMap<>(RoleType.class);
+
 	@Autowired
 	public CourseModelAssembler(HelperFunctions helperFunctions) {
 		this.helperFunctions = helperFunctions;
+
+		linksForAnyone = EntityLinks.<Course>none()
+				// Link to SELF --- GET /courses/course/{courseid}
+				.and(IanaLinkRelations.SELF,
+						LinkTemplate.ofId(id -> methodOn(CourseController.class).getCourseByCourseId(id, null)),
+						Course::getCourseId
+				)
+				// Link to associated program --- GET /programs/program/{programid}
+				.and("program",
+						LinkTemplate.ofId(id -> methodOn(ProgramController.class).getProgramById(id, null)),
+						course -> course.getProgram()
+								.getProgramId()
+				)
+				// Link to all courses --- GET /courses
+				.and("all_courses", LinkTemplate.of(methodOn(CourseController.class).getAllCourses(null, null, null, null, null)))
+				// Link to associated modules --- GET /modules/module/{moduleid}
+				.and("modules",
+						LinkTemplate.ofId(id -> methodOn(ModuleController.class).getModulesByCourseId(id)),
+						Course::getCourseId
+				);
+
+		// if the calling user is an ADMIN or a TEACHER, display the following additional links
+		EntityLinks<Course> linksForTeachers = linksForAnyone
+				// Link to associated users --- GET /courses/course/{courseid}/enrolled
+				.and("enrolled_users",
+						LinkTemplate.ofId(id -> methodOn(StudentTeacherController.class).getAllEnrolled(id, null, null)),
+						Course::getCourseId
+				)
+				// Link to all enrolled teachers --- GET /courses/course/{courseid}/enrolled-teachers
+				.and("enrolled_teachers",
+						LinkTemplate.ofId(id -> methodOn(StudentTeacherController.class).getEnrolledTeachers(id, null, null)),
+						Course::getCourseId
+				)
+				// Link to all enrolled students --- GET /courses/course/{courseid}/enrolled-students
+				.and("enrolled_students",
+						LinkTemplate.ofId(id -> methodOn(StudentTeacherController.class).getEnrolledStudents(id, null, null)),
+						Course::getCourseId
+				)
+				// Link to all non-associated users --- GET /courses/course/{courseid}/detached
+				.and("available_users",
+						LinkTemplate.ofId(id -> methodOn(StudentTeacherController.class).getAllNotEnrolled(id, null, null)),
+						Course::getCourseId
+				)
+				// Link to all non-associated teachers --- GET /courses/course/{courseid}/detached-teachers
+				.and("available_teachers",
+						LinkTemplate.ofId(id -> methodOn(StudentTeacherController.class).getDetachedTeachers(id, null, null)),
+						Course::getCourseId
+				)
+				// Link to all non-associated students --- GET /courses/course/{courseid}/detached-students
+				.and("available_students",
+						LinkTemplate.ofId(id -> methodOn(StudentTeacherController.class).getDetachedStudents(id, null, null)),
+						Course::getCourseId
+				)
+				// Link to ADD new module
+				.and("add_module",
+						LinkTemplate.ofId(id -> methodOn(ModuleController.class).addNewModule(id, null)),
+						Course::getCourseId
+				);
+
+		// if the calling user is an ADMIN, display the following additional links
+		EntityLinks<Course> linksForAdmins = linksForTeachers
+				// Link to PATCH course
+				.and("edit_course",
+						LinkTemplate.ofId(id -> methodOn(CourseController.class).updateCourse(id, null)),
+						Course::getCourseId
+				)
+				// Link to PUT course
+				.and("replace_course",
+						LinkTemplate.ofId(id -> methodOn(CourseController.class).updateFullCourse(id, null)),
+						Course::getCourseId
+				)
+				// Link to DELETE course
+				.and("delete_course",
+						LinkTemplate.ofId(id -> methodOn(CourseController.class).deleteCourseById(id)),
+						Course::getCourseId
+				);
+
+		linksByRole.put(RoleType.TEACHER, linksForTeachers);
+		linksByRole.put(RoleType.ADMIN, linksForAdmins);
 	}
 
 	/**
@@ -41,71 +132,12 @@ public class CourseModelAssembler
 	 */
 	@Override
 	public EntityModel<Course> toModel(Course course) {
-
-		EntityModel<Course> courseEntityModel = EntityModel.of(course,
-				// Link to SELF --- GET /courses/course/{courseid}
-				linkTo(methodOn(CourseController.class).getCourseByCourseId(course.getCourseId())).withSelfRel(),
-				// Link to associated program --- GET /programs/program/{programid}
-				linkTo(methodOn(ProgramController.class).getProgramById(course.getProgram()
-						.getProgramId())).withRel("program"),
-				// Link to all courses --- GET /courses
-				linkTo(methodOn(CourseController.class).getAllCourses()).withRel("all_courses"),
-				// Link to associated modules --- GET /modules/module/{moduleid}
-				linkTo(methodOn(ModuleController.class).getModulesByCourseId(course.getCourseId())).withRel("modules")
-
-		);
-
 		RoleType callingUserRole = helperFunctions.getCurrentPriorityRole();
-		// if the calling user is an ADMIN or a TEACHER, display the following additional links
-		if (callingUserRole == RoleType.ADMIN || callingUserRole == RoleType.TEACHER) {
-			courseEntityModel.add(
-					// Link to associated users --- GET /courses/course/{courseid}/enrolled
-					linkTo(methodOn(StudentTeacherController.class).getAllEnrolled(course.getCourseId())).withRel("enrolled_users"),
-
-					// Link to all enrolled teachers --- GET /courses/course/{courseid}/enrolled-teachers
-					linkTo(methodOn(StudentTeacherController.class).getEnrolledTeachers(course.getCourseId())).withRel(
-							"enrolled_teachers"),
-
-					// Link to all enrolled students --- GET /courses/course/{courseid}/enrolled-students
-					linkTo(methodOn(StudentTeacherController.class).getEnrolledStudents(course.getCourseId())).withRel(
-							"enrolled_students"),
-
-					// Link to all non-associated users --- GET /courses/course/{courseid}/detached
-					linkTo(methodOn(StudentTeacherController.class).getAllNotEnrolled(course.getCourseId())).withRel(
-							"available_users"),
-
-					// Link to all non-associated teachers --- GET /courses/course/{courseid}/detached-teachers
-					linkTo(methodOn(StudentTeacherController.class).getDetachedTeachers(course.getCourseId())).withRel(
-							"available_teachers"),
-
-					// Link to all non-associated students --- GET /courses/course/{courseid}/detached-students
-					linkTo(methodOn(StudentTeacherController.class).getDetachedStudents(course.getCourseId())).withRel(
-							"available_students")
-			);
-			try {
-				courseEntityModel.add(
-						// Link to ADD new module
-						linkTo(methodOn(ModuleController.class).addNewModule(course.getCourseId(), null)).withRel("add_module"));
-			} catch (Exception ignored) {}
-		}
 
-		// if the calling user is an ADMIN, display the following additional links
-		if (callingUserRole == RoleType.ADMIN) {
-			courseEntityModel.add(
-					// Link to PATCH course
-					linkTo(methodOn(CourseController.class).updateCourse(course.getCourseId(), null)).withRel("edit_course"),
-
-					// Link to PUT course
-					linkTo(methodOn(CourseController.class).updateFullCourse(course.getCourseId(),
-							null
-					)).withRel("replace_course"),
-
-					// Link to DELETE course
-					linkTo(methodOn(CourseController.class).deleteCourseById(course.getCourseId())).withRel("delete_course")
-			);
-		}
-
-		return courseEntityModel;
+		return EntityModel.of(course,
+				linksByRole.getOrDefault(callingUserRole, linksForAnyone)
+						.toLinks(course)
+		);
 	}
 
 }
@@ -0,0 +1,121 @@
+package com.lambdaschool.oktafoundation.modelAssemblers;
+
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * The links an assembler adds to one kind of entity for one kind of caller, in the order they are rendered.
+ * <p>
+ * Each is a relation, a LinkTemplate, and the property of the entity that fills it in. An assembler builds one of
+ * these per role when it is created, so turning an entity into a model only expands the set that applies.
+ *
+ * @param <T> The entity the links belong to
+ */
+public final class EntityLinks<T> {
+
+	private final List<Entry<T>> entries;
+
+	private EntityLinks(List<Entry<T>> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * @param <T> The entity the links belong to
+	 * @return No links, to add to
+	 */
+	public static <T> EntityLinks<T> none() {
+		return new EntityLinks<>(Collections.emptyList());
+	}
+
+	/**
+	 * @param rel      The relation of the new link
+	 * @param template Where the link points
+	 * @param variable The property of the entity that fills the template in
+	 * @return These links followed by the new one. This set is left as it is.
+	 */
+	public EntityLinks<T> and(
+			LinkRelation rel,
+			LinkTemplate template,
+			Function<? super T, ?> variable
+	) {
+		List<Entry<T>> more = new ArrayList<>(entries.size() + 1);
+		more.addAll(entries);
+		more.add(new Entry<>(rel, template, variable));
+		return new EntityLinks<>(Collections.unmodifiableList(more));
+	}
+
+	/**
+	 * @see #and(LinkRelation, LinkTemplate, Function)
+	 */
+	public EntityLinks<T> and(
+			String rel,
+			LinkTemplate template,
+			Function<? super T, ?> variable
+	) {
+		return and(LinkRelation.of(rel), template, variable);
+	}
+
+	/**
+	 * @param rel      The relation of the new link
+	 * @param template Where the link points, the same for every entity
+	 * @return These links followed by the new one. This set is left as it is.
+	 */
+	public EntityLinks<T> and(
+			String rel,
+			LinkTemplate template
+	) {
+		return and(LinkRelation.of(rel), template, entity -> null);
+	}
+
+	/**
+	 * @param more Links to follow these
+	 * @return These links followed by those. Neither set is changed.
+	 */
+	public EntityLinks<T> and(EntityLinks<T> more) {
+		List<Entry<T>> both = new ArrayList<>(entries.size() + more.entries.size());
+		both.addAll(entries);
+		both.addAll(more.entries);
+		return new EntityLinks<>(Collections.unmodifiableList(both));
+	}
+
+	/**
+	 * @param entity The entity to link from
+	 * @return Its links, relative to the base URI of the current request
+	 */
+	public List<Link> toLinks(T entity) {
+		String     baseUri = LinkTemplate.currentBaseUri();
+		List<Link> links   = new ArrayList<>(entries.size());
+		for (Entry<T> entry : entries) {
+			links.add(entry.template.toLink(baseUri, entry.variable.apply(entity), entry.rel));
+		}
+		return links;
+	}
+
+	private static class Entry<T> {
+
+		final LinkRelation rel;
+
+		final LinkTemplate template;
+
+		final Function<? super T, ?> variable;
+
+		Entry(
+				LinkRelation rel,
+				LinkTemplate template,
+				Function<? super T, ?> variable
+		) {
+			this.rel      = rel;
+			this.template = template;
+			this.variable = variable;
+		}
+
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.lambdaschool.oktafoundation.modelAssemblers;
+
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+
+/**
+ * Writes a stream of entities as one JSON array of their models, each model written as soon as its row is read.
+ * <p>
+ * Nothing is collected: every entity is turned into its model, written through the generator, and detached, so
+ * the persistence context does not keep what has already gone out. Every FLUSH_EVERY rows the generator is flushed
+ * to the client and the persistence context is cleared of whatever those rows pulled in with them (their course,
+ * program, and so on). Has to run inside the transaction the stream came from.
+ */
+@Component
+public class EntityModelStreamer {
+
+	static final int FLUSH_EVERY = 500;
+
+	/**
+	 * The application's ObjectMapper, set up the way HAL responses are written
+	 */
+	private final ObjectMapper halObjectMapper;
+
+	private final EntityManager entityManager;
+
+	@Autowired
+	public EntityModelStreamer(
+			ObjectMapper objectMapper,
+			HalMediaTypeConfiguration halConfiguration,
+			EntityManager entityManager
+	) {
+		this(halConfiguration.configureObjectMapper(objectMapper.copy()), entityManager);
+	}
+
+	EntityModelStreamer(
+			ObjectMapper halObjectMapper,
+			EntityManager entityManager
+	) {
+		this.halObjectMapper = halObjectMapper;
+		this.entityManager   = entityManager;
+	}
+
+	/**
+	 * @param entities  Entities, typically off a database cursor
+	 * @param assembler Turns each into its model
+	 * @param out       Where the JSON array goes. Left open.
+	 * @param <T>       The entity type
+	 * @return How many were written
+	 * @throws IOException if writing fails
+	 */
+	public <T> long write(
+			Stream<T> entities,
+			RepresentationModelAssembler<T, ?> assembler,
+			OutputStream out
+	)
+	throws IOException {
+		long written = 0;
+		try (JsonGenerator generator = halObjectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.writeStartArray();
+
+			Iterator<T> iterator = entities.iterator();
+			while (iterator.hasNext()) {
+				T entity = iterator.next();
+				generator.writeObject(assembler.toModel(entity));
+				entityManager.detach(entity);
+
+				if (++written % FLUSH_EVERY == 0) {
+					generator.flush();
+					entityManager.clear();
+				}
+			}
+
+			generator.writeEndArray();
+		}
+		return written;
+	}
+
+}
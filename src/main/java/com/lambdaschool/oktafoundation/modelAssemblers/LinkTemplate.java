@@ -0,0 +1,182 @@
+package com.lambdaschool.oktafoundation.modelAssemblers;
+
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+
+/**
+ * The href of one controller method, worked out once by WebMvcLinkBuilder and afterwards filled in by string
+ * concatenation.
+ * <p>
+ * linkTo(methodOn(...)) proxies the controller and reads its mapping annotations on every call. A template pays that
+ * once, at startup, by invoking the method with a sentinel in place of its one path variable and splitting the href
+ * around it. Expanding it encodes the value the way WebMvcLinkBuilder does and puts the base URI of the current
+ * request in front, so the hrefs are the same as before.
+ */
+public final class LinkTemplate {
+
+	private static final long ID_SENTINEL = 7_919_000_000_004_243L;
+
+	private static final String NAME_SENTINEL = "linkTemplateVariable";
+
+	private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE_URI";
+
+	private final String prefix;
+
+	/**
+	 * What follows the path variable, null when there is none
+	 */
+	private final String suffix;
+
+	private final boolean encoded;
+
+	private LinkTemplate(
+			String prefix,
+			String suffix,
+			boolean encoded
+	) {
+		this.prefix  = prefix;
+		this.suffix  = suffix;
+		this.encoded = encoded;
+	}
+
+	/**
+	 * A controller method invoked on methodOn(SomeController.class)
+	 *
+	 * @param <V> The type of the path variable it is invoked with
+	 */
+	@FunctionalInterface
+	public interface Invocation<V> {
+
+		Object invoke(V variable)
+		throws Exception;
+
+	}
+
+	/**
+	 * @param invocation The controller method, invoked with the path variable the links will differ by
+	 * @return The template of links to that method for any id
+	 */
+	public static LinkTemplate ofId(Invocation<Long> invocation) {
+		return compile(invocation, ID_SENTINEL, false);
+	}
+
+	/**
+	 * @param invocation The controller method, invoked with the path variable the links will differ by
+	 * @return The template of links to that method for any name, which is path encoded when expanded
+	 */
+	public static LinkTemplate ofName(Invocation<String> invocation) {
+		return compile(invocation, NAME_SENTINEL, true);
+	}
+
+	/**
+	 * @param invocationValue The controller method invoked on methodOn, with every argument it needs
+	 * @return A template that expands to the same link whatever it is given
+	 */
+	public static LinkTemplate of(Object invocationValue) {
+		return new LinkTemplate(pathOf(invocationValue), null, false);
+	}
+
+	private static <V> LinkTemplate compile(
+			Invocation<V> invocation,
+			V sentinel,
+			boolean encoded
+	) {
+		String path;
+		try {
+			path = pathOf(invocation.invoke(sentinel));
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not compile a link template", e);
+		}
+
+		String marker = String.valueOf(sentinel);
+		int    at     = path.indexOf(marker);
+		if (at < 0 || path.indexOf(marker, at + 1) >= 0) {
+			throw new IllegalStateException("A link template needs exactly one path variable, found " + path);
+		}
+		return new LinkTemplate(path.substring(0, at), path.substring(at + marker.length()), encoded);
+	}
+
+	/**
+	 * The href WebMvcLinkBuilder gives this invocation, less the base URI when there is a current request
+	 */
+	private static String pathOf(Object invocationValue) {
+		String href = linkTo(invocationValue).toString();
+		String base = currentBaseUri();
+		return href.startsWith(base) ? href.substring(base.length()) : href;
+	}
+
+	/**
+	 * @return The scheme, host, and servlet mapping links of the current request start with, worked out once per
+	 * request. Empty outside of a request, where WebMvcLinkBuilder makes path only links too.
+	 */
+	public static String currentBaseUri() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return "";
+		}
+
+		String base = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (base == null) {
+			base = ServletUriComponentsBuilder.fromCurrentServletMapping()
+					.build()
+					.toUriString();
+			attributes.setAttribute(BASE_URI_ATTRIBUTE, base, RequestAttributes.SCOPE_REQUEST);
+		}
+		return base;
+	}
+
+	/**
+	 * @param variable The value of the path variable. Ignored by a template made with of(Object).
+	 * @return The path of the link, without the base URI
+	 */
+	public String expand(Object variable) {
+		if (suffix == null) {
+			return prefix;
+		}
+
+		String value = String.valueOf(variable);
+		return prefix + (encoded ? UriUtils.encodePath(value, StandardCharsets.UTF_8) : value) + suffix;
+	}
+
+	/**
+	 * @param baseUri  What currentBaseUri() returned for this request
+	 * @param variable The value of the path variable
+	 * @param rel      The relation of the link
+	 * @return The link, the same as WebMvcLinkBuilder would have made
+	 */
+	public Link toLink(
+			String baseUri,
+			Object variable,
+			LinkRelation rel
+	) {
+		return Link.of(baseUri + expand(variable), rel);
+	}
+
+	/**
+	 * @param baseUri  What currentBaseUri() returned for this request
+	 * @param variable The name to give the path variable
+	 * @param rel      The relation of the link
+	 * @return A templated link for clients to expand themselves, e.g. /courses/course/{id}
+	 */
+	public Link toTemplatedLink(
+			String baseUri,
+			String variable,
+			LinkRelation rel
+	) {
+		if (suffix == null) {
+			return Link.of(baseUri + prefix, rel);
+		}
+		return Link.of(baseUri + prefix + "{" + variable + "}" + suffix, rel);
+	}
+
+}
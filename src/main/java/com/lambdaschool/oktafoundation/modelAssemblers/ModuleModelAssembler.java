@@ -9,10 +9,13 @@ import com.lambdaschool.oktafoundation.models.RoleType;
 import com.lambdaschool.oktafoundation.services.HelperFunctions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import java.util.EnumMap;
+import java.util.Map;
+
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 
@@ -22,67 +25,93 @@ public class ModuleModelAssembler
 
 	private final HelperFunctions helperFunctions;
 
+	private final EntityLinks<Module> linksForAnyone;
+
+	private final Map<RoleType, EntityLinks<Module>> linksByRole = new EnumMap<>(RoleType.class);
+
 	@Autowired
 	public ModuleModelAssembler(HelperFunctions helperFunctions) {
 		this.helperFunctions = helperFunctions;
-	}
 
-	@Override
-	public EntityModel<Module> toModel(Module module) {
-		EntityModel<Module> moduleEntity = EntityModel.of(module,
+		linksForAnyone = EntityLinks.<Module>none()
 
 				// Link to SELF
 				// GET /modules/module/{moduleid}
-				linkTo(methodOn(ModuleController.class).getModuleById(module.getModuleId())).withSelfRel(),
+				.and(IanaLinkRelations.SELF,
+						LinkTemplate.ofId(id -> methodOn(ModuleController.class).getModuleById(id, null)),
+						Module::getModuleId
+				)
 
 				// Link to all_modules
 				// GET /modules/modules
-				linkTo(methodOn(ModuleController.class).getAllModules()).withRel("all_modules"),
+				.and("all_modules", LinkTemplate.of(methodOn(ModuleController.class).getAllModules(null, null, null, null, null)))
 
 				// Link to associated course
 				// GET /courses/course/{courseid}
-				linkTo(methodOn(CourseController.class).getCourseByCourseId(module.getCourse()
-						.getCourseId())).withRel("course"),
+				.and("course",
+						LinkTemplate.ofId(id -> methodOn(CourseController.class).getCourseByCourseId(id, null)),
+						module -> module.getCourse()
+								.getCourseId()
+				)
 
 				// Link to associated program
 				// GET /programs/program/{programid}
-				linkTo(methodOn(ProgramController.class).getProgramById(module.getCourse()
-						.getProgram()
-						.getProgramId())).withRel("program"),
+				.and("program",
+						LinkTemplate.ofId(id -> methodOn(ProgramController.class).getProgramById(id, null)),
+						module -> module.getCourse()
+								.getProgram()
+								.getProgramId()
+				)
 
 				// Link to the Markdown content for this module
 				// GET /modules/markdown/{moduleid}
-				linkTo(methodOn(ModuleController.class).getMarkdownByModuleId(module.getModuleId())).withRel("markdown")
-		);
+				.and("markdown",
+						LinkTemplate.ofId(id -> methodOn(ModuleController.class).getMarkdownByModuleId(id)),
+						Module::getModuleId
+				);
 
+		// if the calling user is an ADMIN or a TEACHER -- add the following links
+		EntityLinks<Module> linksForTeachers = linksForAnyone
+				// link to DELETE self
+				.and("delete_module",
+						LinkTemplate.ofId(id -> methodOn(ModuleController.class).deleteModuleById(id)),
+						Module::getModuleId
+				)
+				// link to PATCH self
+				.and("edit_module",
+						LinkTemplate.ofId(id -> methodOn(ModuleController.class).updateModule(id, null)),
+						Module::getModuleId
+				)
+				// Link to PUT self
+				.and("replace_module",
+						LinkTemplate.ofId(id -> methodOn(ModuleController.class).updateModule(id, null)),
+						Module::getModuleId
+				)
+				// Link to Replace markdown
+				.and("replace_markdown",
+						LinkTemplate.ofId(id -> methodOn(ModuleController.class).replaceMarkdownByModuleId(id, null)),
+						Module::getModuleId
+				)
+				// link to POST module to the same course that this module belongs to
+				.and("add_module_sibling",
+						LinkTemplate.ofId(id -> methodOn(ModuleController.class).addNewModule(id, null)),
+						module -> module.getCourse()
+								.getCourseId()
+				);
+
+		linksByRole.put(RoleType.TEACHER, linksForTeachers);
+		linksByRole.put(RoleType.ADMIN, linksForTeachers);
+	}
+
+	@Override
+	public EntityModel<Module> toModel(Module module) {
 		// get the calling user's role!!
 		RoleType callingRole = helperFunctions.getCurrentPriorityRole();
 
-		// if the calling user is an ADMIN or a TEACHER -- add the following links
-		if (callingRole == RoleType.ADMIN || callingRole == RoleType.TEACHER) {
-
-			moduleEntity.add(
-					// link to DELETE self
-					linkTo(methodOn(ModuleController.class).deleteModuleById(module.getModuleId())).withRel("delete_module"),
-					// link to PATCH self
-					linkTo(methodOn(ModuleController.class).updateModule(module.getModuleId(), null)).withRel("edit_module"),
-					// Link to PUT self
-					linkTo(methodOn(ModuleController.class).updateModule(module.getModuleId(), null)).withRel("replace_module"),
-					// Link to Replace markdown
-					linkTo(methodOn(ModuleController.class).replaceMarkdownByModuleId(module.getModuleId(), null)).withRel(
-							"replace_markdown")
-			);
-
-			try {
-				moduleEntity.add(//
-						// link to POST module to the same course that this module belongs to
-						linkTo(methodOn(ModuleController.class).addNewModule(module.getCourse()
-								.getCourseId(), null)).withRel("add_module_sibling"));
-			} catch (Exception ignored) {}
-		}
-
-		return moduleEntity;
+		return EntityModel.of(module,
+				linksByRole.getOrDefault(callingRole, linksForAnyone)
+						.toLinks(module)
+		);
 	}
 
-
 }
@@ -0,0 +1,83 @@
+package com.lambdaschool.oktafoundation.modelAssemblers;
+
+
+import com.lambdaschool.oktafoundation.utils.Cursor;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+
+/**
+ * The "next" link of a cursor-paged listing.
+ * <p>
+ * Keyset listings continue after the id of the last row on the page, ranked searches at the next page number. Either
+ * way the link is the listing's own controller method called again with the new cursor, so callers pass that call as
+ * a function of the cursor, e.g. {@code next -> methodOn(CourseController.class).getCourseCards(next, size)}.
+ */
+public final class NextLinks {
+
+	private NextLinks() {}
+
+	/**
+	 * @param page A page of a keyset listing
+	 * @param id   The id each row is paged by
+	 * @param <T>  The rows of the page
+	 * @return The cursor of the page after this one, or null when this is the last page
+	 */
+	public static <T> String cursorAfter(
+			Slice<T> page,
+			ToLongFunction<? super T> id
+	) {
+		if (!page.hasNext()) {
+			return null;
+		}
+		return Cursor.encode(id.applyAsLong(page.getContent()
+				.get(page.getNumberOfElements() - 1)));
+	}
+
+	/**
+	 * @param page A page of ranked search results
+	 * @return The cursor of the page after this one, or null when this is the last page
+	 */
+	public static String cursorAfterPage(Slice<?> page) {
+		return page.hasNext() ? Cursor.encode(page.getNumber() + 1) : null;
+	}
+
+	/**
+	 * Adds the "next" link to a listing
+	 *
+	 * @param model      The listing
+	 * @param nextCursor The cursor of the next page, null when there is none (and so no link)
+	 * @param invocation The listing's controller method called with that cursor, on a methodOn(...) proxy
+	 */
+	public static void add(
+			RepresentationModel<?> model,
+			String nextCursor,
+			Function<String, Object> invocation
+	) {
+		if (nextCursor != null) {
+			model.add(linkTo(invocation.apply(nextCursor)).withRel(IanaLinkRelations.NEXT));
+		}
+	}
+
+	/**
+	 * Adds the "next" link to a keyset listing, continuing after the last row of the page
+	 *
+	 * @see #cursorAfter(Slice, ToLongFunction)
+	 * @see #add(RepresentationModel, String, Function)
+	 */
+	public static <T> void addAfter(
+			RepresentationModel<?> model,
+			Slice<T> page,
+			ToLongFunction<? super T> id,
+			Function<String, Object> invocation
+	) {
+		add(model, cursorAfter(page, id), invocation);
+	}
+
+}
@@ -9,10 +9,13 @@ import com.lambdaschool.oktafoundation.models.RoleType;
 import com.lambdaschool.oktafoundation.services.HelperFunctions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import java.util.EnumMap;
+import java.util.Map;
+
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 
@@ -22,48 +25,76 @@ public class ProgramModelAssembler
 
 	private final HelperFunctions helperFunctions;
 
+	private final EntityLinks<Program> linksForAnyone;
+
+	private final Map<RoleType, EntityLinks<Program>> linksByRole = new EnumMap<>(RoleType.class);
+
 	@Autowired
 	public ProgramModelAssembler(HelperFunctions helperFunctions) {
 		this.helperFunctions = helperFunctions;
-	}
 
-	@Override
-	public EntityModel<Program> toModel(Program program) {
-		EntityModel<Program> programEntity = EntityModel.of(program,
+		linksForAnyone = EntityLinks.<Program>none()
 				// Link to SELF --- GET /programs/program/{programid}
-				linkTo(methodOn(ProgramController.class).getProgramById(program.getProgramId())).withSelfRel(),
+				.and(IanaLinkRelations.SELF,
+						LinkTemplate.ofId(id -> methodOn(ProgramController.class).getProgramById(id, null)),
+						Program::getProgramId
+				)
 				// Link to self_by_name --- GET /programs/program/{programname}
-				linkTo(methodOn(ProgramController.class).getProgramByName(program.getProgramName())).withRel("self_by_name"),
+				.and("self_by_name",
+						LinkTemplate.ofName(name -> methodOn(ProgramController.class).getProgramByName(name)),
+						Program::getProgramName
+				)
 				// Link to associated courses
-				linkTo(methodOn(CourseController.class).getCoursesByProgramid(program.getProgramId())).withRel("courses"),
+				.and("courses",
+						LinkTemplate.ofId(id -> methodOn(CourseController.class).getCoursesByProgramid(id)),
+						Program::getProgramId
+				)
 				// Link to GET all tags associated with this program
-				linkTo(methodOn(TagController.class).getByProgram(program.getProgramId())).withRel("tags")
-		);
+				.and("tags",
+						LinkTemplate.ofId(id -> methodOn(TagController.class).getByProgram(id)),
+						Program::getProgramId
+				);
 
-		RoleType currentRole = helperFunctions.getCurrentPriorityRole();
+		linksByRole.put(RoleType.ADMIN, linksForAnyone
+				// Link to GET all programs by this program's admin
+				.and("admin_programs",
+						LinkTemplate.ofId(id -> methodOn(ProgramController.class).getProgramsByUserId(id)),
+						program -> program.getUser()
+								.getUserId()
+				)
+				// Link to GET all programs
+				.and("all_programs", LinkTemplate.of(methodOn(ProgramController.class).listAllPrograms(null, null, null, null, null)))
+				// Link to DELETE self
+				.and("delete_program",
+						LinkTemplate.ofId(id -> methodOn(ProgramController.class).deleteProgram(id)),
+						Program::getProgramId
+				)
+				// Link to PATCH self
+				.and("edit_program",
+						LinkTemplate.ofId(id -> methodOn(ProgramController.class).editPartialProgram((Program) null, id)),
+						Program::getProgramId
+				)
+				// Link to PUT self
+				.and("replace_program",
+						LinkTemplate.ofId(id -> methodOn(ProgramController.class).editEntireProgram(null, id)),
+						Program::getProgramId
+				)
+				// Link to POST new program (with the same admin that is associated with this course)
+				.and("add_program",
+						LinkTemplate.ofId(id -> methodOn(ProgramController.class).addNewProgram(id, (Program) null)),
+						program -> program.getUser()
+								.getUserId()
+				));
+	}
 
-		if (currentRole == RoleType.ADMIN) {
-			programEntity.add(
-					// Link to GET all programs by this program's admin
-					linkTo(methodOn(ProgramController.class).getProgramsByUserId(program.getUser()
-							.getUserId())).withRel("admin_programs"),
-					// Link to GET all programs
-					linkTo(methodOn(ProgramController.class).listAllPrograms()).withRel("all_programs"),
-					// Link to DELETE self
-					linkTo(methodOn(ProgramController.class).deleteProgram(program.getProgramId())).withRel("delete_program"),
-					// Link to PATCH self
-					linkTo(methodOn(ProgramController.class).editPartialProgram(program, program.getProgramId())).withRel(
-							"edit_program"),
-					// Link to PUT self
-					linkTo(methodOn(ProgramController.class).editEntireProgram(program, program.getProgramId())).withRel(
-							"replace_program"),
-					// Link to POST new program (with the same admin that is associated with this course)
-					linkTo(methodOn(ProgramController.class).addNewProgram(program.getUser()
-							.getUserId(), program)).withRel("add_program")
-			);
-		}
+	@Override
+	public EntityModel<Program> toModel(Program program) {
+		RoleType currentRole = helperFunctions.getCurrentPriorityRole();
 
-		return programEntity;
+		return EntityModel.of(program,
+				linksByRole.getOrDefault(currentRole, linksForAnyone)
+						.toLinks(program)
+		);
 	}
 
 }
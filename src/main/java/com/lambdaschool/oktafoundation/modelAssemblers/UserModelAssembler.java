@@ -9,10 +9,13 @@ import com.lambdaschool.oktafoundation.models.User;
 import com.lambdaschool.oktafoundation.services.HelperFunctions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 
@@ -22,74 +25,108 @@ public class UserModelAssembler
 
 	private final HelperFunctions helperFunctions;
 
+	/**
+	 * By the role of the user to convert, what a non-admin caller sees. Users without a role are under null.
+	 */
+	private final Map<RoleType, EntityLinks<User>> linksForOthers = new HashMap<>();
+
+	/**
+	 * By the role of the user to convert, what an ADMIN caller sees
+	 */
+	private final Map<RoleType, EntityLinks<User>> linksForAdmins = new HashMap<>();
+
 	@Autowired
 	public UserModelAssembler(HelperFunctions helperFunctions) {
 		this.helperFunctions = helperFunctions;
-	}
 
-	@Override
-	public EntityModel<User> toModel(User user) {
-		EntityModel<User> userEntityModel = EntityModel.of(user,
+		EntityLinks<User> linksForAnyone = EntityLinks.<User>none()
 				// Link to SELF --- GET /users/user/{userid}
-				linkTo(methodOn(UserController.class).getUserById(user.getUserId())).withSelfRel(),
+				.and(IanaLinkRelations.SELF,
+						LinkTemplate.ofId(id -> methodOn(UserController.class).getUserById(id)),
+						User::getUserId
+				)
 				// Link to self by name --- GET /users/user/name/{username}
-				linkTo(methodOn(UserController.class).getUserByName(user.getUsername())).withRel("self_by_name")
-		);
-
-		// this will hold the role of the CALLING USER -- whomever is hitting this endpoint should have a role
-		RoleType callingUser = helperFunctions.getCurrentPriorityRole();
+				.and("self_by_name",
+						LinkTemplate.ofName(name -> methodOn(UserController.class).getUserByName(name)),
+						User::getUsername
+				);
 
-		// this will hold the role of the user to be converted into a model
-		RoleType usersRole = user.getRole();
+		LinkTemplate studentCourses   = LinkTemplate.ofId(id -> methodOn(CourseController.class).getStudentCourses(id));
+		LinkTemplate teacherCourses   = LinkTemplate.ofId(id -> methodOn(CourseController.class).getTeacherCourses(id));
+		LinkTemplate antiCourses      = LinkTemplate.ofId(id -> methodOn(CourseController.class).getUserAntiCourses(id));
+		LinkTemplate mappifiedCourses = LinkTemplate.ofId(id -> methodOn(CourseController.class).getMappifiedCoursesByUser(id));
 
 		// if the user to convert to a model is a STUDENT, add the following links
-		if (usersRole == RoleType.STUDENT) {
-			userEntityModel.add(linkTo(methodOn(CourseController.class).getStudentCourses(user.getUserId())).withRel("courses"));
-
-			if (callingUser == RoleType.ADMIN) {
-				userEntityModel.add(linkTo(methodOn(CourseController.class).getUserAntiCourses(user.getUserId())).withRel(
-						"available_courses"),
-						linkTo(methodOn(CourseController.class).getMappifiedCoursesByUser(user.getUserId())).withRel(
-								"mappified_courses")
-				);
-			}
-		}
-
+		EntityLinks<User> student = linksForAnyone.and("courses", studentCourses, User::getUserId);
 		// if the user to convert to a model is a TEACHER, add the following links
-		if (usersRole == RoleType.TEACHER) {
-			userEntityModel.add(linkTo(methodOn(CourseController.class).getTeacherCourses(user.getUserId())).withRel("courses"));
-			if (callingUser == RoleType.ADMIN) {
-				userEntityModel.add(linkTo(methodOn(CourseController.class).getUserAntiCourses(user.getUserId())).withRel(
-						"available_courses"),
-						linkTo(methodOn(CourseController.class).getMappifiedCoursesByUser(user.getUserId())).withRel(
-								"mappified_courses")
+		EntityLinks<User> teacher = linksForAnyone.and("courses", teacherCourses, User::getUserId);
+		// if the user to convert to a model is an ADMIN, add the following links
+		EntityLinks<User> admin = linksForAnyone
+				// Link to GET Programs by User.userid
+				.and("programs",
+						LinkTemplate.ofId(id -> methodOn(ProgramController.class).getProgramsByUserId(id)),
+						User::getUserId
 				);
-			}
-		}
 
-		// if the user to convert to a model is an ADMIN, add the following links
-		if (usersRole == RoleType.ADMIN) {
-			// Link to GET Programs by User.userid
-			userEntityModel.add( //
-					linkTo(methodOn(ProgramController.class).getProgramsByUserId(user.getUserId())).withRel("programs"));
-		}
+		linksForOthers.put(RoleType.STUDENT, student);
+		linksForOthers.put(RoleType.TEACHER, teacher);
+		linksForOthers.put(RoleType.ADMIN, admin);
+		linksForOthers.put(null, linksForAnyone);
 
 		// if the calling user is an admin and the user in question is NOT an admin
-		if (callingUser == RoleType.ADMIN && user.getRole() != RoleType.ADMIN) {
-			userEntityModel.add(
-					// Link to DELETE User by User.userid
-					linkTo(methodOn(UserController.class).deleteUserById(user.getUserId())).withRel("delete_user"),
-					linkTo(methodOn(UserController.class).updateFullUser(null, user.getUserId())).withRel("replace_user"),
-					linkTo(methodOn(UserController.class).updateUser(null, user.getUserId())).withRel("edit_user"),
-					linkTo(methodOn(UserController.class).updateUserRole(user.getUserId(), RoleType.STUDENT)).withRel(
-							"make_student"),
-					linkTo(methodOn(UserController.class).updateUserRole(user.getUserId(), RoleType.ADMIN)).withRel("make_admin"),
-					linkTo(methodOn(UserController.class).updateUserRole(user.getUserId(), RoleType.TEACHER)).withRel(
-							"make_teacher")
-			);
-		}
-
-		return userEntityModel;
+		EntityLinks<User> manageUser = EntityLinks.<User>none()
+				// Link to DELETE User by User.userid
+				.and("delete_user",
+						LinkTemplate.ofId(id -> methodOn(UserController.class).deleteUserById(id)),
+						User::getUserId
+				)
+				.and("replace_user",
+						LinkTemplate.ofId(id -> methodOn(UserController.class).updateFullUser(null, id)),
+						User::getUserId
+				)
+				.and("edit_user",
+						LinkTemplate.ofId(id -> methodOn(UserController.class).updateUser(null, id)),
+						User::getUserId
+				)
+				.and("make_student",
+						LinkTemplate.ofId(id -> methodOn(UserController.class).updateUserRole(id, RoleType.STUDENT)),
+						User::getUserId
+				)
+				.and("make_admin",
+						LinkTemplate.ofId(id -> methodOn(UserController.class).updateUserRole(id, RoleType.ADMIN)),
+						User::getUserId
+				)
+				.and("make_teacher",
+						LinkTemplate.ofId(id -> methodOn(UserController.class).updateUserRole(id, RoleType.TEACHER)),
+						User::getUserId
+				);
+
+		linksForAdmins.put(RoleType.STUDENT,
+				student.and("available_courses", antiCourses, User::getUserId)
+						.and("mappified_courses", mappifiedCourses, User::getUserId)
+						.and(manageUser)
+		);
+		linksForAdmins.put(RoleType.TEACHER,
+				teacher.and("available_courses", antiCourses, User::getUserId)
+						.and("mappified_courses", mappifiedCourses, User::getUserId)
+						.and(manageUser)
+		);
+		linksForAdmins.put(RoleType.ADMIN, admin);
+		linksForAdmins.put(null, linksForAnyone.and(manageUser));
+	}
+
+	@Override
+	public EntityModel<User> toModel(User user) {
+		// this will hold the role of the CALLING USER -- whomever is hitting this endpoint should have a role
+		RoleType callingUser = helperFunctions.getCurrentPriorityRole();
+
+		// the links depend on the role of the user to be converted into a model
+		Map<RoleType, EntityLinks<User>> linksByUsersRole = callingUser == RoleType.ADMIN ? linksForAdmins : linksForOthers;
+
+		return EntityModel.of(user,
+				linksByUsersRole.get(user.getRole())
+						.toLinks(user)
+		);
 	}
 
 }
@@ -0,0 +1,53 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * Hit, miss, and put counts for one cache region, since startup
+ */
+public class CacheStatistics {
+
+	private final String region;
+
+	private final long hits;
+
+	private final long misses;
+
+	private final long puts;
+
+	public CacheStatistics(
+			String region,
+			long hits,
+			long misses,
+			long puts
+	) {
+		this.region = region;
+		this.hits   = hits;
+		this.misses = misses;
+		this.puts   = puts;
+	}
+
+	public String getRegion() {
+		return region;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getPuts() {
+		return puts;
+	}
+
+	/**
+	 * @return hits / (hits + misses), or 0 when the region has not been read yet
+	 */
+	public double getHitRatio() {
+		long reads = hits + misses;
+		return reads == 0 ? 0 : (double) hits / reads;
+	}
+
+}
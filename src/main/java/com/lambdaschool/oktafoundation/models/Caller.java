@@ -0,0 +1,76 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+
+
+/**
+ * Who is making the current request: their user id, username, priority role, and the authorities of their roles.
+ * <p>
+ * JwtAuthenticationFilter builds (or takes from the PrincipalCache) one of these per request and makes it the
+ * principal of the request's Authentication, so anything that needs the caller reads it from there (see
+ * HelperFunctions.getCaller) instead of loading the user again. Immutable, so one instance can be shared by every
+ * request the caller makes while it is cached.
+ */
+public class Caller
+		implements AuthenticatedPrincipal {
+
+	private final long userId;
+
+	private final String username;
+
+	private final RoleType priorityRole;
+
+	private final Set<GrantedAuthority> authorities;
+
+	public Caller(
+			long userId,
+			String username,
+			RoleType priorityRole,
+			Set<? extends GrantedAuthority> authorities
+	) {
+		this.userId       = userId;
+		this.username     = username;
+		this.priorityRole = priorityRole;
+		this.authorities  = Set.copyOf(authorities);
+	}
+
+	/**
+	 * @param user A user with their roles loaded
+	 * @return The caller that user is right now
+	 */
+	public static Caller of(User user) {
+		return new Caller(user.getUserId(), user.getUsername(), user.getRole(), Set.copyOf(user.getAuthority()));
+	}
+
+	public long getUserId() {
+		return userId;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	/**
+	 * Authentication.getName() of a request made by this caller
+	 */
+	@Override
+	public String getName() {
+		return username;
+	}
+
+	/**
+	 * @return The highest of the caller's roles (ADMIN, then TEACHER, then STUDENT), or null if they have none
+	 */
+	public RoleType getPriorityRole() {
+		return priorityRole;
+	}
+
+	public Set<GrantedAuthority> getAuthorities() {
+		return authorities;
+	}
+
+}
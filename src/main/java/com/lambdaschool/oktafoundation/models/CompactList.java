@@ -0,0 +1,26 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.List;
+
+
+/**
+ * One page of a listing in the compact view: the ids on it, and links for the collection as a whole (self, next,
+ * and an "item" template to expand with an id). See CompactView.
+ */
+public class CompactList
+		extends RepresentationModel<CompactList> {
+
+	private final List<Long> ids;
+
+	public CompactList(List<Long> ids) {
+		this.ids = ids;
+	}
+
+	public List<Long> getIds() {
+		return ids;
+	}
+
+}
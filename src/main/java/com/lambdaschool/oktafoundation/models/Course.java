@@ -4,11 +4,15 @@ package com.lambdaschool.oktafoundation.models;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.lambdaschool.oktafoundation.exceptions.UserNotFoundException;
+import com.lambdaschool.oktafoundation.services.SuggestionIndexListener;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -16,8 +20,12 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinColumns;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.util.HashSet;
@@ -28,15 +36,27 @@ import java.util.Optional;
 import java.util.Set;
 
 
+/**
+ * "Course.listing" is the fetch plan for course lists: the program (for the program link) and the tag come back
+ * joined to the course row instead of as one select per course.
+ */
 @Entity
 @Table(name = "courses")
+@NamedEntityGraph(name = "Course.listing", attributeNodes = {@NamedAttributeNode("program"), @NamedAttributeNode("tag")})
+@EntityListeners(SuggestionIndexListener.class)
 @JsonIgnoreProperties(value = {"program", "users", "modules"}, allowSetters = true)
 public class Course {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+	@SequenceGenerator(name = "courses_seq", allocationSize = 50)
 	private long             courseId;
 	//
+	@Version
+	@ColumnDefault("0")
+	@JsonIgnore
+	private long             version;
+	//
 	@NotNull
 	private String           courseName;
 	//
@@ -46,7 +66,7 @@ public class Course {
 	@Size(max = 2000)
 	private String           courseDescription;
 	//
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "programId")
 	@JsonIgnoreProperties(value = "courses")
 	private Program          program;
@@ -67,6 +87,16 @@ public class Course {
 	})
 	@JsonIgnoreProperties(value = {"program"})
 	private ProgramTags      tag;
+	//
+	// Read straight from the maintained enrollmentCounts rows (see EnrollmentCountService) as part of the course
+	// select. The role column holds RoleType ordinals.
+	@Formula("(SELECT COALESCE(SUM(ec.enrolled), 0) FROM enrollment_counts ec " +
+	         "WHERE ec.course_id = course_id AND ec.role = " + RoleType.STUDENT_ORDINAL + ")")
+	private long             studentCount;
+	//
+	@Formula("(SELECT COALESCE(SUM(ec.enrolled), 0) FROM enrollment_counts ec " +
+	         "WHERE ec.course_id = course_id AND ec.role = " + RoleType.TEACHER_ORDINAL + ")")
+	private long             teacherCount;
 
 	public Course() {
 	}
@@ -91,6 +121,18 @@ public class Course {
 		this.courseId = courseId;
 	}
 
+	/**
+	 * Bumped by Hibernate whenever the row is updated. Together with the tag's version and the enrollment counts it
+	 * is what GET /courses/course/{courseId} compares an If-None-Match against (see CourseVersion).
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 
 	public String getCourseName() {
 		return courseName;
@@ -142,6 +184,14 @@ public class Course {
 	//		return getCourseType();
 	//	}
 
+	public long getStudentCount() {
+		return studentCount;
+	}
+
+	public long getTeacherCount() {
+		return teacherCount;
+	}
+
 	@JsonIgnore // JsonIgnore as to not serialize this to JSON
 	public ProgramTags getTag() {
 		return tag;
@@ -0,0 +1,27 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * Projection of the columns a course card renders. Selected straight from the courses table (plus the program
+ * name and the enrollment counters), so listing cards never loads the Program -> User -> roles graph behind a full
+ * {@link Course}.
+ */
+public interface CourseCard {
+
+	long getCourseId();
+
+	String getCourseName();
+
+	String getCourseCode();
+
+	String getCourseDescription();
+
+	Long getProgramId();
+
+	String getProgramName();
+
+	long getStudentCount();
+
+	long getTeacherCount();
+
+}
@@ -0,0 +1,31 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * Everything a rendered {@link Course} can change by, selected in one query without loading the course: its own
+ * version, the version of the tag it embeds, and the enrollment counters. None of the last three bump the course's
+ * version when they change.
+ */
+public interface CourseVersion {
+
+	long getCourseId();
+
+	long getVersion();
+
+	/**
+	 * 0 when the course has no tag
+	 */
+	long getTagVersion();
+
+	long getStudentCount();
+
+	long getTeacherCount();
+
+	/**
+	 * @return All four as one opaque string, for an ETag
+	 */
+	default String asString() {
+		return getVersion() + "." + getTagVersion() + "." + getStudentCount() + "." + getTeacherCount();
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+
+/**
+ * Denormalized number of users enrolled in a course, per role (one row per course and role).
+ * <p>
+ * Maintained by {@link com.lambdaschool.oktafoundation.services.EnrollmentCountService EnrollmentCountService}
+ * in the same transaction as the enrollment change, so reading "N students / M teachers" is a primary key lookup
+ * instead of loading and filtering the whole roster.
+ */
+@Entity
+@Table(name = "enrollmentCounts")
+@IdClass(EnrollmentCountId.class)
+public class EnrollmentCount {
+
+	@Id
+	private long courseId;
+
+	/**
+	 * The enrolled users' priority role. Stored by ordinal like everywhere else.
+	 */
+	@Id
+	private RoleType role;
+
+	private long enrolled;
+
+	public EnrollmentCount() {
+	}
+
+	public EnrollmentCount(
+			long courseId,
+			RoleType role,
+			long enrolled
+	) {
+		this.courseId = courseId;
+		this.role     = role;
+		this.enrolled = enrolled;
+	}
+
+	public long getCourseId() {
+		return courseId;
+	}
+
+	public void setCourseId(long courseId) {
+		this.courseId = courseId;
+	}
+
+	public RoleType getRole() {
+		return role;
+	}
+
+	public void setRole(RoleType role) {
+		this.role = role;
+	}
+
+	public long getEnrolled() {
+		return enrolled;
+	}
+
+	public void setEnrolled(long enrolled) {
+		this.enrolled = enrolled;
+	}
+
+}
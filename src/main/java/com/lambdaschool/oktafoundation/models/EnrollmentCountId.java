@@ -0,0 +1,62 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+import java.io.Serializable;
+import java.util.Objects;
+
+
+public class EnrollmentCountId
+		implements Serializable {
+
+	private long     courseId;
+	private RoleType role;
+
+	public EnrollmentCountId() {
+	}
+
+	public EnrollmentCountId(
+			long courseId,
+			RoleType role
+	) {
+		this.courseId = courseId;
+		this.role     = role;
+	}
+
+	public long getCourseId() {
+		return courseId;
+	}
+
+	public void setCourseId(long courseId) {
+		this.courseId = courseId;
+	}
+
+	public RoleType getRole() {
+		return role;
+	}
+
+	public void setRole(RoleType role) {
+		this.role = role;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(courseId, role);
+	}
+
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		EnrollmentCountId that = (EnrollmentCountId) o;
+		return courseId == that.courseId && role == that.role;
+	}
+
+	@Override
+	public String toString() {
+		return "EnrollmentCountId{" + "courseId=" + courseId + ", role=" + role + '}';
+	}
+
+}
@@ -1,7 +1,9 @@
 package com.lambdaschool.oktafoundation.models;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -11,21 +13,40 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.Size;
 import java.util.Objects;
 
 
+/**
+ * "Module.listing" is the fetch plan for module lists: the course and its program (both linked to from every
+ * module) are joined in, rather than loaded one module at a time.
+ */
 @Entity
 @Table(name = "modules")
+@NamedEntityGraph(name = "Module.listing",
+		attributeNodes = @NamedAttributeNode(value = "course", subgraph = "course"),
+		subgraphs = @NamedSubgraph(name = "course",
+				attributeNodes = {@NamedAttributeNode("program"), @NamedAttributeNode("tag")}))
 @JsonIgnoreProperties(value = {"course", "modulecontent"}, allowSetters = true)
 public class Module
 		extends Auditable {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "modules_seq")
+	@SequenceGenerator(name = "modules_seq", allocationSize = 50)
 	private long moduleId;
 
+	@Version
+	@ColumnDefault("0")
+	@JsonIgnore
+	private long version;
+
 	@Column(nullable = false)
 	private String moduleName;
 
@@ -36,7 +57,7 @@ public class Module
 	@Size(max = 20000)
 	private String moduleContent;
 
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "courseid", nullable = false)
 	@JsonIgnoreProperties(value = "modules")
 	private Course course;
@@ -64,6 +85,17 @@ public class Module
 		this.moduleId = moduleid;
 	}
 
+	/**
+	 * Incremented on every update of the row, and the strong ETag of /modules/module/{moduleId}
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	public String getModuleName() {
 		return moduleName;
 	}
@@ -0,0 +1,18 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * Projection of the columns a module header renders. Leaves out the (up to 20k character) module content and
+ * the EAGER {@link Course} of a full {@link Module}.
+ */
+public interface ModuleHeader {
+
+	long getModuleId();
+
+	String getModuleName();
+
+	String getModuleDescription();
+
+	long getCourseId();
+
+}
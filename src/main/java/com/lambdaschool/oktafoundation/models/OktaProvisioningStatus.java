@@ -0,0 +1,11 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * Where an OktaProvisioningTask is. A task that succeeds is deleted, so DEAD is the only status a task ends in.
+ */
+public enum OktaProvisioningStatus {
+	PENDING,
+	RUNNING,
+	DEAD
+}
@@ -0,0 +1,192 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import java.util.Date;
+
+import static javax.persistence.TemporalType.TIMESTAMP;
+
+
+/**
+ * A user waiting to be created in Okta. Written in the same transaction as the user it is for, and drained by
+ * OktaProvisioningServiceImpl, so a user saved here is always, eventually, either in Okta or dead lettered.
+ * <p>
+ * The task carries what Okta needs rather than a reference to the user, so it does not stop the user being deleted.
+ */
+@Entity
+@Table(name = "oktaProvisioningTasks", indexes = @Index(name = "okta_provisioning_tasks_due_idx",
+		columnList = "status, nextAttemptDate"))
+public class OktaProvisioningTask {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "okta_provisioning_tasks_seq")
+	@SequenceGenerator(name = "okta_provisioning_tasks_seq", allocationSize = 50)
+	private long                   taskId;
+	//
+	private String                 email;
+	//
+	private String                 firstName;
+	//
+	private String                 lastName;
+	//
+	private RoleType               role;
+	//
+	private OktaProvisioningStatus status          = OktaProvisioningStatus.PENDING;
+	/**
+	 * How many times Okta has been tried and failed
+	 */
+	private int                    attempts;
+	//
+	@Temporal(TIMESTAMP)
+	private Date                   createdDate     = new Date();
+	/**
+	 * When a PENDING task is next due to be tried
+	 */
+	@Temporal(TIMESTAMP)
+	private Date                   nextAttemptDate = createdDate;
+	//
+	@Column(length = RosterImportFailure.MAX_REASON_LENGTH)
+	private String                 lastError;
+
+	public OktaProvisioningTask() {
+	}
+
+	public OktaProvisioningTask(
+			String email,
+			String firstName,
+			String lastName,
+			RoleType role
+	) {
+		this.email     = email;
+		this.firstName = firstName;
+		this.lastName  = lastName;
+		this.role      = role;
+	}
+
+	/**
+	 * @param user A user who has been saved, and so has their priority role
+	 */
+	public OktaProvisioningTask(User user) {
+		this(user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole());
+	}
+
+	public long getTaskId() {
+		return taskId;
+	}
+
+	public void setTaskId(long taskId) {
+		this.taskId = taskId;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public void setFirstName(String firstName) {
+		this.firstName = firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public void setLastName(String lastName) {
+		this.lastName = lastName;
+	}
+
+	public RoleType getRole() {
+		return role;
+	}
+
+	public void setRole(RoleType role) {
+		this.role = role;
+	}
+
+	public OktaProvisioningStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(OktaProvisioningStatus status) {
+		this.status = status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public Date getCreatedDate() {
+		return createdDate;
+	}
+
+	public void setCreatedDate(Date createdDate) {
+		this.createdDate = createdDate;
+	}
+
+	public Date getNextAttemptDate() {
+		return nextAttemptDate;
+	}
+
+	public void setNextAttemptDate(Date nextAttemptDate) {
+		this.nextAttemptDate = nextAttemptDate;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	public void start() {
+		status = OktaProvisioningStatus.RUNNING;
+	}
+
+	/**
+	 * Records a failed attempt and puts the task back in the queue
+	 *
+	 * @param error       Why Okta failed
+	 * @param nextAttempt When to try again
+	 */
+	public void retryLater(
+			String error,
+			Date nextAttempt
+	) {
+		attempts++;
+		status          = OktaProvisioningStatus.PENDING;
+		lastError       = RosterImportFailure.truncate(error);
+		nextAttemptDate = nextAttempt;
+	}
+
+	/**
+	 * Records the last failed attempt. The task is kept, but never tried again.
+	 *
+	 * @param error Why Okta failed
+	 */
+	public void deadLetter(String error) {
+		attempts++;
+		status    = OktaProvisioningStatus.DEAD;
+		lastError = RosterImportFailure.truncate(error);
+	}
+
+}
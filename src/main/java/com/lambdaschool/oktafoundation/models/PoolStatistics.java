@@ -0,0 +1,108 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+import java.util.Map;
+
+
+/**
+ * The state of one connection pool right now, plus acquire and leak counts since startup
+ */
+public class PoolStatistics {
+
+	private final String pool;
+
+	private final int maximumPoolSize;
+
+	private final int active;
+
+	private final int idle;
+
+	private final int pending;
+
+	private final long acquires;
+
+	private final double meanAcquireMillis;
+
+	private final Map<String, Long> acquireHistogram;
+
+	private final long timeouts;
+
+	private final long heldPastLeakThreshold;
+
+	public PoolStatistics(
+			String pool,
+			int maximumPoolSize,
+			int active,
+			int idle,
+			int pending,
+			long acquires,
+			double meanAcquireMillis,
+			Map<String, Long> acquireHistogram,
+			long timeouts,
+			long heldPastLeakThreshold
+	) {
+		this.pool                  = pool;
+		this.maximumPoolSize       = maximumPoolSize;
+		this.active                = active;
+		this.idle                  = idle;
+		this.pending               = pending;
+		this.acquires              = acquires;
+		this.meanAcquireMillis     = meanAcquireMillis;
+		this.acquireHistogram      = acquireHistogram;
+		this.timeouts              = timeouts;
+		this.heldPastLeakThreshold = heldPastLeakThreshold;
+	}
+
+	public String getPool() {
+		return pool;
+	}
+
+	public int getMaximumPoolSize() {
+		return maximumPoolSize;
+	}
+
+	public int getActive() {
+		return active;
+	}
+
+	public int getIdle() {
+		return idle;
+	}
+
+	/**
+	 * @return Callers waiting for a connection
+	 */
+	public int getPending() {
+		return pending;
+	}
+
+	public long getAcquires() {
+		return acquires;
+	}
+
+	public double getMeanAcquireMillis() {
+		return meanAcquireMillis;
+	}
+
+	/**
+	 * @return Acquire counts keyed by the bucket's upper bound ("<= 1ms"), fastest first
+	 */
+	public Map<String, Long> getAcquireHistogram() {
+		return acquireHistogram;
+	}
+
+	/**
+	 * @return Callers that gave up waiting for a connection
+	 */
+	public long getTimeouts() {
+		return timeouts;
+	}
+
+	/**
+	 * @return Connections that came back after being held past the leak detection threshold
+	 */
+	public long getHeldPastLeakThreshold() {
+		return heldPastLeakThreshold;
+	}
+
+}
@@ -1,11 +1,16 @@
 package com.lambdaschool.oktafoundation.models;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.lambdaschool.oktafoundation.exceptions.TagNotFoundException;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -14,8 +19,12 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.Size;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -25,16 +34,29 @@ import java.util.Optional;
 import java.util.Set;
 
 
+/**
+ * "Program.listing" is the fetch plan for program lists: the owning user (for the user links) is joined in. The
+ * user's roles are still an EAGER collection and arrive in batches.
+ */
 @Entity
 @Table(name = "programs")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "programs")
+@NamedEntityGraph(name = "Program.listing", attributeNodes = @NamedAttributeNode("user"))
 @JsonIgnoreProperties(value = {"courses", "user", "tags"})
 public class Program
 		extends Auditable {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "programs_seq")
+	@SequenceGenerator(name = "programs_seq", allocationSize = 50)
 	private long             programId;
 	//
+	@Version
+	@ColumnDefault("0")
+	@JsonIgnore
+	private long             version;
+	//
 	private String           programName;
 	//
 	private String           programType;
@@ -42,7 +64,7 @@ public class Program
 	@Size(max = 2000)
 	private String           programDescription;
 	//
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", nullable = false)
 	@JsonIgnoreProperties(value = "programs")
 	private User             user;
@@ -78,6 +100,17 @@ public class Program
 		this.programId = programId;
 	}
 
+	/**
+	 * The optimistic lock version, which is also all the program's ETag is made of
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	public String getProgramName() {
 		return programName;
 	}
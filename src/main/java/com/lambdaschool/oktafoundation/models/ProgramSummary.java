@@ -0,0 +1,18 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * Projection of the columns a program summary renders. Skips the EAGER owning {@link User} of a full
+ * {@link Program}.
+ */
+public interface ProgramSummary {
+
+	long getProgramId();
+
+	String getProgramName();
+
+	String getProgramType();
+
+	String getProgramDescription();
+
+}
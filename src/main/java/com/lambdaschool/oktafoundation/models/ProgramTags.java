@@ -2,7 +2,10 @@ package com.lambdaschool.oktafoundation.models;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
@@ -14,6 +17,8 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "programTags")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "programTags")
 @JsonIgnoreProperties(value = {"id", "program"})
 public class ProgramTags
 		extends Auditable
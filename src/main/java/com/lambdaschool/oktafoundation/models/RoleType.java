@@ -1,8 +1,33 @@
 package com.lambdaschool.oktafoundation.models;
 
 
+/**
+ * NOTE: declared in priority order (highest first). A user's role is the highest one they hold, found by comparing
+ * role types (see User.refreshRole).
+ * <p>
+ * Stored by ordinal (there is no @Enumerated) in roles, users and enrollmentCounts, so existing values have to keep
+ * their positions: a new value can only go at the end, as the lowest priority. SQL written by hand names role types
+ * through the ordinal constants below, which are checked against ordinal() when the enum is loaded.
+ */
 public enum RoleType {
 	ADMIN,
 	TEACHER,
-	STUDENT
+	STUDENT;
+
+	/**
+	 * TEACHER.ordinal() as an SQL literal, for annotation values such as @Formula (ordinal() is not a constant)
+	 */
+	public static final String TEACHER_ORDINAL = "1";
+
+	/**
+	 * STUDENT.ordinal() as an SQL literal, for annotation values such as @Formula (ordinal() is not a constant)
+	 */
+	public static final String STUDENT_ORDINAL = "2";
+
+	static {
+		if (TEACHER.ordinal() != Integer.parseInt(TEACHER_ORDINAL) ||
+		    STUDENT.ordinal() != Integer.parseInt(STUDENT_ORDINAL)) {
+			throw new IllegalStateException("RoleType was reordered, update its ordinal constants");
+		}
+	}
 }
@@ -0,0 +1,73 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+
+/**
+ * A roster row that could not be imported, and why
+ */
+@Embeddable
+public class RosterImportFailure {
+
+	public static final int MAX_REASON_LENGTH = 1000;
+
+	/**
+	 * The row's number in the file, counting the header as row 1
+	 */
+	private long rowNumber;
+
+	/**
+	 * The email the row gave, if it got as far as having one
+	 */
+	private String email;
+
+	@Column(length = MAX_REASON_LENGTH)
+	private String reason;
+
+	public RosterImportFailure() {
+	}
+
+	public RosterImportFailure(
+			long rowNumber,
+			String email,
+			String reason
+	) {
+		this.rowNumber = rowNumber;
+		this.email     = email;
+		this.reason    = truncate(reason);
+	}
+
+	/**
+	 * @return The reason, cut to what its column holds
+	 */
+	static String truncate(String reason) {
+		return reason != null && reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+	}
+
+	public long getRowNumber() {
+		return rowNumber;
+	}
+
+	public void setRowNumber(long rowNumber) {
+		this.rowNumber = rowNumber;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+	public void setReason(String reason) {
+		this.reason = reason;
+	}
+
+}
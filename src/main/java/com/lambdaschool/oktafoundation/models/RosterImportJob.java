@@ -0,0 +1,255 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.OrderColumn;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import static javax.persistence.TemporalType.TIMESTAMP;
+
+
+/**
+ * One roster upload being imported in the background, polled at /upload/jobs/{jobId}.
+ * <p>
+ * The counters are brought up to date as each chunk of rows is committed, so they always describe what is in the
+ * database. Every failed row is counted, but only the first MAX_FAILURES keep their reason, so that a roster of
+ * bad rows cannot grow the job without bound.
+ */
+@Entity
+@Table(name = "rosterImportJobs")
+public class RosterImportJob {
+
+	public static final int MAX_FAILURES = 1000;
+	//
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roster_import_jobs_seq")
+	@SequenceGenerator(name = "roster_import_jobs_seq", allocationSize = 50)
+	private long                      jobId;
+	//
+	/**
+	 * The course the roster enrolls its users in, null when it only creates them
+	 */
+	private Long                      courseId;
+	//
+	private String                    fileName;
+	//
+	private String                    submittedBy;
+	//
+	private RosterImportStatus        status        = RosterImportStatus.QUEUED;
+	//
+	@Temporal(TIMESTAMP)
+	private Date                      submittedDate = new Date();
+	//
+	@Temporal(TIMESTAMP)
+	private Date                      startedDate;
+	//
+	@Temporal(TIMESTAMP)
+	private Date                      finishedDate;
+	//
+	private long                      rowsProcessed;
+	//
+	private long                      created;
+	//
+	private long                      enrolled;
+	//
+	private long                      failed;
+	//
+	/**
+	 * Why the job as a whole failed, when it did
+	 */
+	@Column(length = RosterImportFailure.MAX_REASON_LENGTH)
+	private String                    error;
+	//
+	@ElementCollection
+	@CollectionTable(name = "rosterImportFailures", joinColumns = @JoinColumn(name = "jobid"))
+	@OrderColumn(name = "failureindex")
+	private List<RosterImportFailure> failures      = new ArrayList<>();
+
+	public RosterImportJob() {
+	}
+
+	public RosterImportJob(
+			Long courseId,
+			String fileName,
+			String submittedBy
+	) {
+		this.courseId    = courseId;
+		this.fileName    = fileName;
+		this.submittedBy = submittedBy;
+	}
+
+	public long getJobId() {
+		return jobId;
+	}
+
+	public void setJobId(long jobId) {
+		this.jobId = jobId;
+	}
+
+	public Long getCourseId() {
+		return courseId;
+	}
+
+	public void setCourseId(Long courseId) {
+		this.courseId = courseId;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public void setFileName(String fileName) {
+		this.fileName = fileName;
+	}
+
+	public String getSubmittedBy() {
+		return submittedBy;
+	}
+
+	public void setSubmittedBy(String submittedBy) {
+		this.submittedBy = submittedBy;
+	}
+
+	public RosterImportStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(RosterImportStatus status) {
+		this.status = status;
+	}
+
+	public Date getSubmittedDate() {
+		return submittedDate;
+	}
+
+	public void setSubmittedDate(Date submittedDate) {
+		this.submittedDate = submittedDate;
+	}
+
+	public Date getStartedDate() {
+		return startedDate;
+	}
+
+	public void setStartedDate(Date startedDate) {
+		this.startedDate = startedDate;
+	}
+
+	public Date getFinishedDate() {
+		return finishedDate;
+	}
+
+	public void setFinishedDate(Date finishedDate) {
+		this.finishedDate = finishedDate;
+	}
+
+	public long getRowsProcessed() {
+		return rowsProcessed;
+	}
+
+	public void setRowsProcessed(long rowsProcessed) {
+		this.rowsProcessed = rowsProcessed;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public void setCreated(long created) {
+		this.created = created;
+	}
+
+	public long getEnrolled() {
+		return enrolled;
+	}
+
+	public void setEnrolled(long enrolled) {
+		this.enrolled = enrolled;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public void setFailed(long failed) {
+		this.failed = failed;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	public List<RosterImportFailure> getFailures() {
+		return failures;
+	}
+
+	public void setFailures(List<RosterImportFailure> failures) {
+		this.failures = failures;
+	}
+
+	public void start() {
+		status      = RosterImportStatus.RUNNING;
+		startedDate = new Date();
+	}
+
+	/**
+	 * Adds a committed chunk of rows to the counts
+	 *
+	 * @param rows        How many rows the chunk had
+	 * @param newUsers    How many of them were new users
+	 * @param enrollments How many of them were enrolled in the course
+	 * @param rowFailures The rows that were not imported
+	 */
+	public void addChunk(
+			long rows,
+			long newUsers,
+			long enrollments,
+			Collection<RosterImportFailure> rowFailures
+	) {
+		rowsProcessed += rows;
+		created       += newUsers;
+		enrolled      += enrollments;
+		failed        += rowFailures.size();
+		for (RosterImportFailure failure : rowFailures) {
+			if (failures.size() >= MAX_FAILURES) {
+				break;
+			}
+			failures.add(failure);
+		}
+	}
+
+	public void succeed() {
+		status       = RosterImportStatus.SUCCEEDED;
+		finishedDate = new Date();
+	}
+
+	/**
+	 * @param reason Why the rest of the roster cannot be imported
+	 */
+	public void fail(String reason) {
+		status       = RosterImportStatus.FAILED;
+		error        = RosterImportFailure.truncate(reason);
+		finishedDate = new Date();
+	}
+
+	public boolean isDone() {
+		return status == RosterImportStatus.SUCCEEDED || status == RosterImportStatus.FAILED;
+	}
+
+}
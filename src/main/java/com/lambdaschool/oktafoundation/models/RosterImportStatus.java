@@ -0,0 +1,12 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * Where a RosterImportJob is. QUEUED and RUNNING jobs are still being worked on, the others are done.
+ */
+public enum RosterImportStatus {
+	QUEUED,
+	RUNNING,
+	SUCCEEDED,
+	FAILED
+}
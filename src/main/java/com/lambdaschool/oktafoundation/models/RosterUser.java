@@ -0,0 +1,20 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * Projection of what a roster import needs to know about a user who already exists: who they are, for Okta, and
+ * their priority role, for the enrollment counters
+ */
+public interface RosterUser {
+
+	long getUserId();
+
+	String getEmail();
+
+	String getFirstName();
+
+	String getLastName();
+
+	RoleType getRoleType();
+
+}
@@ -0,0 +1,55 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+import java.util.Objects;
+
+
+/**
+ * A single typeahead result. Two suggestions are equal when they point at the same entity.
+ */
+public class Suggestion {
+
+	private final SuggestionType type;
+	private final long           id;
+	private final String         label;
+
+	public Suggestion(
+			SuggestionType type,
+			long id,
+			String label
+	) {
+		this.type  = type;
+		this.id    = id;
+		this.label = label;
+	}
+
+	public SuggestionType getType() {
+		return type;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		Suggestion that = (Suggestion) o;
+		return id == that.id && type == that.type;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, id);
+	}
+
+}
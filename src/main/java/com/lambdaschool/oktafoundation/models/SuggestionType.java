@@ -0,0 +1,8 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+public enum SuggestionType {
+	USER,
+	TAG,
+	COURSE
+}
@@ -0,0 +1,24 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * An aggregate over a whole versioned table that changes whenever any row of it does: an update raises the sum of
+ * the versions, a delete lowers the row count, and an insert raises the row count (and the highest id, so a delete
+ * and an insert together still show). Compared by the weak ETags of the paged listings, without reading a page.
+ */
+public interface TableVersion {
+
+	long getRowCount();
+
+	long getMaxId();
+
+	long getVersionSum();
+
+	/**
+	 * @return All three as one opaque string, for an ETag
+	 */
+	default String asString() {
+		return getRowCount() + "." + getMaxId() + "." + getVersionSum();
+	}
+
+}
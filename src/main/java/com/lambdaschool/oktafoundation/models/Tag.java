@@ -3,15 +3,23 @@ package com.lambdaschool.oktafoundation.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.lambdaschool.oktafoundation.services.SuggestionIndexListener;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 import java.util.HashSet;
 import java.util.Objects;
@@ -20,6 +28,9 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tags")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tags")
+@EntityListeners(SuggestionIndexListener.class)
 @JsonIgnoreProperties(value = "courses")
 public class Tag
 		extends Auditable {
@@ -27,9 +38,15 @@ public class Tag
 	private static final String           DEFAULT_HEX_CODE = "#FFFFFF";
 	//
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tags_seq")
+	@SequenceGenerator(name = "tags_seq", allocationSize = 50)
 	private              long             tagId;
 	//
+	@Version
+	@ColumnDefault("0")
+	@JsonIgnore
+	private              long             version;
+	//
 	@NotNull
 	private              String           title;
 	//
@@ -68,6 +85,17 @@ public class Tag
 		this.tagId = tagId;
 	}
 
+	/**
+	 * Incremented on every update. A course renders its tag, so this goes into the course's ETag as well.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	public String getTitle() {
 		return title;
 	}
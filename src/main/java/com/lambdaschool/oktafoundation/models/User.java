@@ -3,6 +3,7 @@ package com.lambdaschool.oktafoundation.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.lambdaschool.oktafoundation.services.SuggestionIndexListener;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -10,11 +11,14 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
@@ -28,7 +32,8 @@ import java.util.Set;
  * The entity allowing interaction with the users table
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "users_role_type_idx", columnList = "role_type"))
+@EntityListeners(SuggestionIndexListener.class)
 @JsonIgnoreProperties(value = {"programs", "courses", "roles"}, allowSetters = true)
 public class User
 		extends Auditable {
@@ -37,7 +42,8 @@ public class User
 	 * The primary key (long) of the users table.
 	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+	@SequenceGenerator(name = "users_seq", allocationSize = 50)
 	private long             userId;
 	/**
 	 * The username (String). Cannot be null and must be unique
@@ -55,7 +61,11 @@ public class User
 	private String           lastName;
 	//
 	private String           phoneNumber;
-	//
+	/**
+	 * The priority role (see getRole), stored so role checks and role filtered queries do not need the user's roles.
+	 * Every saved user has one, UserServiceImpl.save makes a user without a typed role a student.
+	 */
+	@Column(name = "role_type", nullable = false)
 	private RoleType         roleType;
 	//
 	@OneToMany(fetch = FetchType.LAZY, mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -241,41 +251,8 @@ public class User
 
 	@JsonIgnore
 	public SimpleGrantedAuthority getPriorityAuthority() {
-		boolean isAdmin   = false;
-		boolean isTeacher = false;
-		boolean isStudent = false;
-
-		for (UserRoles r : this.roles) {
-			RoleType currentRoleType = r.getRole()
-					.getRoleType();
-			if (currentRoleType != null) {
-				if (currentRoleType == RoleType.ADMIN) {
-					isAdmin = true;
-					break;
-				} else if (currentRoleType == RoleType.TEACHER) {
-					isTeacher = true;
-				} else if (currentRoleType == RoleType.STUDENT) {
-					isStudent = true;
-				}
-			}
-		}
-
-		if (isAdmin) {
-			this.roleType = RoleType.ADMIN;
-			return new SimpleGrantedAuthority(RoleType.ADMIN.name());
-		}
-		if (isTeacher) {
-			this.roleType = RoleType.TEACHER;
-			return new SimpleGrantedAuthority(RoleType.TEACHER.name());
-		}
-		if (isStudent) {
-			this.roleType = RoleType.STUDENT;
-			return new SimpleGrantedAuthority(RoleType.STUDENT.name());
-		}
-
-		this.roleType = null;
-		return null;
-
+		RoleType role = getRole();
+		return role == null ? null : new SimpleGrantedAuthority(role.name());
 	}
 
 	@JsonIgnore
@@ -283,38 +260,37 @@ public class User
 		return this.roleType;
 	}
 
+	/**
+	 * The highest of this user's roles: ADMIN, then TEACHER, then STUDENT. Read from the role_type column, so
+	 * calling this does not touch roles unless the column was never filled in.
+	 *
+	 * @return The priority role, or null if this user has no roles
+	 */
 	public RoleType getRole() {
-		boolean isAdmin   = false;
-		boolean isTeacher = false;
-		boolean isStudent = false;
+		if (this.roleType == null && !this.roles.isEmpty()) {
+			refreshRole();
+		}
+		return this.roleType;
+	}
+
+	/**
+	 * Recomputes the stored priority role from roles. Anything that adds or removes roles must call this before
+	 * the user is saved.
+	 *
+	 * @return The new priority role, or null if this user has no roles
+	 */
+	public RoleType refreshRole() {
+		RoleType priorityRole = null;
 		for (UserRoles r : this.roles) {
 			RoleType currentRoleType = r.getRole()
 					.getRoleType();
-			if (currentRoleType != null) {
-				if (currentRoleType == RoleType.ADMIN) {
-					isAdmin = true;
-				} else if (currentRoleType == RoleType.TEACHER) {
-					isTeacher = true;
-				} else if (currentRoleType == RoleType.STUDENT) {
-					isStudent = true;
-				}
+			// RoleType is declared highest first
+			if (currentRoleType != null && (priorityRole == null || currentRoleType.compareTo(priorityRole) < 0)) {
+				priorityRole = currentRoleType;
 			}
 		}
-		if (isAdmin) {
-			this.roleType = RoleType.ADMIN;
-			return RoleType.ADMIN;
-		}
-		if (isTeacher) {
-			this.roleType = RoleType.TEACHER;
-			return RoleType.TEACHER;
-		}
-		if (isStudent) {
-			this.roleType = RoleType.STUDENT;
-			return RoleType.STUDENT;
-		}
-
-		return null;
-
+		this.roleType = priorityRole;
+		return priorityRole;
 	}
 
 	@Override
@@ -0,0 +1,20 @@
+package com.lambdaschool.oktafoundation.models;
+
+
+/**
+ * Projection of the columns a user row renders. Unlike a full {@link User}, loading one never touches roles,
+ * courses, or programs.
+ */
+public interface UserRow {
+
+	long getUserId();
+
+	String getUsername();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getEmail();
+
+}
@@ -2,61 +2,228 @@ package com.lambdaschool.oktafoundation.repository;
 
 
 import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.CourseCard;
+import com.lambdaschool.oktafoundation.models.CourseVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Transactional
 public interface CourseRepository
-		extends CrudRepository<Course, Long> {
+		extends PagingAndSortingRepository<Course, Long> {
 
 	Optional<Course> findByCourseName(String coursename);
 
+	@EntityGraph("Course.listing")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	List<Course> findCoursesByProgram_ProgramId(long programid);
 
+	@EntityGraph("Course.listing")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	List<Course> findByTag_tag_titleLikeIgnoreCase(String name);
 
-	@Query(value = "SELECT * FROM user_courses uc\n" + "JOIN courses c ON uc.course_id = c.course_id " +
-	               "WHERE user_id = :userId", nativeQuery = true)
+	@EntityGraph("Course.listing")
+	@Query("SELECT c FROM Course c JOIN c.users uc WHERE uc.user.userId = :userId")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	List<Course> findCoursesByUserId(long userId);
 
-	@Query(value = "SELECT * FROM courses where course_id not in (SELECT course_id FROM user_courses WHERE " +
-	               "user_id=:userId)", nativeQuery = true)
+	@EntityGraph("Course.listing")
+	@Query("SELECT c FROM Course c WHERE NOT EXISTS (SELECT uc FROM UserCourses uc " +
+	       "WHERE uc.course = c AND uc.user.userId = :userId)")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	List<Course> findAntiCoursesByUserId(long userId);
 
 	/**
-	 * Compares the given query against the {@link Course#getCourseName() coursename},
-	 * {@link Course#getCourseDescription() coursedescription}, and {@link Course#getCourseCode() coursecode}.
+	 * Ranked full-text search over the {@link Course#getCourseName() coursename},
+	 * {@link Course#getCourseDescription() coursedescription}, and {@link Course#getCourseCode() coursecode}
 	 * columns in the {@link Course courses} table.
 	 * <p>
-	 * Case (upper vs lower) will be ignored. If any column contains subtext that matches the query, that course
-	 * will be considered a match and returned.
-	 * <p>
-	 * NOTE: 'ILIKE' is a Postgresql Operation. When running H2 locally, this query will throw an
-	 * {@link java.sql.SQLFeatureNotSupportedException SQL Exception}.
+	 * A course matches when its maintained {@code search_vector} matches the given term, or when its
+	 * {@code search_text} contains the given (lowercased, escaped) pattern. Both columns and their GIN indexes are
+	 * installed by {@code search/postgresql-search.sql}, so this query is PostgreSQL only. Matches are ordered by
+	 * rank and then by id so paging is stable.
 	 * <p>
+	 * NOTE: the pageable handed to this query must be unsorted, the ordering lives in the query itself.
 	 *
-	 * @param query The search term that should be compared to the various fields mentioned above
+	 * @param term     The raw search term, handed to plainto_tsquery
+	 * @param pattern  A lowercased LIKE pattern ("%term%") used for substring matches
+	 * @param pageable The page of results to return
 	 *
-	 * @return Any course that contains a match to the given search term
+	 * @return A page of courses matching the given search term, best match first
 	 */
-	@Query(
-			value = "SELECT * FROM courses c WHERE CONCAT(c.course_name, ' ', c.course_description, ' ', c.course_code) ILIKE :query",
+	@Query(value = "SELECT c.* FROM courses c " +
+	               "WHERE c.search_vector @@ plainto_tsquery('simple', :term) OR c.search_text LIKE :pattern " +
+	               "ORDER BY ts_rank(c.search_vector, plainto_tsquery('simple', :term)) DESC, c.course_id",
+			countQuery = "SELECT count(*) FROM courses c " +
+			             "WHERE c.search_vector @@ plainto_tsquery('simple', :term) OR c.search_text LIKE :pattern",
 			nativeQuery = true)
-	List<Course> search(String query);
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Page<Course> searchRanked(
+			String term,
+			String pattern,
+			Pageable pageable
+	);
 
-	@Query(value = "WITH c as ( SELECT * FROM courses where course_id in (SELECT course_id FROM user_courses WHERE " +
-	               "user_id=:userId) ) " +
-	               "SELECT * FROM c WHERE CONCAT(c.course_name, ' ', c.course_description, ' ', c.course_code) ILIKE :query",
+	/**
+	 * Same as {@link #searchRanked(String, String, Pageable)}, restricted to the courses the given user is attached to.
+	 */
+	@Query(value = "SELECT c.* FROM courses c JOIN user_courses uc ON uc.course_id = c.course_id " +
+	               "WHERE uc.user_id = :userId " +
+	               "AND (c.search_vector @@ plainto_tsquery('simple', :term) OR c.search_text LIKE :pattern) " +
+	               "ORDER BY ts_rank(c.search_vector, plainto_tsquery('simple', :term)) DESC, c.course_id",
+			countQuery = "SELECT count(*) FROM courses c JOIN user_courses uc ON uc.course_id = c.course_id " +
+			             "WHERE uc.user_id = :userId " +
+			             "AND (c.search_vector @@ plainto_tsquery('simple', :term) OR c.search_text LIKE :pattern)",
 			nativeQuery = true)
-	List<Course> search(
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Page<Course> searchRanked(
 			long userId,
-			String query
+			String term,
+			String pattern,
+			Pageable pageable
 	);
 
+	/**
+	 * Portable (H2 friendly) substring search over the same columns as {@link #searchRanked(String, String, Pageable)}.
+	 * Used whenever we are not running against PostgreSQL. Results are not ranked.
+	 *
+	 * @param pattern  A lowercased LIKE pattern ("%term%")
+	 * @param pageable The page of results to return
+	 *
+	 * @return A page of courses containing the given pattern
+	 */
+	@EntityGraph("Course.listing")
+	@Query("SELECT c FROM Course c " +
+	       "WHERE LOWER(CONCAT(COALESCE(c.courseName, ''), ' ', COALESCE(c.courseDescription, ''), ' ', " +
+	       "COALESCE(c.courseCode, ''))) LIKE :pattern ESCAPE '\\'")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Page<Course> searchPortable(
+			String pattern,
+			Pageable pageable
+	);
+
+	@EntityGraph("Course.listing")
+	@Query(value = "SELECT c FROM Course c JOIN c.users uc WHERE uc.user.userId = :userId " +
+	               "AND LOWER(CONCAT(COALESCE(c.courseName, ''), ' ', COALESCE(c.courseDescription, ''), ' ', " +
+	               "COALESCE(c.courseCode, ''))) LIKE :pattern ESCAPE '\\'",
+			countQuery = "SELECT count(c) FROM Course c JOIN c.users uc WHERE uc.user.userId = :userId " +
+			             "AND LOWER(CONCAT(COALESCE(c.courseName, ''), ' ', COALESCE(c.courseDescription, ''), ' ', " +
+			             "COALESCE(c.courseCode, ''))) LIKE :pattern ESCAPE '\\'")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Page<Course> searchPortable(
+			long userId,
+			String pattern,
+			Pageable pageable
+	);
+
+	@EntityGraph("Course.listing")
+	@Query(value = "SELECT c FROM Course c JOIN c.users uc WHERE uc.user.userId = :userId",
+			countQuery = "SELECT count(c) FROM Course c JOIN c.users uc WHERE uc.user.userId = :userId")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Page<Course> findCoursesByUserId(
+			long userId,
+			Pageable pageable
+	);
+
+	@EntityGraph("Course.listing")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<Course> findByCourseIdGreaterThan(
+			long courseId,
+			Pageable pageable
+	);
+
+	/**
+	 * Keyset page of course cards. Only the card columns, the program's id and name, and the enrollment counters
+	 * are selected.
+	 *
+	 * @param afterId  The id of the last course the client has seen (0 for the first page)
+	 * @param pageable The page size. Must be unsorted, the ordering lives in the query.
+	 *
+	 * @return The next slice of course cards after the given id
+	 */
+	@Query("SELECT c.courseId AS courseId, c.courseName AS courseName, c.courseCode AS courseCode, " +
+	       "c.courseDescription AS courseDescription, p.programId AS programId, p.programName AS programName, " +
+	       "COALESCE(s.enrolled, 0) AS studentCount, COALESCE(t.enrolled, 0) AS teacherCount " +
+	       "FROM Course c LEFT JOIN c.program p " +
+	       "LEFT JOIN EnrollmentCount s ON s.courseId = c.courseId " +
+	       "AND s.role = com.lambdaschool.oktafoundation.models.RoleType.STUDENT " +
+	       "LEFT JOIN EnrollmentCount t ON t.courseId = c.courseId " +
+	       "AND t.role = com.lambdaschool.oktafoundation.models.RoleType.TEACHER " +
+	       "WHERE c.courseId > :afterId ORDER BY c.courseId")
+	Slice<CourseCard> findCardsAfter(
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Keyset page of course ids, which is all the compact view of /courses renders
+	 *
+	 * @param afterId  The id of the last course the client has seen (0 for the first page)
+	 * @param pageable The page size. Must be unsorted, the ordering lives in the query.
+	 *
+	 * @return The next slice of ids after the given one
+	 */
+	@Query("SELECT c.courseId FROM Course c WHERE c.courseId > :afterId ORDER BY c.courseId")
+	Slice<Long> findIdsAfter(
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Every course in id order, read through a database cursor rather than all at once, 500 rows per round trip.
+	 * Without the fetch size the driver may read the whole result set before handing over the first row. Has to be
+	 * consumed, and closed, inside a transaction.
+	 */
+	@EntityGraph("Course.listing")
+	@QueryHints({@QueryHint(name = "org.hibernate.readOnly", value = "true"),
+			@QueryHint(name = "org.hibernate.fetchSize", value = "500")})
+	@Query("SELECT c FROM Course c ORDER BY c.courseId")
+	Stream<Course> streamAll();
+
+	/**
+	 * What a rendered course can change by, read without loading the course, its program, or its tag
+	 *
+	 * @param courseId The course
+	 * @return Empty when there is no such course
+	 */
+	@Query("SELECT c.courseId AS courseId, c.version AS version, COALESCE(t.version, 0) AS tagVersion, " +
+	       "COALESCE(s.enrolled, 0) AS studentCount, COALESCE(e.enrolled, 0) AS teacherCount " +
+	       "FROM Course c LEFT JOIN c.tag pt LEFT JOIN pt.tag t " +
+	       "LEFT JOIN EnrollmentCount s ON s.courseId = c.courseId " +
+	       "AND s.role = com.lambdaschool.oktafoundation.models.RoleType.STUDENT " +
+	       "LEFT JOIN EnrollmentCount e ON e.courseId = c.courseId " +
+	       "AND e.role = com.lambdaschool.oktafoundation.models.RoleType.TEACHER " +
+	       "WHERE c.courseId = :courseId")
+	Optional<CourseVersion> findVersionById(long courseId);
+
+	/**
+	 * The versions of the courses on the same keyset page as findByCourseIdGreaterThan, read without loading them
+	 *
+	 * @param afterId  The id of the last course the client has seen (0 for the first page)
+	 * @param pageable The page size. Must be unsorted, the ordering lives in the query.
+	 */
+	@Query("SELECT c.courseId AS courseId, c.version AS version, COALESCE(t.version, 0) AS tagVersion, " +
+	       "COALESCE(s.enrolled, 0) AS studentCount, COALESCE(e.enrolled, 0) AS teacherCount " +
+	       "FROM Course c LEFT JOIN c.tag pt LEFT JOIN pt.tag t " +
+	       "LEFT JOIN EnrollmentCount s ON s.courseId = c.courseId " +
+	       "AND s.role = com.lambdaschool.oktafoundation.models.RoleType.STUDENT " +
+	       "LEFT JOIN EnrollmentCount e ON e.courseId = c.courseId " +
+	       "AND e.role = com.lambdaschool.oktafoundation.models.RoleType.TEACHER " +
+	       "WHERE c.courseId > :afterId ORDER BY c.courseId")
+	Slice<CourseVersion> findVersionsAfter(
+			long afterId,
+			Pageable pageable
+	);
 
 }
@@ -0,0 +1,85 @@
+package com.lambdaschool.oktafoundation.repository;
+
+
+import com.lambdaschool.oktafoundation.models.EnrollmentCount;
+import com.lambdaschool.oktafoundation.models.EnrollmentCountId;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+
+public interface EnrollmentCountRepository
+		extends CrudRepository<EnrollmentCount, EnrollmentCountId> {
+
+	List<EnrollmentCount> findByCourseId(long courseId);
+
+	/**
+	 * Atomically adds delta to one counter
+	 *
+	 * @return The number of rows updated. 0 when the course has no counter for this role yet.
+	 */
+	@Modifying
+	@Query("UPDATE EnrollmentCount e SET e.enrolled = e.enrolled + :delta " +
+	       "WHERE e.courseId = :courseId AND e.role = :role")
+	int addToCount(
+			long courseId,
+			RoleType role,
+			long delta
+	);
+
+	/**
+	 * Atomically adds delta to one counter, creating the counter when the course has none for this role yet, so two
+	 * transactions enrolling the first users with a role do not both insert it. PostgreSQL only.
+	 *
+	 * @param role The RoleType ordinal
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(value = "INSERT INTO enrollment_counts (course_id, role, enrolled) VALUES (:courseId, :role, :delta) " +
+	               "ON CONFLICT (course_id, role) DO UPDATE " +
+	               "SET enrolled = enrollment_counts.enrolled + EXCLUDED.enrolled",
+			nativeQuery = true)
+	void upsertCount(
+			long courseId,
+			int role,
+			long delta
+	);
+
+	/**
+	 * The same as upsertCount with a standard MERGE, for H2
+	 *
+	 * @param role The RoleType ordinal
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(value = "MERGE INTO enrollment_counts c USING (SELECT CAST(:courseId AS BIGINT) AS course_id, " +
+	               "CAST(:role AS INT) AS role, CAST(:delta AS BIGINT) AS enrolled) n " +
+	               "ON c.course_id = n.course_id AND c.role = n.role " +
+	               "WHEN MATCHED THEN UPDATE SET enrolled = c.enrolled + n.enrolled " +
+	               "WHEN NOT MATCHED THEN INSERT (course_id, role, enrolled) VALUES (n.course_id, n.role, n.enrolled)",
+			nativeQuery = true)
+	void mergeCount(
+			long courseId,
+			int role,
+			long delta
+	);
+
+	/**
+	 * Deletes the counters of the given courses. Pending changes are flushed first and the persistence context is
+	 * cleared afterwards, so no managed counter outlives its row.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("DELETE FROM EnrollmentCount e WHERE e.courseId IN :courseIds")
+	void deleteByCourseIds(Collection<Long> courseIds);
+
+	/**
+	 * Every (course id, user id, priority role) enrollment triple for the given courses, read from the users'
+	 * role_type column. Users without a role are left out.
+	 */
+	@Query("SELECT uc.course.courseId, u.userId, u.roleType FROM UserCourses uc " +
+	       "JOIN uc.user u WHERE uc.course.courseId IN :courseIds AND u.roleType IS NOT NULL")
+	List<Object[]> findEnrolledRoles(Collection<Long> courseIds);
+
+}
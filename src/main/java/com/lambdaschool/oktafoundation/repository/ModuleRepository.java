@@ -2,10 +2,19 @@ package com.lambdaschool.oktafoundation.repository;
 
 
 import com.lambdaschool.oktafoundation.models.Module;
+import com.lambdaschool.oktafoundation.models.ModuleHeader;
+import com.lambdaschool.oktafoundation.models.TableVersion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface ModuleRepository
@@ -13,6 +22,61 @@ public interface ModuleRepository
 
 	Optional<Module> findByModuleNameIgnoreCase(String name);
 
+	@EntityGraph("Module.listing")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Optional<Module> findByModuleId(long moduleId);
+
+	@EntityGraph("Module.listing")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	List<Module> findModulesByCourse_CourseId(long id);
 
+	@EntityGraph("Module.listing")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<Module> findByModuleIdGreaterThan(
+			long moduleId,
+			Pageable pageable
+	);
+
+	/**
+	 * Keyset page of module headers. The module content is never selected.
+	 */
+	@Query("SELECT m.moduleId AS moduleId, m.moduleName AS moduleName, m.moduleDescription AS moduleDescription, " +
+	       "m.course.courseId AS courseId FROM Module m WHERE m.moduleId > :afterId ORDER BY m.moduleId")
+	Slice<ModuleHeader> findHeadersAfter(
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Keyset page of module ids. Not even the header columns are selected.
+	 */
+	@Query("SELECT m.moduleId FROM Module m WHERE m.moduleId > :afterId ORDER BY m.moduleId")
+	Slice<Long> findIdsAfter(
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Every module in id order, over a database cursor that reads 500 rows per round trip. Has to be consumed, and
+	 * closed, inside a transaction.
+	 */
+	@EntityGraph("Module.listing")
+	@QueryHints({@QueryHint(name = "org.hibernate.readOnly", value = "true"),
+			@QueryHint(name = "org.hibernate.fetchSize", value = "500")})
+	@Query("SELECT m FROM Module m ORDER BY m.moduleId")
+	Stream<Module> streamAll();
+
+	/**
+	 * @return The module's version, read without loading it. Empty when there is no such module.
+	 */
+	@Query("SELECT m.version FROM Module m WHERE m.moduleId = :moduleId")
+	Optional<Long> findVersionById(long moduleId);
+
+	/**
+	 * @return The version of the whole modules table, which every page of /modules is compared by
+	 */
+	@Query("SELECT COUNT(m) AS rowCount, COALESCE(MAX(m.moduleId), 0) AS maxId, " +
+	       "COALESCE(SUM(m.version), 0) AS versionSum FROM Module m")
+	TableVersion findTableVersion();
+
 }
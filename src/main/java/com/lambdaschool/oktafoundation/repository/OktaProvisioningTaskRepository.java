@@ -0,0 +1,41 @@
+package com.lambdaschool.oktafoundation.repository;
+
+
+import com.lambdaschool.oktafoundation.models.OktaProvisioningTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Date;
+import java.util.List;
+
+
+public interface OktaProvisioningTaskRepository
+		extends CrudRepository<OktaProvisioningTask, Long> {
+
+	/**
+	 * The PENDING tasks due by the given time, longest due first
+	 *
+	 * @param pageable How many tasks to return. Must be unsorted, the ordering lives in the query.
+	 */
+	@Query("SELECT t FROM OktaProvisioningTask t " +
+	       "WHERE t.status = com.lambdaschool.oktafoundation.models.OktaProvisioningStatus.PENDING " +
+	       "AND t.nextAttemptDate <= :now ORDER BY t.nextAttemptDate, t.taskId")
+	List<OktaProvisioningTask> findDue(
+			Date now,
+			Pageable pageable
+	);
+
+	/**
+	 * Puts every RUNNING task back in the queue
+	 *
+	 * @return The number of tasks put back
+	 */
+	@Modifying
+	@Query("UPDATE OktaProvisioningTask t " +
+	       "SET t.status = com.lambdaschool.oktafoundation.models.OktaProvisioningStatus.PENDING " +
+	       "WHERE t.status = com.lambdaschool.oktafoundation.models.OktaProvisioningStatus.RUNNING")
+	int requeueRunning();
+
+}
@@ -2,11 +2,18 @@ package com.lambdaschool.oktafoundation.repository;
 
 
 import com.lambdaschool.oktafoundation.models.Program;
+import com.lambdaschool.oktafoundation.models.ProgramSummary;
+import com.lambdaschool.oktafoundation.models.TableVersion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,17 +24,59 @@ public interface ProgramRepository
 
 	Optional<Program> findByProgramNameIgnoreCase(String name);
 
+	@EntityGraph("Program.listing")
 	List<Program> findByTags_tag_titleIgnoreCase(String name);
 
+	@EntityGraph("Program.listing")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	List<Program> findByTags_tag_titleLikeIgnoreCase(String name);
 
+	@EntityGraph("Program.listing")
 	List<Program> findByTags_tag_tagId(long tagId);
 
-	@Query(value = "SELECT * FROM programs p WHERE p.user_id = :userId\n", nativeQuery = true)
+	@EntityGraph("Program.listing")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	@Query("SELECT p FROM Program p WHERE p.user.userId = :userId")
 	List<Program> findProgramsByUserId(long userId);
 
 	@Modifying
 	@Query(value = "DELETE FROM programs WHERE program_id = :programId", nativeQuery = true)
 	void deleteById(long programId);
 
+	@EntityGraph("Program.listing")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<Program> findByProgramIdGreaterThan(
+			long programId,
+			Pageable pageable
+	);
+
+	@Query("SELECT p.programId AS programId, p.programName AS programName, p.programType AS programType, " +
+	       "p.programDescription AS programDescription FROM Program p WHERE p.programId > :afterId ORDER BY p.programId")
+	Slice<ProgramSummary> findSummariesAfter(
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Keyset page of program ids only
+	 */
+	@Query("SELECT p.programId FROM Program p WHERE p.programId > :afterId ORDER BY p.programId")
+	Slice<Long> findIdsAfter(
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * @return The program's version, read without loading it. Empty when there is no such program.
+	 */
+	@Query("SELECT p.version FROM Program p WHERE p.programId = :programId")
+	Optional<Long> findVersionById(long programId);
+
+	/**
+	 * @return The version of the whole programs table, which every page of /programs is compared by
+	 */
+	@Query("SELECT COUNT(p) AS rowCount, COALESCE(MAX(p.programId), 0) AS maxId, " +
+	       "COALESCE(SUM(p.version), 0) AS versionSum FROM Program p")
+	TableVersion findTableVersion();
+
 }
@@ -4,9 +4,12 @@ package com.lambdaschool.oktafoundation.repository;
 import com.lambdaschool.oktafoundation.models.Role;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+
 
 /**
  * The CRUD Repository connecting Role to the rest of the application
@@ -21,6 +24,7 @@ public interface RoleRepository
 	 *
 	 * @return the first role matching the given name using a case insensitive search
 	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Role findByNameIgnoreCase(String name);
 
 	/**
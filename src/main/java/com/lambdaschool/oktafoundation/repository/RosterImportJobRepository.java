@@ -0,0 +1,25 @@
+package com.lambdaschool.oktafoundation.repository;
+
+
+import com.lambdaschool.oktafoundation.models.RosterImportJob;
+import com.lambdaschool.oktafoundation.models.RosterImportStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+
+public interface RosterImportJobRepository
+		extends CrudRepository<RosterImportJob, Long> {
+
+	/**
+	 * The job with the reasons of its failed rows, which are what a poll renders
+	 */
+	@EntityGraph(attributePaths = "failures")
+	Optional<RosterImportJob> findWithFailuresByJobId(long jobId);
+
+	List<RosterImportJob> findByStatusIn(Collection<RosterImportStatus> statuses);
+
+}
@@ -1,9 +1,15 @@
 package com.lambdaschool.oktafoundation.repository;
 
 
+import com.lambdaschool.oktafoundation.models.TableVersion;
 import com.lambdaschool.oktafoundation.models.Tag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,8 +17,33 @@ import java.util.Optional;
 public interface TagRepository
 		extends CrudRepository<Tag, Long> {
 
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	List<Tag> findByPrograms_program_programId(long programId);
+
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	List<Tag> findByPrograms_program_programName(String programName);
+
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Optional<Tag> findByTitle(String title);
 
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<Tag> findByTagIdGreaterThan(
+			long tagId,
+			Pageable pageable
+	);
+
+	/**
+	 * @return The tag's version, read without loading it. Empty when there is no such tag.
+	 */
+	@Query("SELECT t.version FROM Tag t WHERE t.tagId = :tagId")
+	Optional<Long> findVersionById(long tagId);
+
+	/**
+	 * @return The version of the whole tags table, which every page of /tags (and of /courses, whose
+	 * courses render their tags) is compared by
+	 */
+	@Query("SELECT COUNT(t) AS rowCount, COALESCE(MAX(t.tagId), 0) AS maxId, " +
+	       "COALESCE(SUM(t.version), 0) AS versionSum FROM Tag t")
+	TableVersion findTableVersion();
+
 }
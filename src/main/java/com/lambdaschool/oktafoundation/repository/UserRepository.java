@@ -1,19 +1,30 @@
 package com.lambdaschool.oktafoundation.repository;
 
 
+import com.lambdaschool.oktafoundation.models.RoleType;
+import com.lambdaschool.oktafoundation.models.RosterUser;
 import com.lambdaschool.oktafoundation.models.User;
+import com.lambdaschool.oktafoundation.models.UserRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 /**
  * The CRUD repository connecting User to the rest of the application
  */
 public interface UserRepository
-		extends CrudRepository<User, Long> {
+		extends PagingAndSortingRepository<User, Long> {
 
 	/**
 	 * Find a user based off over username
@@ -33,19 +44,219 @@ public interface UserRepository
 	 *
 	 * @return List of users whose name contain the given substring ignoring case
 	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
 	List<User> findByUsernameContainingIgnoreCase(String name);
 
-	@Query(value = "SELECT * FROM user_courses uc JOIN users u ON uc.user_id = u.user_id WHERE course_id = :courseId",
+	/**
+	 * Ranked full-text search over the username, first name, last name, and email columns of the users table.
+	 * <p>
+	 * Relies on the {@code search_vector} and {@code search_text} columns installed by
+	 * {@code search/postgresql-search.sql}, so this query is PostgreSQL only. The pageable must be unsorted.
+	 *
+	 * @param term     The raw search term, handed to plainto_tsquery
+	 * @param pattern  A lowercased LIKE pattern ("%term%") used for substring matches
+	 * @param pageable The page of results to return
+	 *
+	 * @return A page of users matching the given search term, best match first
+	 */
+	@Query(value = "SELECT u.* FROM users u " +
+	               "WHERE u.search_vector @@ plainto_tsquery('simple', :term) OR u.search_text LIKE :pattern " +
+	               "ORDER BY ts_rank(u.search_vector, plainto_tsquery('simple', :term)) DESC, u.user_id",
+			countQuery = "SELECT count(*) FROM users u " +
+			             "WHERE u.search_vector @@ plainto_tsquery('simple', :term) OR u.search_text LIKE :pattern",
 			nativeQuery = true)
-	List<User> findEnrolledUsers(long courseId);
+	Page<User> searchRanked(
+			String term,
+			String pattern,
+			Pageable pageable
+	);
 
-	@Query(
-			value = "SELECT * FROM users WHERE user_id NOT IN (SELECT user_id FROM user_courses WHERE course_id=:courseId)",
-			nativeQuery = true)
-	List<User> findNotEnrolledUsers(long courseId);
+	/**
+	 * Portable (H2 friendly) substring search over the same columns as
+	 * {@link #searchRanked(String, String, Pageable)}. Results are not ranked.
+	 *
+	 * @param pattern  A lowercased LIKE pattern ("%term%")
+	 * @param pageable The page of results to return
+	 *
+	 * @return A page of users containing the given pattern
+	 */
+	@Query("SELECT u FROM User u " +
+	       "WHERE LOWER(CONCAT(COALESCE(u.username, ''), ' ', COALESCE(u.firstName, ''), ' ', " +
+	       "COALESCE(u.lastName, ''), ' ', COALESCE(u.email, ''))) LIKE :pattern ESCAPE '\\'")
+	Page<User> searchPortable(
+			String pattern,
+			Pageable pageable
+	);
+
+	/**
+	 * Keyset page over every user, in id order
+	 *
+	 * @param userId   The id of the last user the client has seen (0 for the first page)
+	 * @param pageable The page size, sorted by userId
+	 *
+	 * @return The next slice of users after the given id
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<User> findByUserIdGreaterThan(
+			long userId,
+			Pageable pageable
+	);
+
+	@Query("SELECT uc.user FROM UserCourses uc " +
+	       "WHERE uc.course.courseId = :courseId AND uc.user.userId > :afterId ORDER BY uc.user.userId")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<User> findEnrolledUsers(
+			long courseId,
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Keyset page of the users who are NOT attached to the given course and are not ADMIN users (ADMIN users are
+	 * never attached at the course level).
+	 */
+	@Query("SELECT u FROM User u WHERE u.userId > :afterId " +
+	       "AND NOT EXISTS (SELECT uc FROM UserCourses uc WHERE uc.user = u AND uc.course.courseId = :courseId) " +
+	       "AND u.roleType <> com.lambdaschool.oktafoundation.models.RoleType.ADMIN " +
+	       "ORDER BY u.userId")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<User> findNotEnrolledUsers(
+			long courseId,
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Keyset page of the users whose priority role ({@link User#getRole()}) is the given role type. Reads the
+	 * indexed role_type column rather than the user's roles.
+	 *
+	 * @param roleType The priority role to filter by
+	 * @param afterId  The id of the last user the client has seen (0 for the first page)
+	 * @param pageable The page size. Must be unsorted, the ordering lives in the query.
+	 *
+	 * @return The next slice of matching users after the given id
+	 */
+	@Query("SELECT u FROM User u WHERE u.userId > :afterId " +
+	       "AND u.roleType = :roleType " +
+	       "ORDER BY u.userId")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<User> findByPriorityRole(
+			RoleType roleType,
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Same as {@link #findByPriorityRole(RoleType, long, Pageable)}, restricted to the users attached to the given
+	 * course
+	 */
+	@Query("SELECT u FROM User u WHERE u.userId > :afterId " +
+	       "AND EXISTS (SELECT uc FROM UserCourses uc WHERE uc.user = u AND uc.course.courseId = :courseId) " +
+	       "AND u.roleType = :roleType " +
+	       "ORDER BY u.userId")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<User> findEnrolledByPriorityRole(
+			long courseId,
+			RoleType roleType,
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Same as {@link #findByPriorityRole(RoleType, long, Pageable)}, restricted to the users NOT attached to the
+	 * given course
+	 */
+	@Query("SELECT u FROM User u WHERE u.userId > :afterId " +
+	       "AND NOT EXISTS (SELECT uc FROM UserCourses uc WHERE uc.user = u AND uc.course.courseId = :courseId) " +
+	       "AND u.roleType = :roleType " +
+	       "ORDER BY u.userId")
+	@QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+	Slice<User> findNotEnrolledByPriorityRole(
+			long courseId,
+			RoleType roleType,
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * Keyset page of user rows. Only the row columns are selected, roles are never loaded.
+	 *
+	 * @param afterId  The id of the last user the client has seen (0 for the first page)
+	 * @param pageable The page size. Must be unsorted, the ordering lives in the query.
+	 *
+	 * @return The next slice of user rows after the given id
+	 */
+	@Query("SELECT u.userId AS userId, u.username AS username, u.firstName AS firstName, u.lastName AS lastName, " +
+	       "u.email AS email FROM User u WHERE u.userId > :afterId ORDER BY u.userId")
+	Slice<UserRow> findRowsAfter(
+			long afterId,
+			Pageable pageable
+	);
 
-	@Query(value = "SELECT * FROM users u WHERE CONCAT(u.username, ' ', u.first_name, ' ', u.last_name, ' ', u.email) " +
-	               "ILIKE :query ", nativeQuery = true)
-	List<User> search(String query);
+	/**
+	 * Keyset page of user ids. Neither the other columns nor the roles are loaded.
+	 *
+	 * @param afterId  The id of the last user the client has seen (0 for the first page)
+	 * @param pageable The page size. Must be unsorted, the ordering lives in the query.
+	 *
+	 * @return The next slice of ids after the given one
+	 */
+	@Query("SELECT u.userId FROM User u WHERE u.userId > :afterId ORDER BY u.userId")
+	Slice<Long> findIdsAfter(
+			long afterId,
+			Pageable pageable
+	);
+
+	/**
+	 * The users with the given emails, without their roles, courses, or programs
+	 *
+	 * @param emails The emails to look up, a chunk of a roster at a time
+	 *
+	 * @return The users found. Emails that belong to no user are left out.
+	 */
+	@Query("SELECT u.userId AS userId, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, " +
+	       "u.roleType AS roleType FROM User u WHERE u.email IN :emails")
+	List<RosterUser> findRosterUsers(Collection<String> emails);
+
+	/**
+	 * @return Which of the given users are attached to the given course
+	 */
+	@Query("SELECT uc.user.userId FROM UserCourses uc " +
+	       "WHERE uc.course.courseId = :courseId AND uc.user.userId IN :userIds")
+	List<Long> findEnrolledUserIds(
+			long courseId,
+			Collection<Long> userIds
+	);
+
+	/**
+	 * Attaches the given users to the given course in one statement. Pending inserts are flushed first, so the
+	 * users can be ones saved in the same transaction. The users must not be attached to the course already.
+	 *
+	 * @param uname The auditor recorded as having created the rows
+	 *
+	 * @return The number of rows inserted
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(value = "INSERT INTO user_courses (user_id, course_id, created_by, created_date, last_modified_by, " +
+	               "last_modified_date) SELECT u.user_id, :courseId, :uname, CURRENT_TIMESTAMP, :uname, " +
+	               "CURRENT_TIMESTAMP FROM users u WHERE u.user_id IN :userIds", nativeQuery = true)
+	int enrollAll(
+			String uname,
+			long courseId,
+			Collection<Long> userIds
+	);
+
+	/**
+	 * Every user in id order, over a database cursor that reads 500 rows per round trip. Has to be consumed, and
+	 * closed, inside a transaction.
+	 * <p>
+	 * The (EAGER) roles are fetched in the same rows. Left to themselves they would be loaded one user at a time, as
+	 * each user is detached before the next is read. Ordering by id keeps a user's rows together, so Hibernate hands
+	 * out each user once, complete.
+	 */
+	@QueryHints({@QueryHint(name = "org.hibernate.readOnly", value = "true"),
+			@QueryHint(name = "org.hibernate.fetchSize", value = "500")})
+	@Query("SELECT u FROM User u LEFT JOIN FETCH u.roles r LEFT JOIN FETCH r.role ORDER BY u.userId")
+	Stream<User> streamAll();
 
 }
@@ -1,6 +1,10 @@
 /**
  * Contains the links between the database and the application.
  * Typically contains one class for each persistent, database, model.
+ * <p>
+ * Query methods carrying the org.hibernate.readOnly hint load read-only entities: Hibernate keeps no snapshot of
+ * them and never dirty checks them, so changes made to them are not written back. Those methods feed the read-only
+ * service methods behind GET endpoints and must not be used to load something that is about to be modified.
  *
  * @author John Mitchell (john@lambdaschool.com) with Lambda School unless otherwise noted.
  */
@@ -0,0 +1,23 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.CacheStatistics;
+
+import java.util.List;
+
+
+/**
+ * Reports how the Hibernate second-level cache (see ehcache.xml), the principal cache, and the verified token
+ * cache are doing
+ */
+public interface CacheStatisticsService {
+
+	/**
+	 * Returns the statistics of every second-level cache region, including the query cache, followed by those of
+	 * the principal and verified token caches
+	 *
+	 * @return One entry per region, second-level regions sorted by region name
+	 */
+	List<CacheStatistics> findAll();
+
+}
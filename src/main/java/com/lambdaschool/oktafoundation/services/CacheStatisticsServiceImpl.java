@@ -0,0 +1,55 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.config.CachingJwtDecoder;
+import com.lambdaschool.oktafoundation.models.CacheStatistics;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+@Service(value = "cacheStatisticsService")
+public class CacheStatisticsServiceImpl
+		implements CacheStatisticsService {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Autowired
+	private CachingJwtDecoder jwtDecoder;
+
+	@Override
+	public List<CacheStatistics> findAll() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+				.getStatistics();
+
+		String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+		Arrays.sort(regionNames);
+
+		List<CacheStatistics> regions = new ArrayList<>();
+		for (String regionName : regionNames) {
+			CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+			if (region != null) {
+				regions.add(new CacheStatistics(regionName,
+						region.getHitCount(),
+						region.getMissCount(),
+						region.getPutCount()
+				));
+			}
+		}
+		regions.add(principalCache.getStatistics());
+		regions.add(jwtDecoder.getStatistics());
+		return regions;
+	}
+
+}
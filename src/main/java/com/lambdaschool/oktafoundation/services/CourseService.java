@@ -2,7 +2,13 @@ package com.lambdaschool.oktafoundation.services;
 
 
 import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.CourseCard;
+import com.lambdaschool.oktafoundation.utils.StreamConsumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
 import java.util.List;
 
 
@@ -10,10 +16,26 @@ public interface CourseService {
 
 	List<Course> findAll();
 
-	List<Course> findRelevant(String query);
+	Slice<Course> findAllAfter(
+			long courseId,
+			int size
+	);
+
+	Page<Course> findRelevant(
+			String query,
+			Pageable pageable
+	);
 
 	List<Course> findByUser(long userId);
 
+	/**
+	 * @param userId The user in question
+	 * @return Every course the given user is not attached to
+	 */
+	List<Course> findNotByUser(long userId);
+
+	List<Course> findByProgram(long programId);
+
 	Course findCourseById(long courseId);
 
 	Course get(long courseId);
@@ -37,6 +59,44 @@ public interface CourseService {
 			Course course
 	);
 
+	Slice<CourseCard> findCardsAfter(
+			long courseId,
+			int size
+	);
+
+	Slice<Long> findIdsAfter(
+			long courseId,
+			int size
+	);
+
+	/**
+	 * @param courseId The course
+	 * @return An opaque version of everything the course renders (its row, its tag, its enrollment counts), read
+	 * without loading it. Throws CourseNotFoundException if there is no such course.
+	 */
+	String findVersion(long courseId);
+
+	/**
+	 * @param courseId The id of the last course before the page (0 for the first page)
+	 * @param size     The page size
+	 * @return An opaque version of the page of /courses findAllAfter returns for the same arguments: of each course on
+	 * it as findVersion has it, and of whether a page follows. Read without loading the courses.
+	 */
+	String findPageVersion(
+			long courseId,
+			int size
+	);
+
+	/**
+	 * Hands every course, in id order, to the consumer as a stream over a database cursor. The stream is only good
+	 * until the consumer returns.
+	 *
+	 * @param consumer Reads the courses, e.g. to write them out as they come
+	 * @throws IOException if the consumer throws it
+	 */
+	void streamAll(StreamConsumer<Course> consumer)
+	throws IOException;
+
 	void delete(long courseId);
 
 	void deleteAll();
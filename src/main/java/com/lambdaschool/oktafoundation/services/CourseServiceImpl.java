@@ -3,19 +3,31 @@ package com.lambdaschool.oktafoundation.services;
 
 import com.lambdaschool.oktafoundation.exceptions.CourseNotFoundException;
 import com.lambdaschool.oktafoundation.exceptions.ProgramNotFoundException;
+import com.lambdaschool.oktafoundation.models.Caller;
 import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.CourseCard;
+import com.lambdaschool.oktafoundation.models.CourseVersion;
 import com.lambdaschool.oktafoundation.models.Module;
 import com.lambdaschool.oktafoundation.models.Program;
 import com.lambdaschool.oktafoundation.models.RoleType;
-import com.lambdaschool.oktafoundation.models.User;
 import com.lambdaschool.oktafoundation.models.UserCourses;
 import com.lambdaschool.oktafoundation.repository.CourseRepository;
+import com.lambdaschool.oktafoundation.utils.ETags;
+import com.lambdaschool.oktafoundation.utils.StreamConsumer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service(value = "courseServices")
@@ -32,6 +44,13 @@ public class CourseServiceImpl
 	@Autowired
 	private HelperFunctions helperFunctions;
 
+	@Autowired
+	private SearchService searchService;
+
+	@Autowired
+	private EnrollmentCountService enrollmentCountService;
+
+	@Transactional(readOnly = true)
 	@Override
 	public List<Course> findAll() {
 		List<Course> courses = new ArrayList<>();
@@ -43,11 +62,80 @@ public class CourseServiceImpl
 		return courses;
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<Course> findAllAfter(
+			long courseId,
+			int size
+	) {
+		return courseRepository.findByCourseIdGreaterThan(courseId, PageRequest.of(0, size, Sort.by("courseId")));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<CourseCard> findCardsAfter(
+			long courseId,
+			int size
+	) {
+		return courseRepository.findCardsAfter(courseId, PageRequest.of(0, size));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<Long> findIdsAfter(
+			long courseId,
+			int size
+	) {
+		return courseRepository.findIdsAfter(courseId, PageRequest.of(0, size));
+	}
+
+	@Transactional(readOnly = true)
 	@Override
-	public List<Course> findRelevant(String query) {
-		List<Course> courses     = new ArrayList<>();
-		User         callingUser = helperFunctions.getCallingUser();
-		RoleType     callingRole = callingUser.getRole();
+	public String findVersion(long courseId)
+	throws CourseNotFoundException {
+		return courseRepository.findVersionById(courseId)
+				.map(CourseVersion::asString)
+				.orElseThrow(() -> new CourseNotFoundException(courseId));
+	}
+
+	/**
+	 * Versioned by its own rows rather than by the whole table, which would take an aggregate over courses, tags and
+	 * enrollmentCounts on every request
+	 */
+	@Transactional(readOnly = true)
+	@Override
+	public String findPageVersion(
+			long courseId,
+			int size
+	) {
+		Slice<CourseVersion> page = courseRepository.findVersionsAfter(courseId, PageRequest.of(0, size));
+
+		List<String> rows = page.stream()
+				.map(row -> row.getCourseId() + ":" + row.asString())
+				.collect(Collectors.toList());
+		if (page.hasNext()) {
+			rows.add("next");
+		}
+		return ETags.digest(rows);
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public void streamAll(StreamConsumer<Course> consumer)
+	throws IOException {
+		try (Stream<Course> courses = courseRepository.streamAll()) {
+			consumer.accept(courses);
+		}
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Page<Course> findRelevant(
+			String query,
+			Pageable pageable
+	) {
+		Caller   callingUser = helperFunctions.getCaller();
+		RoleType callingRole = callingUser.getPriorityRole();
 
 		// switch based on the role of the calling user
 		switch (callingRole) {
@@ -58,13 +146,9 @@ public class CourseServiceImpl
 			case TEACHER: // stacking case statements is how you merge cases in Java
 			case STUDENT: // stacking case statements is how you merge cases in Java
 				if (query != null) {
-					courseRepository.search(callingUser.getUserId(), query)
-							.iterator()
-							.forEachRemaining(courses::add);
-				} else {
-					return findByUser(callingUser.getUserId());
+					return searchService.searchCourses(callingUser.getUserId(), query, pageable);
 				}
-				break;
+				return courseRepository.findCoursesByUserId(callingUser.getUserId(), byCourseId(pageable));
 			// if the calling user is an ADMIN, we want to return all courses in the system.
 			// OR DEFAULT -- if somehow the calling user doesn't have a role, we're currently
 			// defaulting to all the courses in the system!
@@ -72,24 +156,40 @@ public class CourseServiceImpl
 			case ADMIN:
 			default:
 				if (query != null) {
-					courseRepository.search(query)
-							.iterator()
-							.forEachRemaining(courses::add);
-				} else {
-					return findAll();
+					return searchService.searchCourses(query, pageable);
 				}
-				break;
+				return courseRepository.findAll(byCourseId(pageable));
 		}
-		// return the courses that are relevant to this user!!
-		// if we reach this line, it means the user DID provide a query!
-		return courses;
 	}
 
+	/**
+	 * Unfiltered listings are ordered by id so that pages don't shift underneath the client
+	 */
+	private static Pageable byCourseId(Pageable pageable) {
+		return pageable.isPaged()
+		       ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("courseId"))
+		       : pageable;
+	}
+
+	@Transactional(readOnly = true)
 	@Override
 	public List<Course> findByUser(long userId) {
 		return new ArrayList<>(courseRepository.findCoursesByUserId(userId));
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public List<Course> findNotByUser(long userId) {
+		return courseRepository.findAntiCoursesByUserId(userId);
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public List<Course> findByProgram(long programId) {
+		return courseRepository.findCoursesByProgram_ProgramId(programId);
+	}
+
+	@Transactional(readOnly = true)
 	@Override
 	public Course findCourseById(long courseId)
 	throws CourseNotFoundException {
@@ -110,6 +210,7 @@ public class CourseServiceImpl
 				.orElseThrow(() -> new CourseNotFoundException(courseName));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public List<Course> findByTag(String tagTitle) {
 		List<Course> courses = new ArrayList<>();
@@ -150,8 +251,10 @@ public class CourseServiceImpl
 	throws ProgramNotFoundException, CourseNotFoundException {
 		Course newCourse = new Course();
 		if (course.getCourseId() != 0) {
-			findCourseById(course.getCourseId()); // throws if course not found
+			Course oldCourse = findCourseById(course.getCourseId()); // throws if course not found
 			newCourse.setCourseId(course.getCourseId());
+			// merging a replacement with any other version than the row's is an optimistic lock failure
+			newCourse.setVersion(oldCourse.getVersion());
 		}
 		newCourse.setCourseName(course.getCourseName());
 		newCourse.setCourseDescription(course.getCourseDescription());
@@ -175,7 +278,12 @@ public class CourseServiceImpl
 			newCourse.getUsers()
 					.add(new UserCourses(userCourse.getUser(), newCourse));
 		}
-		return courseRepository.save(newCourse);
+		newCourse = courseRepository.save(newCourse);
+		if (course.getCourseId() != 0 || !newCourse.getUsers()
+				.isEmpty()) {
+			enrollmentCountService.recount(List.of(newCourse.getCourseId()));
+		}
+		return newCourse;
 	}
 
 	@Override
@@ -202,6 +310,7 @@ public class CourseServiceImpl
 	throws CourseNotFoundException {
 		findCourseById(courseId); // throws if Course not found
 		courseRepository.deleteById(courseId);
+		enrollmentCountService.recount(List.of(courseId));
 	}
 
 	@Override
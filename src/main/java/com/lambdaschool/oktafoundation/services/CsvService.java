@@ -1,15 +1,34 @@
 package com.lambdaschool.oktafoundation.services;
 
 
+import com.lambdaschool.oktafoundation.models.RosterImportJob;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+
 
 public interface CsvService {
 
-	void save(MultipartFile file);
-	void save(
+	/**
+	 * Queues a roster for import in the background: a user for each row who does not have one yet (in our database
+	 * and in Okta), enrolled in the course when there is one.
+	 *
+	 * @param file     The roster, with a header row
+	 * @param courseId The course to enroll everyone in, or null
+	 * @return The job, to poll for progress. FAILED right away when too many imports are already queued.
+	 * @throws IOException When the upload cannot be handed over to the job
+	 */
+	RosterImportJob importRoster(
 			MultipartFile file,
-			long courseId
-	);
+			Long courseId
+	)
+	throws IOException;
+
+	/**
+	 * @param jobId The job
+	 * @return The job with its failures. Throws ResourceNotFoundException if there is no such job, or if the caller
+	 * is neither an admin nor whoever submitted it.
+	 */
+	RosterImportJob findImportJobById(long jobId);
 
 }
@@ -1,31 +1,81 @@
 package com.lambdaschool.oktafoundation.services;
 
 
-import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.exceptions.ResourceNotFoundException;
+import com.lambdaschool.oktafoundation.models.OktaProvisioningTask;
 import com.lambdaschool.oktafoundation.models.Role;
 import com.lambdaschool.oktafoundation.models.RoleType;
+import com.lambdaschool.oktafoundation.models.RosterImportFailure;
+import com.lambdaschool.oktafoundation.models.RosterImportJob;
+import com.lambdaschool.oktafoundation.models.RosterImportStatus;
+import com.lambdaschool.oktafoundation.models.RosterUser;
 import com.lambdaschool.oktafoundation.models.User;
-import com.lambdaschool.oktafoundation.models.UserCourses;
 import com.lambdaschool.oktafoundation.models.UserRoles;
+import com.lambdaschool.oktafoundation.repository.RosterImportJobRepository;
+import com.lambdaschool.oktafoundation.repository.UserRepository;
 import com.lambdaschool.oktafoundation.utils.CsvHelper;
+import com.lambdaschool.oktafoundation.utils.CsvReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 
+/**
+ * Imports rosters in the background, on a fixed number of importer threads with a bounded queue of waiting jobs.
+ * <p>
+ * The upload is moved out of the request into a file of the job's own (the servlet container already has it on
+ * disk, so this is a rename) and read back a row at a time. Rows are imported in chunks, one transaction each, and
+ * the job's counts are committed with the chunk they describe. When a row fails it takes its chunk's transaction
+ * with it, so the chunk is then imported again a row per transaction, to keep the good rows and record the bad ones.
+ */
 @Service
 public class CsvServiceImpl
 		implements CsvService {
 
+	private static final Logger logger = LoggerFactory.getLogger(CsvServiceImpl.class);
+
+	@Autowired
+	private OktaProvisioningService oktaProvisioningService;
+
 	@Autowired
-	private UserService userService;
+	private UserRepository userRepository;
 
 	@Autowired
-	private OktaSDKService okta;
+	private UserAuditing userAuditing;
 
 	@Autowired
 	private RoleService roleService;
@@ -33,69 +83,298 @@ public class CsvServiceImpl
 	@Autowired
 	private CourseService courseService;
 
+	@Autowired
+	private EnrollmentCountService enrollmentCountService;
+
+	@Autowired
+	private RosterImportJobRepository rosterImportJobRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${roster-import.threads:2}")
+	private int threads;
+
+	@Value("${roster-import.queue-capacity:20}")
+	private int queueCapacity;
+
+	@Value("${roster-import.chunk-size:500}")
+	private int chunkSize;
+
+	private TransactionTemplate transactions;
+
+	private ThreadPoolExecutor importer;
+
+	@PostConstruct
+	void startImporter() {
+		transactions = new TransactionTemplate(transactionManager);
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		importer = new ThreadPoolExecutor(threads,
+				threads,
+				0,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				runnable -> {
+					Thread thread = new Thread(runnable, "roster-import-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+		);
+	}
+
+	@PreDestroy
+	void stopImporter() {
+		importer.shutdownNow();
+	}
+
+	/**
+	 * Jobs that were queued or running when the application last stopped will not be picked up again
+	 */
+	@EventListener(ApplicationStartedEvent.class)
+	public void failInterruptedJobs() {
+		transactions.executeWithoutResult(status -> {
+			EnumSet<RosterImportStatus> unfinished = EnumSet.of(RosterImportStatus.QUEUED, RosterImportStatus.RUNNING);
+			for (RosterImportJob job : rosterImportJobRepository.findByStatusIn(unfinished)) {
+				job.fail("Interrupted by a restart, please upload the roster again");
+			}
+		});
+	}
+
 	@Override
-	public void save(MultipartFile file) {
-		Role studentRole = roleService.findByName(RoleType.STUDENT.name());
+	public RosterImportJob importRoster(
+			MultipartFile file,
+			Long courseId
+	)
+	throws IOException {
+		if (courseId != null) {
+			courseService.findCourseById(courseId);
+		}
+
+		Authentication  authentication = SecurityContextHolder.getContext()
+				.getAuthentication();
+		RosterImportJob job            = rosterImportJobRepository.save(new RosterImportJob(courseId,
+				file.getOriginalFilename(),
+				authentication == null ? null : authentication.getName()
+		));
+
+		Path roster = Files.createTempFile("roster-import-" + job.getJobId() + "-", ".csv");
 		try {
-			List<User> users = CsvHelper.csvToStudents(file);
-			for (User user : users) {
-				// Check if this user exists in our DB. (If not, create)
-				Optional<User> existingUser = userService.findByEmail(user.getEmail());
-				if (existingUser.isEmpty()) {
-					user.getRoles()
-							.add(new UserRoles(user, studentRole));
-					user = userService.save(user);
-				}
-				// Check if this user exists in Okta. (If not, create)
-				if (!okta.containsUser(user.getEmail())) {
-					okta.createOktaUser(user);
-				}
+			file.transferTo(roster);
+			// the job saves users as whoever uploaded the roster
+			importer.execute(new DelegatingSecurityContextRunnable(() -> runJob(job.getJobId(), roster)));
+		} catch (RejectedExecutionException e) {
+			Files.deleteIfExists(roster);
+			job.fail("Too many roster imports are waiting, please try again later");
+			return rosterImportJobRepository.save(job);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(roster);
+			job.fail(e.getMessage());
+			rosterImportJobRepository.save(job);
+			throw e;
+		}
+		return job;
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public RosterImportJob findImportJobById(long jobId) {
+		return rosterImportJobRepository.findWithFailuresByJobId(jobId)
+				.filter(this::isVisibleToCaller)
+				.orElseThrow(() -> new ResourceNotFoundException("Roster import job id " + jobId + " not found!"));
+	}
+
+	/**
+	 * A job names who submitted it and keeps the failed rows, student emails included, so only an admin or the
+	 * submitter may read it. Job ids are easy to guess, so to anyone else the job does not exist.
+	 */
+	private boolean isVisibleToCaller(RosterImportJob job) {
+		Authentication authentication = SecurityContextHolder.getContext()
+				.getAuthentication();
+		if (authentication == null) {
+			return false;
+		}
+		return authentication.getName()
+				.equalsIgnoreCase(job.getSubmittedBy()) || authentication.getAuthorities()
+				.contains(new SimpleGrantedAuthority("ROLE_" + RoleType.ADMIN.name()));
+	}
+
+	private void runJob(
+			long jobId,
+			Path roster
+	) {
+		try {
+			Long            courseId = updateJob(jobId, RosterImportJob::start).getCourseId();
+			List<RosterRow> chunk    = new ArrayList<>(chunkSize);
+			try (CsvReader reader = CsvReader.of(Files.newInputStream(roster))) {
+				reader.forEach(1, fields -> {
+					chunk.add(new RosterRow(reader.getRowNumber(), fields));
+					if (chunk.size() == chunkSize) {
+						importChunk(jobId, courseId, chunk);
+						chunk.clear();
+					}
+				});
+			}
+			if (!chunk.isEmpty()) {
+				importChunk(jobId, courseId, chunk);
 			}
-		} catch (IOException e) {
-			throw new RuntimeException("Failure store CSV data: " + e.getMessage());
+			updateJob(jobId, RosterImportJob::succeed);
 		} catch (Exception e) {
-			e.printStackTrace();
+			logger.error("Roster import job {} failed", jobId, e);
+			updateJob(jobId, job -> job.fail(e.getMessage()));
+		} finally {
+			try {
+				Files.deleteIfExists(roster);
+			} catch (IOException e) {
+				logger.warn("Could not delete the roster of import job {} at {}", jobId, roster, e);
+			}
 		}
 	}
 
-	@Override
-	public void save(
-			MultipartFile file,
-			long courseId
+	private void importChunk(
+			long jobId,
+			Long courseId,
+			List<RosterRow> rows
 	) {
-		Role   studentRole    = roleService.findByName(RoleType.STUDENT.name());
-		Course relevantCourse = courseService.findCourseById(courseId);
 		try {
-			List<User> users = CsvHelper.csvToStudents(file);
-			for (User user : users) {
-				// we should check to see:
-				// Check If this user exists in our DB. (If not, create)
-				Optional<User> optional = userService.findByEmail(user.getEmail());
-				if (optional.isEmpty()) {
-					user.getRoles()
-							.add(new UserRoles(user, studentRole));
-					user = userService.save(user);
-				} else {
-					user = optional.get();
-				}
-				// Check if this user exists in Okta. (If not, create)
-				if (!okta.containsUser(user.getEmail())) {
-					okta.createOktaUser(user);
-				}
-				// Check if this user is already attached to this course. (If not, attach)
-				if (!user.getCourses()
-						.contains(new UserCourses(user, relevantCourse))) {
-					user.getCourses()
-							.add(new UserCourses(user, relevantCourse));
-					userService.save(user);
+			transactions.executeWithoutResult(status -> {
+				Tally tally = new Tally();
+				importRows(rows, courseId, tally);
+				findJob(jobId).addChunk(rows.size(), tally.created, tally.enrolled, tally.failures);
+			});
+		} catch (RuntimeException chunkFailed) {
+			Tally tally = new Tally();
+			for (RosterRow row : rows) {
+				Tally rowTally = new Tally();
+				try {
+					transactions.executeWithoutResult(status -> importRows(List.of(row), courseId, rowTally));
+					tally.created  += rowTally.created;
+					tally.enrolled += rowTally.enrolled;
+				} catch (RuntimeException e) {
+					String email  = row.fields.length > 0 ? row.fields[0] : null;
+					String reason = e.getMessage() != null ? e.getMessage() : e.getClass()
+							.getName();
+					tally.failures.add(new RosterImportFailure(row.number, email, reason));
 				}
+			}
+			updateJob(jobId, job -> job.addChunk(rows.size(), tally.created, tally.enrolled, tally.failures));
+		}
+	}
 
+	/**
+	 * Creates each row's user, here and (through the provisioning outbox) in Okta, unless they already exist, and
+	 * enrolls them in the course if there is one. Runs in the caller's transaction.
+	 * <p>
+	 * The database work is a handful of statements however long the chunk is: one lookup of the chunk's emails,
+	 * batched inserts of the missing users and their roles, one lookup of who is in the course already, one insert
+	 * of everyone who is not, a counter update per role, and batched inserts of the Okta provisioning tasks.
+	 */
+	private void importRows(
+			List<RosterRow> rows,
+			Long courseId,
+			Tally tally
+	) {
+		// a roster that lists an email twice gets the first of its rows
+		Map<String, User> newStudents = new LinkedHashMap<>();
+		for (RosterRow row : rows) {
+			User student = CsvHelper.toStudent(row.fields);
+			newStudents.putIfAbsent(student.getEmail(), student);
+		}
+
+		// everyone is checked in Okta, and created there if missing, once the chunk commits
+		List<OktaProvisioningTask> oktaTasks = new ArrayList<>(newStudents.size());
+		Map<Long, RoleType>        roleTypes = new HashMap<>();
+		for (RosterUser user : userRepository.findRosterUsers(newStudents.keySet())) {
+			newStudents.remove(user.getEmail());
+			roleTypes.put(user.getUserId(), user.getRoleType());
+			oktaTasks.add(new OktaProvisioningTask(user.getEmail(),
+					user.getFirstName(),
+					user.getLastName(),
+					user.getRoleType()
+			));
+		}
+		Set<Long> alreadyEnrolled = courseId == null || roleTypes.isEmpty()
+		                            ? Set.of()
+		                            : new HashSet<>(userRepository.findEnrolledUserIds(courseId, roleTypes.keySet()));
+
+		// whoever is left is not in our DB yet
+		if (!newStudents.isEmpty()) {
+			Role studentRole = roleService.findByName(RoleType.STUDENT.name());
+			for (User student : newStudents.values()) {
+				student.setUsername(student.getUsername()
+						.toLowerCase());
+				student.getRoles()
+						.add(new UserRoles(student, studentRole));
+				student.refreshRole();
+			}
+			for (User user : userRepository.saveAll(newStudents.values())) {
+				roleTypes.put(user.getUserId(), user.getRole());
+				oktaTasks.add(new OktaProvisioningTask(user));
+			}
+			tally.created += newStudents.size();
+		}
+		oktaProvisioningService.provision(oktaTasks);
+
+		if (courseId != null) {
+			roleTypes.keySet()
+					.removeAll(alreadyEnrolled);
+			if (!roleTypes.isEmpty()) {
+				userRepository.enrollAll(userAuditing.getCurrentAuditor()
+						.get(), courseId, roleTypes.keySet());
+				Map<RoleType, Long> perRole = new EnumMap<>(RoleType.class);
+				roleTypes.values()
+						.stream()
+						.filter(Objects::nonNull)
+						.forEach(roleType -> perRole.merge(roleType, 1L, Long::sum));
+				perRole.forEach((roleType, enrolled) -> enrollmentCountService.increment(courseId, roleType, enrolled));
+				tally.enrolled += roleTypes.size();
 			}
-		} catch (IOException e) {
-			throw new RuntimeException("Failure to store CSV data: " + e.getMessage());
-		} catch (Exception e) {
-			e.printStackTrace();
 		}
 	}
 
+	private RosterImportJob updateJob(
+			long jobId,
+			Consumer<RosterImportJob> change
+	) {
+		return transactions.execute(status -> {
+			RosterImportJob job = findJob(jobId);
+			change.accept(job);
+			return job;
+		});
+	}
+
+	private RosterImportJob findJob(long jobId) {
+		return rosterImportJobRepository.findById(jobId)
+				.orElseThrow(() -> new ResourceNotFoundException("Roster import job id " + jobId + " not found!"));
+	}
+
+	private static class RosterRow {
+
+		final long number;
+
+		final String[] fields;
+
+		RosterRow(
+				long number,
+				String[] fields
+		) {
+			this.number = number;
+			this.fields = fields;
+		}
+
+	}
+
+	/**
+	 * What a chunk (or a row) did, added to its job once committed
+	 */
+	private static class Tally {
+
+		long created;
+
+		long enrolled;
+
+		final List<RosterImportFailure> failures = new ArrayList<>();
+
+	}
+
 }
@@ -0,0 +1,62 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.RoleType;
+
+import java.util.Collection;
+import java.util.Map;
+
+
+/**
+ * Keeps the per-course, per-role enrollment counters (see
+ * {@link com.lambdaschool.oktafoundation.models.EnrollmentCount EnrollmentCount}) in step with user_courses.
+ * <p>
+ * Every method joins the caller's transaction, so a counter changes if and only if the enrollment it counts does.
+ */
+public interface EnrollmentCountService {
+
+	/**
+	 * Records that a user with the given priority role was enrolled in the given course. ADMIN users are not
+	 * enrolled at the course level, so they are ignored.
+	 */
+	void increment(
+			long courseId,
+			RoleType role
+	);
+
+	/**
+	 * Records that the given number of users with the given priority role were enrolled in the given course, with
+	 * one statement rather than one per user
+	 */
+	void increment(
+			long courseId,
+			RoleType role,
+			long enrolled
+	);
+
+	/**
+	 * Records that a user with the given priority role was removed from the given course
+	 */
+	void decrement(
+			long courseId,
+			RoleType role
+	);
+
+	/**
+	 * Recomputes the counters of the given courses from user_courses. For changes that are not a single
+	 * enrollment, like a user's role changing or a roster being rewritten wholesale.
+	 *
+	 * @param courseIds The courses whose counters to recompute
+	 */
+	void recount(Collection<Long> courseIds);
+
+	/**
+	 * Returns the number of users enrolled in the given course, per priority role
+	 *
+	 * @param courseId The course to count
+	 *
+	 * @return Counts keyed by role. Roles with nobody enrolled are absent.
+	 */
+	Map<RoleType, Long> findByCourseId(long courseId);
+
+}
@@ -0,0 +1,133 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.EnrollmentCount;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import com.lambdaschool.oktafoundation.repository.EnrollmentCountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+@Transactional
+@Service(value = "enrollmentCountService")
+public class EnrollmentCountServiceImpl
+		implements EnrollmentCountService {
+
+	@Autowired
+	private EnrollmentCountRepository enrollmentCountRepository;
+
+	/**
+	 * The property from application properties. Defaults to H2
+	 */
+	@Value("${local.run.db:H2}")
+	private String dbValue;
+
+	@Override
+	public void increment(
+			long courseId,
+			RoleType role
+	) {
+		increment(courseId, role, 1);
+	}
+
+	@Override
+	public void increment(
+			long courseId,
+			RoleType role,
+			long enrolled
+	) {
+		if (role == null || role == RoleType.ADMIN || enrolled == 0) {
+			return;
+		}
+		addToCount(courseId, role, enrolled);
+	}
+
+	@Override
+	public void decrement(
+			long courseId,
+			RoleType role
+	) {
+		if (role == null || role == RoleType.ADMIN) {
+			return;
+		}
+		enrollmentCountRepository.addToCount(courseId, role, -1);
+	}
+
+	@Override
+	public void recount(Collection<Long> courseIds) {
+		if (courseIds.isEmpty()) {
+			return;
+		}
+		enrollmentCountRepository.deleteByCourseIds(courseIds);
+		for (EnrollmentCount count : tally(enrollmentCountRepository.findEnrolledRoles(courseIds))) {
+			addToCount(count.getCourseId(), count.getRole(), count.getEnrolled());
+		}
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Map<RoleType, Long> findByCourseId(long courseId) {
+		Map<RoleType, Long> counts = new EnumMap<>(RoleType.class);
+		for (EnrollmentCount count : enrollmentCountRepository.findByCourseId(courseId)) {
+			if (count.getEnrolled() > 0) {
+				counts.put(count.getRole(), count.getEnrolled());
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Adds to a counter, creating it if need be, in one statement
+	 */
+	private void addToCount(
+			long courseId,
+			RoleType role,
+			long enrolled
+	) {
+		if (isPostgres()) {
+			enrollmentCountRepository.upsertCount(courseId, role.ordinal(), enrolled);
+		} else {
+			enrollmentCountRepository.mergeCount(courseId, role.ordinal(), enrolled);
+		}
+	}
+
+	private boolean isPostgres() {
+		return dbValue.equalsIgnoreCase("POSTGRESQL");
+	}
+
+	/**
+	 * Turns (course id, user id, role type) rows into counters, counting each user once per course under their
+	 * highest role
+	 */
+	static List<EnrollmentCount> tally(List<Object[]> enrolledRoles) {
+		Map<Long, Map<Long, RoleType>> priorityRoles = new HashMap<>();
+		for (Object[] row : enrolledRoles) {
+			RoleType role = (RoleType) row[2];
+			if (role != null) {
+				priorityRoles.computeIfAbsent((Long) row[0], courseId -> new HashMap<>())
+						.merge((Long) row[1], role, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+			}
+		}
+
+		List<EnrollmentCount> counts = new ArrayList<>();
+		priorityRoles.forEach((courseId, users) -> {
+			Map<RoleType, Long> perRole = new EnumMap<>(RoleType.class);
+			users.values()
+					.stream()
+					.filter(role -> role != RoleType.ADMIN)
+					.forEach(role -> perRole.merge(role, 1L, Long::sum));
+			perRole.forEach((role, enrolled) -> counts.add(new EnrollmentCount(courseId, role, enrolled)));
+		});
+		return counts;
+	}
+
+}
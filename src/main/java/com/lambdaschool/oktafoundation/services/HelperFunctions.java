@@ -1,6 +1,7 @@
 package com.lambdaschool.oktafoundation.services;
 
 
+import com.lambdaschool.oktafoundation.models.Caller;
 import com.lambdaschool.oktafoundation.models.RoleType;
 import com.lambdaschool.oktafoundation.models.User;
 import com.lambdaschool.oktafoundation.models.ValidationError;
@@ -37,6 +38,14 @@ public interface HelperFunctions {
 
 	User getCallingUser();
 
+	/**
+	 * The snapshot of the calling user that JwtAuthenticationFilter put into the security context. Reading it costs
+	 * nothing, so prefer it (or getCurrentPriorityRole) over getCallingUser when the id, name, or role is enough.
+	 *
+	 * @return The user making the current request
+	 */
+	Caller getCaller();
+
 	// THIS may be a good/simple/customizable solution to adding
 	// some granularity & consistency to the permissions in our app
 	//
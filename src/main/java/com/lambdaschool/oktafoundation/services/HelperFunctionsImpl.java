@@ -2,6 +2,7 @@ package com.lambdaschool.oktafoundation.services;
 
 
 import com.lambdaschool.oktafoundation.exceptions.ResourceNotFoundException;
+import com.lambdaschool.oktafoundation.models.Caller;
 import com.lambdaschool.oktafoundation.models.RoleType;
 import com.lambdaschool.oktafoundation.models.User;
 import com.lambdaschool.oktafoundation.models.ValidationError;
@@ -95,6 +96,12 @@ public class HelperFunctionsImpl
 		Authentication authentication = SecurityContextHolder.getContext()
 				.getAuthentication();
 
+		if (authentication.getPrincipal() instanceof Caller) {
+			RoleType priorityRole = ((Caller) authentication.getPrincipal()).getPriorityRole();
+			// a user without any role falls back to the same default as below
+			return priorityRole != null ? priorityRole : RoleType.ADMIN;
+		}
+
 		Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
 
 		if (authorities.contains(new SimpleGrantedAuthority(RoleType.ADMIN.name()))) {
@@ -114,7 +121,21 @@ public class HelperFunctionsImpl
 	public User getCallingUser() {
 		Authentication authentication = SecurityContextHolder.getContext()
 				.getAuthentication();
+		if (authentication.getPrincipal() instanceof Caller) {
+			return userService.findUserById(((Caller) authentication.getPrincipal()).getUserId());
+		}
 		return userService.findByName(authentication.getName());
 	}
 
+	@Override
+	public Caller getCaller() {
+		Authentication authentication = SecurityContextHolder.getContext()
+				.getAuthentication();
+		if (authentication.getPrincipal() instanceof Caller) {
+			return (Caller) authentication.getPrincipal();
+		}
+		// not authenticated through JwtAuthenticationFilter, e.g. a test's mock user
+		return Caller.of(userService.findByName(authentication.getName()));
+	}
+
 }
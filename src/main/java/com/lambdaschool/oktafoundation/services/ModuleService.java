@@ -2,7 +2,11 @@ package com.lambdaschool.oktafoundation.services;
 
 
 import com.lambdaschool.oktafoundation.models.Module;
+import com.lambdaschool.oktafoundation.models.ModuleHeader;
+import com.lambdaschool.oktafoundation.utils.StreamConsumer;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
 import java.util.List;
 
 
@@ -10,6 +14,11 @@ public interface ModuleService {
 
 	List<Module> findAll();
 
+	Slice<Module> findAllAfter(
+			long moduleId,
+			int size
+	);
+
 	Module find(long moduleId);
 
 	Module find(String name);
@@ -17,6 +26,8 @@ public interface ModuleService {
 
 	Module findModulesById(long id);
 
+	List<Module> findByCourse(long courseId);
+
 	void replaceMarkdown(
 			Long moduleId,
 			String markdown
@@ -32,6 +43,34 @@ public interface ModuleService {
 			Module module
 	);
 
+	Slice<ModuleHeader> findHeadersAfter(
+			long moduleId,
+			int size
+	);
+
+	Slice<Long> findIdsAfter(
+			long moduleId,
+			int size
+	);
+
+	/**
+	 * @param moduleId The module
+	 * @return Its version, read without loading it (or its content). Throws ModuleNotFoundException if there is no
+	 * such module.
+	 */
+	String findVersion(long moduleId);
+
+	/**
+	 * @return The version of the modules table as a whole
+	 */
+	String findListVersion();
+
+	/**
+	 * Same as CourseService.streamAll, for modules
+	 */
+	void streamAll(StreamConsumer<Module> consumer)
+	throws IOException;
+
 	void delete(long id);
 
 	void deleteAll();
@@ -5,13 +5,20 @@ import com.lambdaschool.oktafoundation.exceptions.CourseNotFoundException;
 import com.lambdaschool.oktafoundation.exceptions.ModuleNotFoundException;
 import com.lambdaschool.oktafoundation.models.Course;
 import com.lambdaschool.oktafoundation.models.Module;
+import com.lambdaschool.oktafoundation.models.ModuleHeader;
 import com.lambdaschool.oktafoundation.repository.ModuleRepository;
+import com.lambdaschool.oktafoundation.utils.StreamConsumer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 @Transactional
@@ -25,6 +32,7 @@ public class ModuleServiceImpl
 	@Autowired
 	private CourseService courseService;
 
+	@Transactional(readOnly = true)
 	@Override
 	public List<Module> findAll() {
 		List<Module> modules = new ArrayList<>();
@@ -34,6 +42,58 @@ public class ModuleServiceImpl
 		return modules;
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<Module> findAllAfter(
+			long moduleId,
+			int size
+	) {
+		return moduleRepository.findByModuleIdGreaterThan(moduleId, PageRequest.of(0, size, Sort.by("moduleId")));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<ModuleHeader> findHeadersAfter(
+			long moduleId,
+			int size
+	) {
+		return moduleRepository.findHeadersAfter(moduleId, PageRequest.of(0, size));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<Long> findIdsAfter(
+			long moduleId,
+			int size
+	) {
+		return moduleRepository.findIdsAfter(moduleId, PageRequest.of(0, size));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public String findVersion(long moduleId)
+	throws ModuleNotFoundException {
+		return moduleRepository.findVersionById(moduleId)
+				.map(String::valueOf)
+				.orElseThrow(() -> new ModuleNotFoundException(moduleId));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public String findListVersion() {
+		return moduleRepository.findTableVersion()
+				.asString();
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public void streamAll(StreamConsumer<Module> consumer)
+	throws IOException {
+		try (Stream<Module> modules = moduleRepository.streamAll()) {
+			consumer.accept(modules);
+		}
+	}
+
 	@Override
 	public Module find(long moduleId)
 	throws ModuleNotFoundException {
@@ -48,10 +108,18 @@ public class ModuleServiceImpl
 				.orElseThrow(() -> new ModuleNotFoundException(moduleName));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public Module findModulesById(long id)
 	throws ModuleNotFoundException {
-		return find(id);
+		return moduleRepository.findByModuleId(id)
+				.orElseThrow(() -> new ModuleNotFoundException(id));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public List<Module> findByCourse(long courseId) {
+		return moduleRepository.findModulesByCourse_CourseId(courseId);
 	}
 
 	@Override
@@ -72,8 +140,9 @@ public class ModuleServiceImpl
 	throws ModuleNotFoundException, CourseNotFoundException {
 		Module newModule = new Module();
 		if (module.getModuleId() != 0) {
-			find(module.getModuleId()); // throws if no such module
+			Module oldModule = find(module.getModuleId()); // throws if no such module
 			newModule.setModuleId(module.getModuleId());
+			newModule.setVersion(oldModule.getVersion());
 		}
 		newModule.setModuleName(module.getModuleName());
 		newModule.setModuleDescription(module.getModuleDescription());
@@ -0,0 +1,23 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.OktaProvisioningTask;
+
+import java.util.Collection;
+
+
+/**
+ * Creates users in Okta in the background, so that saving a user never waits on Okta
+ */
+public interface OktaProvisioningService {
+
+	/**
+	 * Queues users to be created in Okta. The tasks are saved in the caller's transaction, which must be the one
+	 * that saves the users, and are picked up once it commits. Users who turn out to be in Okta already are left
+	 * as they are.
+	 *
+	 * @param tasks One new task per user
+	 */
+	void provision(Collection<OktaProvisioningTask> tasks);
+
+}
@@ -0,0 +1,261 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.OktaProvisioningTask;
+import com.lambdaschool.oktafoundation.repository.OktaProvisioningTaskRepository;
+import com.lambdaschool.oktafoundation.utils.TokenBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+
+/**
+ * Drains the Okta provisioning outbox (see OktaProvisioningTask).
+ * <p>
+ * A poller claims due tasks, a few at a time, and hands them to a fixed number of workers, which between them call
+ * Okta no faster than the token bucket allows: every request to Okta takes a token, and a task makes up to four
+ * (looking the user up, finding their group, creating them, and activating them). The poller runs every poll interval, and straight after a
+ * transaction that queued tasks commits. A task that fails is tried again after an exponential backoff, and after
+ * max-attempts failures it is dead lettered: kept, with its last error, but never tried again. A task that succeeds
+ * is deleted.
+ * <p>
+ * Claiming is not coordinated between instances, so the application is assumed to run as one instance. Tasks
+ * claimed when the application last stopped are put back in the queue on startup. Okta is checked for the user
+ * before each attempt, so a task that had already created its user does not create them twice.
+ */
+@Service
+public class OktaProvisioningServiceImpl
+		implements OktaProvisioningService {
+
+	private static final Logger logger = LoggerFactory.getLogger(OktaProvisioningServiceImpl.class);
+
+	@Autowired
+	private OktaSDKService okta;
+
+	@Autowired
+	private OktaProvisioningTaskRepository oktaProvisioningTaskRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${okta-provisioning.threads:4}")
+	private int threads;
+
+	@Value("${okta-provisioning.rate-per-second:5}")
+	private double ratePerSecond;
+
+	@Value("${okta-provisioning.burst:10}")
+	private int burst;
+
+	@Value("${okta-provisioning.max-attempts:8}")
+	private int maxAttempts;
+
+	@Value("${okta-provisioning.backoff-ms:1000}")
+	private long backoffMillis;
+
+	@Value("${okta-provisioning.max-backoff-ms:600000}")
+	private long maxBackoffMillis;
+
+	@Value("${okta-provisioning.poll-interval-ms:5000}")
+	private long pollIntervalMillis;
+
+	private TransactionTemplate transactions;
+
+	private TokenBucket rateLimiter;
+
+	private Semaphore idleWorkers;
+
+	private ExecutorService workers;
+
+	private ScheduledExecutorService poller;
+
+	private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+	@PostConstruct
+	void startWorkers() {
+		transactions = new TransactionTemplate(transactionManager);
+		rateLimiter  = new TokenBucket(ratePerSecond, burst);
+		idleWorkers  = new Semaphore(threads);
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		workers = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "okta-provisioning-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		poller  = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "okta-provisioning-poller");
+			thread.setDaemon(true);
+			return thread;
+		});
+		poller.scheduleWithFixedDelay(this::drain, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void stopWorkers() {
+		poller.shutdownNow();
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Tasks that were being worked on when the application last stopped are tried again
+	 */
+	@EventListener(ApplicationStartedEvent.class)
+	public void requeueInterruptedTasks() {
+		Integer requeued = transactions.execute(status -> oktaProvisioningTaskRepository.requeueRunning());
+		if (requeued != null && requeued > 0) {
+			logger.info("Requeued {} interrupted Okta provisioning tasks", requeued);
+		}
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Override
+	public void provision(Collection<OktaProvisioningTask> tasks) {
+		if (tasks.isEmpty()) {
+			return;
+		}
+		oktaProvisioningTaskRepository.saveAll(tasks);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				wakeUp();
+			}
+		});
+	}
+
+	/**
+	 * Starts a drain now rather than at the next poll, unless one is already waiting to start
+	 */
+	private void wakeUp() {
+		if (drainQueued.compareAndSet(false, true)) {
+			try {
+				poller.execute(this::drain);
+			} catch (RejectedExecutionException e) {
+				// shutting down, the tasks are picked up after the restart
+				drainQueued.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Claims due tasks and hands them to the workers until there are none left. Runs on the poller thread only.
+	 */
+	private void drain() {
+		drainQueued.set(false);
+		try {
+			List<OktaProvisioningTask> claimed;
+			do {
+				// no more are claimed than the workers can take on, so none wait long as RUNNING
+				claimed = claim(threads);
+				for (OktaProvisioningTask task : claimed) {
+					idleWorkers.acquire();
+					workers.execute(() -> {
+						try {
+							attempt(task);
+						} finally {
+							idleWorkers.release();
+						}
+					});
+				}
+			} while (!claimed.isEmpty());
+		} catch (InterruptedException e) {
+			Thread.currentThread()
+					.interrupt();
+		} catch (RuntimeException e) {
+			// the poller must not die, or nothing is drained until a restart
+			logger.error("Could not drain the Okta provisioning outbox", e);
+		}
+	}
+
+	private List<OktaProvisioningTask> claim(int count) {
+		return transactions.execute(status -> {
+			List<OktaProvisioningTask> due = oktaProvisioningTaskRepository.findDue(new Date(),
+					PageRequest.of(0, count));
+			due.forEach(OktaProvisioningTask::start);
+			return due;
+		});
+	}
+
+	private void attempt(OktaProvisioningTask task) {
+		try {
+			if (!okta.containsUser(task.getEmail(), rateLimiter)) {
+				okta.createOktaUser(task.getEmail(), task.getFirstName(), task.getLastName(), task.getRole()
+						.name(), rateLimiter);
+			}
+			transactions.executeWithoutResult(status -> oktaProvisioningTaskRepository.deleteById(task.getTaskId()));
+		} catch (InterruptedException e) {
+			// shutting down, the task is requeued on startup
+			Thread.currentThread()
+					.interrupt();
+		} catch (RuntimeException e) {
+			String error = e.getMessage() != null ? e.getMessage() : e.getClass()
+					.getName();
+			if (task.getAttempts() + 1 >= maxAttempts) {
+				logger.error("Gave up creating {} in Okta after {} attempts", task.getEmail(), maxAttempts, e);
+				updateTask(task.getTaskId(), failed -> failed.deadLetter(error));
+			} else {
+				long delay = backoff(task.getAttempts() + 1, backoffMillis, maxBackoffMillis);
+				// jittered, so that tasks which failed together are not all retried together
+				long jittered = delay / 2 + ThreadLocalRandom.current()
+						.nextLong(delay / 2 + 1);
+				logger.warn("Could not create {} in Okta, trying again in {} ms", task.getEmail(), jittered, e);
+				updateTask(task.getTaskId(),
+						failed -> failed.retryLater(error, new Date(System.currentTimeMillis() + jittered)));
+			}
+		}
+	}
+
+	private void updateTask(
+			long taskId,
+			Consumer<OktaProvisioningTask> change
+	) {
+		transactions.executeWithoutResult(status -> oktaProvisioningTaskRepository.findById(taskId)
+				.ifPresent(change));
+	}
+
+	/**
+	 * @param attempt    How many attempts have failed, from 1
+	 * @param baseMillis The delay after the first failure
+	 * @param maxMillis  The longest delay
+	 * @return baseMillis doubled for every failure after the first, up to maxMillis
+	 */
+	static long backoff(
+			int attempt,
+			long baseMillis,
+			long maxMillis
+	) {
+		int doublings = Math.max(0, attempt - 1);
+		if (doublings >= Long.numberOfLeadingZeros(baseMillis) - 1) {
+			return maxMillis;
+		}
+		return Math.min(maxMillis, baseMillis << doublings);
+	}
+
+}
@@ -1,6 +1,7 @@
 package com.lambdaschool.oktafoundation.services;
 
 
+import com.lambdaschool.oktafoundation.utils.TokenBucket;
 import com.okta.sdk.resource.group.GroupList;
 import com.okta.sdk.resource.user.User;
 import com.okta.sdk.resource.user.UserList;
@@ -9,6 +10,15 @@ import com.okta.sdk.resource.user.UserList;
 public interface OktaSDKService {
 
 	boolean containsUser(String email);
+
+	/**
+	 * Same as {@link #containsUser(String)}, taking a token from the rate limiter before calling Okta
+	 */
+	boolean containsUser(
+			String email,
+			TokenBucket rateLimiter
+	)
+	throws InterruptedException;
 	UserList getUsers();
 	UserList getUsers(String query);
 	User createOktaUser(com.lambdaschool.oktafoundation.models.User reachUser);
@@ -18,6 +28,19 @@ public interface OktaSDKService {
 			String lastname,
 			String role
 	);
+
+	/**
+	 * Same as {@link #createOktaUser(String, String, String, String)}, taking a token from the rate limiter before
+	 * each of the three calls to Okta it makes: finding the role's group, creating the user, and activating them
+	 */
+	User createOktaUser(
+			String email,
+			String firstname,
+			String lastname,
+			String role,
+			TokenBucket rateLimiter
+	)
+	throws InterruptedException;
 	GroupList getGroups();
 	GroupList getGroups(String query);
 
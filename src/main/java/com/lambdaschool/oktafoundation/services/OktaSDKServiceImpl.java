@@ -1,6 +1,7 @@
 package com.lambdaschool.oktafoundation.services;
 
 
+import com.lambdaschool.oktafoundation.utils.TokenBucket;
 import com.okta.sdk.client.Client;
 import com.okta.sdk.resource.group.Group;
 import com.okta.sdk.resource.group.GroupList;
@@ -27,6 +28,16 @@ public class OktaSDKServiceImpl
 		return user.isPresent();
 	}
 
+	@Override
+	public boolean containsUser(
+			String email,
+			TokenBucket rateLimiter
+	)
+	throws InterruptedException {
+		rateLimiter.acquire();
+		return containsUser(email);
+	}
+
 	@Override
 	public UserList getUsers() {
 		return client.listUsers();
@@ -44,12 +55,46 @@ public class OktaSDKServiceImpl
 			String lastname,
 			String role
 	) {
+		User stagedUser = stageUser(email, firstname, lastname, findGroupId(role));
+
+		// now that our user exists but isn't yet active,
+		// this will send an email to the user
+		stagedUser.activate(true);
+		return stagedUser;
+	}
+
+	@Override
+	public User createOktaUser(
+			String email,
+			String firstname,
+			String lastname,
+			String role,
+			TokenBucket rateLimiter
+	)
+	throws InterruptedException {
+		rateLimiter.acquire();
+		String groupId = findGroupId(role);
+		rateLimiter.acquire();
+		User stagedUser = stageUser(email, firstname, lastname, groupId);
+
+		rateLimiter.acquire();
+		stagedUser.activate(true);
+		return stagedUser;
+	}
+
+	private String findGroupId(String role) {
 		GroupList possibleGroupMatches = client.listGroups(role, null, null);
 		Group     groupToAttach        = possibleGroupMatches.single();
-		String    groupId              = groupToAttach.getId();
-		String groupName = groupToAttach.getProfile()
-				.getName();
-		User stagedUser = UserBuilder.instance()
+		return groupToAttach.getId();
+	}
+
+	private User stageUser(
+			String email,
+			String firstname,
+			String lastname,
+			String groupId
+	) {
+		return UserBuilder.instance()
 				.setLogin(email) // make login match email
 				.setEmail(email)
 				.setFirstName(firstname)
@@ -57,11 +102,6 @@ public class OktaSDKServiceImpl
 				.addGroup(groupId)
 				.setActive(false) // initially create a non-activated user
 				.buildAndCreate(client);
-
-		// now that our user exists but isn't yet active,
-		// this will send an email to the user
-		stagedUser.activate(true);
-		return stagedUser;
 	}
 
 	@Override
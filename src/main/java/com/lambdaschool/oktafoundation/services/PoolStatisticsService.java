@@ -0,0 +1,21 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.PoolStatistics;
+
+import java.util.List;
+
+
+/**
+ * Reports how the database connection pools (see DataSourceConfig) are doing
+ */
+public interface PoolStatisticsService {
+
+	/**
+	 * Returns the statistics of every connection pool
+	 *
+	 * @return One entry per pool, the primary first
+	 */
+	List<PoolStatistics> findAll();
+
+}
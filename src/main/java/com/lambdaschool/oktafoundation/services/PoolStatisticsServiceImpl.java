@@ -0,0 +1,71 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.config.PoolMetrics;
+import com.lambdaschool.oktafoundation.config.PoolMetricsRegistry;
+import com.lambdaschool.oktafoundation.models.PoolStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+@Service(value = "poolStatisticsService")
+public class PoolStatisticsServiceImpl
+		implements PoolStatisticsService {
+
+	/**
+	 * Labels of PoolMetrics' acquire latency buckets
+	 */
+	private static final String[] BUCKETS = {
+			"<= 0.1ms",
+			"<= 1ms",
+			"<= 5ms",
+			"<= 10ms",
+			"<= 50ms",
+			"<= 100ms",
+			"<= 500ms",
+			"<= 1s",
+			"> 1s"
+	};
+
+	@Autowired
+	private PoolMetricsRegistry poolMetricsRegistry;
+
+	@Override
+	public List<PoolStatistics> findAll() {
+		List<PoolStatistics> pools = new ArrayList<>();
+		for (String poolName : poolMetricsRegistry.getPoolNames()) {
+			PoolMetrics metrics = poolMetricsRegistry.getMetrics(poolName);
+			if (metrics == null) {
+				continue;
+			}
+
+			long[]            counts    = metrics.getAcquireHistogram();
+			Map<String, Long> histogram = new LinkedHashMap<>();
+			for (int i = 0; i < counts.length; i++) {
+				histogram.put(BUCKETS[i], counts[i]);
+			}
+
+			PoolMetrics.Totals totals = metrics.totals();
+			pools.add(new PoolStatistics(poolName,
+					poolMetricsRegistry.getPool(poolName)
+							.getHikariConfigMXBean()
+							.getMaximumPoolSize(),
+					metrics.getActiveConnections(),
+					metrics.getIdleConnections(),
+					metrics.getPendingThreads(),
+					totals.getAcquires(),
+					totals.getMeanAcquireMillis(),
+					histogram,
+					totals.getTimeouts(),
+					metrics.getHeldPastLeakThreshold()
+			));
+		}
+		return pools;
+	}
+
+}
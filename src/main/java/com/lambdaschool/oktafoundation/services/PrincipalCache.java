@@ -0,0 +1,46 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.CacheStatistics;
+import com.lambdaschool.oktafoundation.models.Caller;
+
+import java.util.function.Function;
+
+
+/**
+ * Remembers, per username, who an authenticated caller is so JwtAuthenticationFilter does not load the user on
+ * every request. Anything that changes a user's name or roles must invalidate that user's entry.
+ */
+public interface PrincipalCache {
+
+	/**
+	 * Returns the cached principal for this username, loading (and caching) it when there is none
+	 *
+	 * @param username The name the caller authenticated with
+	 * @param loader   Builds the principal on a miss. Its result is not cached if the entry was invalidated while
+	 *                 it ran.
+	 * @return The principal of that user
+	 */
+	Caller get(
+			String username,
+			Function<String, Caller> loader
+	);
+
+	/**
+	 * Drops the entry of this user, now and again once the current transaction (if any) has committed
+	 *
+	 * @param username The user whose name or roles are changing
+	 */
+	void invalidate(String username);
+
+	/**
+	 * Drops every entry, now and again once the current transaction (if any) has committed
+	 */
+	void invalidateAll();
+
+	/**
+	 * @return Hits, misses, and puts since startup, reported as the "principals" region
+	 */
+	CacheStatistics getStatistics();
+
+}
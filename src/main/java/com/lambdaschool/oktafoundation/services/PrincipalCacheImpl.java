@@ -0,0 +1,184 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.CacheStatistics;
+import com.lambdaschool.oktafoundation.models.Caller;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Implements the PrincipalCache Interface with a map of entries that expire a fixed time after they were loaded.
+ * <p>
+ * Reads never lock. When the map is full, expired entries are dropped first and then the oldest tenth, so the scan
+ * that takes is paid once per many puts rather than on every one.
+ */
+@Service(value = "principalCache")
+public class PrincipalCacheImpl
+		implements PrincipalCache {
+
+	static final String REGION = "principals";
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Bumped by every invalidation, so a load that raced with one does not put back what was just dropped
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder puts = new LongAdder();
+
+	private final int maxSize;
+
+	private final long ttlNanos;
+
+	private final LongSupplier clock;
+
+	@Autowired
+	public PrincipalCacheImpl(
+			@Value("${security.principal-cache.max-size:10000}") int maxSize,
+			@Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds
+	) {
+		this(maxSize, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+	}
+
+	PrincipalCacheImpl(
+			int maxSize,
+			long ttlNanos,
+			LongSupplier clock
+	) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The principal cache needs room for at least one entry");
+		}
+		this.maxSize  = maxSize;
+		this.ttlNanos = ttlNanos;
+		this.clock    = clock;
+	}
+
+	@Override
+	public Caller get(
+			String username,
+			Function<String, Caller> loader
+	) {
+		String key   = keyOf(username);
+		long   now   = clock.getAsLong();
+		Entry  entry = entries.get(key);
+		if (entry != null && now - entry.expiresAt < 0) {
+			hits.increment();
+			return entry.principal;
+		}
+
+		misses.increment();
+		long   loadedIn  = generation.get();
+		Caller principal = loader.apply(username);
+		if (principal != null && generation.get() == loadedIn) {
+			if (entries.size() >= maxSize) {
+				evict(now);
+			}
+			entries.put(key, new Entry(principal, now + ttlNanos));
+			puts.increment();
+		}
+		return principal;
+	}
+
+	@Override
+	public void invalidate(String username) {
+		String key = keyOf(username);
+		generation.incrementAndGet();
+		entries.remove(key);
+		afterCommit(() -> {
+			generation.incrementAndGet();
+			entries.remove(key);
+		});
+	}
+
+	@Override
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		entries.clear();
+		afterCommit(() -> {
+			generation.incrementAndGet();
+			entries.clear();
+		});
+	}
+
+	@Override
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(REGION, hits.sum(), misses.sum(), puts.sum());
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	private static String keyOf(String username) {
+		// usernames are stored lower case (see UserServiceImpl.save)
+		return username.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Until the transaction commits, another request can still read the old rows and cache them again
+	 */
+	private static void afterCommit(Runnable eviction) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					eviction.run();
+				}
+			});
+		}
+	}
+
+	private void evict(long now) {
+		entries.values()
+				.removeIf(entry -> now - entry.expiresAt >= 0);
+		if (entries.size() < maxSize) {
+			return;
+		}
+
+		List<Map.Entry<String, Entry>> oldestFirst = new ArrayList<>(entries.entrySet());
+		oldestFirst.sort(Comparator.comparingLong(e -> e.getValue().expiresAt));
+		int toDrop = Math.max(1, maxSize / 10);
+		for (int i = 0; i < toDrop && i < oldestFirst.size(); i++) {
+			Map.Entry<String, Entry> oldest = oldestFirst.get(i);
+			entries.remove(oldest.getKey(), oldest.getValue());
+		}
+	}
+
+	private static class Entry {
+
+		final Caller principal;
+
+		final long expiresAt;
+
+		Entry(
+				Caller principal,
+				long expiresAt
+		) {
+			this.principal = principal;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
@@ -3,6 +3,8 @@ package com.lambdaschool.oktafoundation.services;
 
 import com.lambdaschool.oktafoundation.models.Program;
 import com.lambdaschool.oktafoundation.models.ProgramIn;
+import com.lambdaschool.oktafoundation.models.ProgramSummary;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -23,10 +25,17 @@ public interface ProgramService {
 
 	List<Program> findAll();
 
+	Slice<Program> findAllAfter(
+			long programId,
+			int size
+	);
+
 	Program findProgramsById(long id);
 
 	Program findProgramsByName(String name);
 
+	List<Program> findByUser(long userId);
+
 	void delete(long id);
 
 	void deleteAll();
@@ -41,4 +50,25 @@ public interface ProgramService {
 			long id
 	);
 
+	Slice<ProgramSummary> findSummariesAfter(
+			long programId,
+			int size
+	);
+
+	Slice<Long> findIdsAfter(
+			long programId,
+			int size
+	);
+
+	/**
+	 * @param programId The program
+	 * @return Its version, read without loading it. Throws ProgramNotFoundException if there is no such program.
+	 */
+	String findVersion(long programId);
+
+	/**
+	 * @return The version of the programs table as a whole
+	 */
+	String findListVersion();
+
 }
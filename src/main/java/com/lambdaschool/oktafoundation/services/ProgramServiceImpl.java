@@ -6,6 +6,7 @@ import com.lambdaschool.oktafoundation.exceptions.UserNotFoundException;
 import com.lambdaschool.oktafoundation.models.Course;
 import com.lambdaschool.oktafoundation.models.Program;
 import com.lambdaschool.oktafoundation.models.ProgramIn;
+import com.lambdaschool.oktafoundation.models.ProgramSummary;
 import com.lambdaschool.oktafoundation.models.ProgramTags;
 import com.lambdaschool.oktafoundation.models.Tag;
 import com.lambdaschool.oktafoundation.models.User;
@@ -13,6 +14,9 @@ import com.lambdaschool.oktafoundation.repository.ProgramRepository;
 import com.lambdaschool.oktafoundation.repository.TagRepository;
 import com.lambdaschool.oktafoundation.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,8 +50,9 @@ public class ProgramServiceImpl
 	throws ProgramNotFoundException, UserNotFoundException {
 		Program newProgram = new Program();
 		if (program.getProgramId() != 0) {
-			findProgramsById(program.getProgramId()); // throws if program not found
+			Program oldProgram = findProgramsById(program.getProgramId()); // throws if program not found
 			newProgram.setProgramId(program.getProgramId());
+			newProgram.setVersion(oldProgram.getVersion());
 		}
 		newProgram.setProgramName(program.getProgramName());
 		newProgram.setProgramType(program.getProgramType());
@@ -89,6 +94,7 @@ public class ProgramServiceImpl
 		return save(userId, newProgram);
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public List<Program> findProgramsByTagName(String title) {
 		List<Program> programs = new ArrayList<>();
@@ -98,6 +104,7 @@ public class ProgramServiceImpl
 		return programs;
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public List<Program> findAll() {
 		List<Program> programs = new ArrayList<>();
@@ -107,6 +114,50 @@ public class ProgramServiceImpl
 		return programs;
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<Program> findAllAfter(
+			long programId,
+			int size
+	) {
+		return programRepository.findByProgramIdGreaterThan(programId, PageRequest.of(0, size, Sort.by("programId")));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<ProgramSummary> findSummariesAfter(
+			long programId,
+			int size
+	) {
+		return programRepository.findSummariesAfter(programId, PageRequest.of(0, size));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<Long> findIdsAfter(
+			long programId,
+			int size
+	) {
+		return programRepository.findIdsAfter(programId, PageRequest.of(0, size));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public String findVersion(long programId)
+	throws ProgramNotFoundException {
+		return programRepository.findVersionById(programId)
+				.map(String::valueOf)
+				.orElseThrow(() -> new ProgramNotFoundException(programId));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public String findListVersion() {
+		return programRepository.findTableVersion()
+				.asString();
+	}
+
+	@Transactional(readOnly = true)
 	@Override
 	public Program findProgramsById(long programId)
 	throws ProgramNotFoundException {
@@ -114,6 +165,7 @@ public class ProgramServiceImpl
 				.orElseThrow(() -> new ProgramNotFoundException(programId));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public Program findProgramsByName(String name)
 	throws ProgramNotFoundException {
@@ -121,6 +173,12 @@ public class ProgramServiceImpl
 				.orElseThrow(() -> new ProgramNotFoundException(name));
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public List<Program> findByUser(long userId) {
+		return programRepository.findProgramsByUserId(userId);
+	}
+
 	@Override
 	public void delete(long programId)
 	throws ProgramNotFoundException {
@@ -51,6 +51,15 @@ public interface RoleService {
 	 */
 	Role findByName(String name);
 
+	/**
+	 * Same as {@link #findByName(String)}, with the users holding the role loaded so it can be rendered
+	 *
+	 * @param name The name (String) of the role you seek
+	 *
+	 * @return The Role object matching the given name
+	 */
+	Role findRoleByName(String name);
+
 	/**
 	 * Deletes all record and their associated records from the database
 	 */
@@ -6,6 +6,7 @@ import com.lambdaschool.oktafoundation.exceptions.ResourceNotFoundException;
 import com.lambdaschool.oktafoundation.models.Role;
 import com.lambdaschool.oktafoundation.repository.RoleRepository;
 import com.lambdaschool.oktafoundation.repository.UserRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,12 +35,19 @@ public class RoleServiceImpl
 	@Autowired
 	UserRepository userRepo;
 
+	/**
+	 * Every cached principal carries authorities named after roles
+	 */
+	@Autowired
+	private PrincipalCache principalCache;
+
 	/**
 	 * Connects this service to the auditing service in order to get current user name
 	 */
 	@Autowired
 	private UserAuditing userAuditing;
 
+	@Transactional(readOnly = true)
 	@Override
 	public List<Role> findAll() {
 		List<Role> list = new ArrayList<>();
@@ -50,13 +58,26 @@ public class RoleServiceImpl
 		roleRepo.findAll()
 				.iterator()
 				.forEachRemaining(list::add);
+		// roles are rendered with their users, load those while the transaction is open
+		list.forEach(role -> Hibernate.initialize(role.getUsers()));
 		return list;
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public Role findRoleById(long roleId) {
-		return roleRepo.findById(roleId)
+		Role role = roleRepo.findById(roleId)
 				.orElseThrow(() -> new ResourceNotFoundException("Role id " + roleId + " not found!"));
+		Hibernate.initialize(role.getUsers());
+		return role;
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Role findRoleByName(String name) {
+		Role role = findByName(name);
+		Hibernate.initialize(role.getUsers());
+		return role;
 	}
 
 	@Transactional
@@ -84,6 +105,7 @@ public class RoleServiceImpl
 	@Transactional
 	@Override
 	public void deleteAll() {
+		principalCache.invalidateAll();
 		roleRepo.deleteAll();
 	}
 
@@ -105,6 +127,7 @@ public class RoleServiceImpl
 
 		Role newRole = findRoleById(roleId); // see if roleId exists
 
+		principalCache.invalidateAll();
 		roleRepo.updateRoleName(userAuditing.getCurrentAuditor()
 				.get(), roleId, role.getName());
 		return findRoleById(roleId);
@@ -0,0 +1,59 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+
+/**
+ * Paginated search over courses and users.
+ * <p>
+ * Against PostgreSQL, results are ranked using the indexed search columns. Anywhere else (H2) a portable,
+ * unranked substring match is used so search still works locally.
+ */
+public interface SearchService {
+
+	/**
+	 * Searches every course by name, description, and code
+	 *
+	 * @param query    The search term. Surrounding whitespace and '%' wildcards are ignored.
+	 * @param pageable The page of results to return
+	 *
+	 * @return A page of matching courses
+	 */
+	Page<Course> searchCourses(
+			String query,
+			Pageable pageable
+	);
+
+	/**
+	 * Searches the courses the given user is attached to by name, description, and code
+	 *
+	 * @param userId   The user whose courses should be searched
+	 * @param query    The search term. Surrounding whitespace and '%' wildcards are ignored.
+	 * @param pageable The page of results to return
+	 *
+	 * @return A page of matching courses
+	 */
+	Page<Course> searchCourses(
+			long userId,
+			String query,
+			Pageable pageable
+	);
+
+	/**
+	 * Searches every user by username, first name, last name, and email
+	 *
+	 * @param query    The search term. Surrounding whitespace and '%' wildcards are ignored.
+	 * @param pageable The page of results to return
+	 *
+	 * @return A page of matching users
+	 */
+	Page<User> searchUsers(
+			String query,
+			Pageable pageable
+	);
+
+}
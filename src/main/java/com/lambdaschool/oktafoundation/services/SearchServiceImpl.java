@@ -0,0 +1,105 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.User;
+import com.lambdaschool.oktafoundation.repository.CourseRepository;
+import com.lambdaschool.oktafoundation.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+
+@Service(value = "searchService")
+@Transactional(readOnly = true)
+public class SearchServiceImpl
+		implements SearchService {
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	/**
+	 * The property from application properties. Defaults to H2
+	 */
+	@Value("${local.run.db:H2}")
+	private String dbValue;
+
+	@Override
+	public Page<Course> searchCourses(
+			String query,
+			Pageable pageable
+	) {
+		String term = normalize(query);
+		if (isPostgres()) {
+			return courseRepository.searchRanked(term, toPattern(term), unsorted(pageable));
+		}
+		return courseRepository.searchPortable(toPattern(term), pageable);
+	}
+
+	@Override
+	public Page<Course> searchCourses(
+			long userId,
+			String query,
+			Pageable pageable
+	) {
+		String term = normalize(query);
+		if (isPostgres()) {
+			return courseRepository.searchRanked(userId, term, toPattern(term), unsorted(pageable));
+		}
+		return courseRepository.searchPortable(userId, toPattern(term), pageable);
+	}
+
+	@Override
+	public Page<User> searchUsers(
+			String query,
+			Pageable pageable
+	) {
+		String term = normalize(query);
+		if (isPostgres()) {
+			return userRepository.searchRanked(term, toPattern(term), unsorted(pageable));
+		}
+		return userRepository.searchPortable(toPattern(term), pageable);
+	}
+
+	private boolean isPostgres() {
+		return dbValue.equalsIgnoreCase("POSTGRESQL");
+	}
+
+	/**
+	 * Clients used to send their own wildcards ("%term%") for the old ILIKE queries, so strip those along with
+	 * any surrounding whitespace.
+	 */
+	static String normalize(String query) {
+		return query == null
+		       ? ""
+		       : query.replace("%", "")
+				       .trim();
+	}
+
+	/**
+	 * Turns a search term into a lowercased "contains" LIKE pattern, escaping LIKE metacharacters with '\'
+	 */
+	static String toPattern(String term) {
+		String escaped = term.toLowerCase()
+				.replace("\\", "\\\\")
+				.replace("_", "\\_");
+		return "%" + escaped + "%";
+	}
+
+	/**
+	 * Ranked queries carry their own ORDER BY, so any sort on the incoming pageable is dropped
+	 */
+	private static Pageable unsorted(Pageable pageable) {
+		return pageable.isPaged()
+		       ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+		       : pageable;
+	}
+
+}
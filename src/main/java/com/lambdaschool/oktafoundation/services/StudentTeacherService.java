@@ -2,25 +2,49 @@ package com.lambdaschool.oktafoundation.services;
 
 
 import com.lambdaschool.oktafoundation.models.User;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 
+/**
+ * Roster queries and enrollment changes.
+ * <p>
+ * Every roster is keyset paginated: pass the id of the last user you have seen (0 for the first page) and get back
+ * at most size users, in id order, after it.
+ */
 public interface StudentTeacherService {
 
+	Slice<User> getAllAdmins(
+			long afterUserId,
+			int size
+	);
 
-	List<User> getAllAdmins();
 	// GET all students
-	List<User> getAllStudents();
+	Slice<User> getAllStudents(
+			long afterUserId,
+			int size
+	);
 
 	// GET all teachers
-	List<User> getAllTeachers();
+	Slice<User> getAllTeachers(
+			long afterUserId,
+			int size
+	);
 
 	// GET all attached users
-	List<User> getCourseAttachedUsers(Long courseid);
+	Slice<User> getCourseAttachedUsers(
+			Long courseid,
+			long afterUserId,
+			int size
+	);
 
 	// GET all un-attached (available) users
-	List<User> getCourseNotAttachedUsers(Long courseid);
+	Slice<User> getCourseNotAttachedUsers(
+			Long courseid,
+			long afterUserId,
+			int size
+	);
 
 	// this user is a student? add as a student
 	// this user is a teacher? add as a teacher
@@ -35,10 +59,26 @@ public interface StudentTeacherService {
 			Long courseid
 	);
 
-	List<User> getCourseAttachedStudents(Long courseid);
-	List<User> getCourseAttachedTeachers(Long courseid);
-	List<User> getCourseDetachedStudents(Long courseid);
-	List<User> getCourseDetachedTeachers(Long courseid);
+	Slice<User> getCourseAttachedStudents(
+			Long courseid,
+			long afterUserId,
+			int size
+	);
+	Slice<User> getCourseAttachedTeachers(
+			Long courseid,
+			long afterUserId,
+			int size
+	);
+	Slice<User> getCourseDetachedStudents(
+			Long courseid,
+			long afterUserId,
+			int size
+	);
+	Slice<User> getCourseDetachedTeachers(
+			Long courseid,
+			long afterUserId,
+			int size
+	);
 
 	User replaceUserEnrollments(
 			Long userid,
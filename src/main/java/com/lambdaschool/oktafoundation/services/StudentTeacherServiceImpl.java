@@ -9,6 +9,8 @@ import com.lambdaschool.oktafoundation.models.User;
 import com.lambdaschool.oktafoundation.models.UserCourses;
 import com.lambdaschool.oktafoundation.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,71 +36,58 @@ public class StudentTeacherServiceImpl
 	@Autowired
 	HelperFunctions helperFunctions;
 
+	@Autowired
+	EnrollmentCountService enrollmentCountService;
+
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> getAllAdmins() {
-		List<User> admins = new ArrayList<>();
-		userRepository.findAll()
-				.iterator()
-				.forEachRemaining(user -> {
-					if (user.getRole() == RoleType.ADMIN) {
-						admins.add(user);
-					}
-				});
-		return admins;
+	public Slice<User> getAllAdmins(
+			long afterUserId,
+			int size
+	) {
+		return userRepository.findByPriorityRole(RoleType.ADMIN, afterUserId, PageRequest.of(0, size));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> getAllStudents() {
-		List<User> students = new ArrayList<>();
-
-		userRepository.findAll()
-				.iterator()
-				.forEachRemaining(student -> {
-					if (student.getRole() == RoleType.STUDENT) {
-						students.add(student);
-					}
-				});
-
-		return students;
+	public Slice<User> getAllStudents(
+			long afterUserId,
+			int size
+	) {
+		return userRepository.findByPriorityRole(RoleType.STUDENT, afterUserId, PageRequest.of(0, size));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> getAllTeachers() {
-		List<User> teachers = new ArrayList<>();
-		userRepository.findAll()
-				.iterator()
-				.forEachRemaining(teacher -> {
-					if (teacher.getRole() == RoleType.TEACHER) {
-						teachers.add(teacher);
-					}
-				});
-		return teachers;
+	public Slice<User> getAllTeachers(
+			long afterUserId,
+			int size
+	) {
+		return userRepository.findByPriorityRole(RoleType.TEACHER, afterUserId, PageRequest.of(0, size));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> getCourseAttachedUsers(Long courseId) {
-		List<User> users = new ArrayList<>();
-		userRepository.findEnrolledUsers(courseId)
-				.iterator()
-				.forEachRemaining(users::add);
-		return users;
+	public Slice<User> getCourseAttachedUsers(
+			Long courseId,
+			long afterUserId,
+			int size
+	) {
+		return userRepository.findEnrolledUsers(courseId, afterUserId, PageRequest.of(0, size));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> getCourseNotAttachedUsers(Long courseId) {
-		List<User> users = new ArrayList<>();
-		// find any users who are not in Course.users -- this will initially include ADMIN users
-		userRepository.findNotEnrolledUsers(courseId)
-				.iterator()
-				.forEachRemaining(user -> {
-					// we only want users to appear here if they are NOT ADMIN users
-					if (user.getRole() == RoleType.TEACHER || user.getRole() == RoleType.STUDENT) {
-						users.add(user);
-					}
-				});
-		return users;
+	public Slice<User> getCourseNotAttachedUsers(
+			Long courseId,
+			long afterUserId,
+			int size
+	) {
+		// ADMIN users are not attached at the course level, so they never show up as available
+		return userRepository.findNotEnrolledUsers(courseId, afterUserId, PageRequest.of(0, size));
 	}
 
+	@Transactional
 	@Override
 	public void attachUserToCourse(
 			Long userId,
@@ -114,12 +103,15 @@ public class StudentTeacherServiceImpl
 			throw new RoleNotSufficientException("ADMIN users are not attached at the course level");
 		} else {
 			UserCourses newRelationship = new UserCourses(currUser, currCourse);
-			currCourse.getUsers()
-					.add(newRelationship);
+			if (currCourse.getUsers()
+					.add(newRelationship)) {
+				enrollmentCountService.increment(currCourse.getCourseId(), currUser.getRole());
+			}
 			courseService.update(currCourse.getCourseId(), currCourse);
 		}
 	}
 
+	@Transactional
 	@Override
 	public void detachUserFromCourse(
 			Long userId,
@@ -141,61 +133,50 @@ public class StudentTeacherServiceImpl
 						"The user with id " + currUser.getUserId() + " is not part" + " of the course with id + " +
 						currCourse.getCourseId());
 			}
+			enrollmentCountService.decrement(currCourse.getCourseId(), currUser.getRole());
 			courseService.update(currCourse.getCourseId(), currCourse);
 
 		}
 	}
 
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> getCourseAttachedStudents(Long courseId) {
-		List<User> students = new ArrayList<>();
-		userRepository.findEnrolledUsers(courseId)
-				.iterator()
-				.forEachRemaining(user -> {
-					if (user.getRole() == RoleType.STUDENT) {
-						students.add(user);
-					}
-				});
-		return students;
+	public Slice<User> getCourseAttachedStudents(
+			Long courseId,
+			long afterUserId,
+			int size
+	) {
+		return userRepository.findEnrolledByPriorityRole(courseId, RoleType.STUDENT, afterUserId, PageRequest.of(0, size));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> getCourseAttachedTeachers(Long courseId) {
-		List<User> teachers = new ArrayList<>();
-		userRepository.findEnrolledUsers(courseId)
-				.iterator()
-				.forEachRemaining(user -> {
-					if (user.getRole() == RoleType.TEACHER) {
-						teachers.add(user);
-					}
-				});
-		return teachers;
+	public Slice<User> getCourseAttachedTeachers(
+			Long courseId,
+			long afterUserId,
+			int size
+	) {
+		return userRepository.findEnrolledByPriorityRole(courseId, RoleType.TEACHER, afterUserId, PageRequest.of(0, size));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> getCourseDetachedStudents(Long courseId) {
-		List<User> students = new ArrayList<>();
-		userRepository.findNotEnrolledUsers(courseId)
-				.iterator()
-				.forEachRemaining(user -> {
-					if (user.getRole() == RoleType.STUDENT) {
-						students.add(user);
-					}
-				});
-		return students;
+	public Slice<User> getCourseDetachedStudents(
+			Long courseId,
+			long afterUserId,
+			int size
+	) {
+		return userRepository.findNotEnrolledByPriorityRole(courseId, RoleType.STUDENT, afterUserId, PageRequest.of(0, size));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> getCourseDetachedTeachers(Long courseId) {
-		List<User> detachedTeachers = new ArrayList<>();
-		userRepository.findNotEnrolledUsers(courseId)
-				.iterator()
-				.forEachRemaining(user -> {
-					if (user.getRole() == RoleType.TEACHER) {
-						detachedTeachers.add(user);
-					}
-				});
-		return detachedTeachers;
+	public Slice<User> getCourseDetachedTeachers(
+			Long courseId,
+			long afterUserId,
+			int size
+	) {
+		return userRepository.findNotEnrolledByPriorityRole(courseId, RoleType.TEACHER, afterUserId, PageRequest.of(0, size));
 	}
 
 	@Transactional
@@ -224,9 +205,12 @@ public class StudentTeacherServiceImpl
 					});
 			// we must iterate through our courses that we'll remove so
 			// that we won't hit a concurrent modification error
-			coursesToRemoveUser.forEach(userCourses -> //
-					userCourses.getCourse()
-							.removeUser(userToUpdate));
+			coursesToRemoveUser.forEach(userCourses -> {
+				userCourses.getCourse()
+						.removeUser(userToUpdate);
+				enrollmentCountService.decrement(userCourses.getCourse()
+						.getCourseId(), userToUpdate.getRole());
+			});
 
 			// now, for every course in our hashed ids, we will make a "new"
 			// UserCourses instance and add it to our user's courses!
@@ -235,8 +219,11 @@ public class StudentTeacherServiceImpl
 				UserCourses newRelationship = new UserCourses();
 				newRelationship.setUser(userToUpdate);
 				newRelationship.setCourse(course);
-				userToUpdate.getCourses()
-						.add(newRelationship);
+				// add() is false when the user was already enrolled here
+				if (userToUpdate.getCourses()
+						.add(newRelationship)) {
+					enrollmentCountService.increment(courseId, userToUpdate.getRole());
+				}
 			}
 			// we have been modifying this user straight-up... no need to "save" or "update"
 			return userToUpdate;
@@ -244,5 +231,4 @@ public class StudentTeacherServiceImpl
 
 	}
 
-
 }
@@ -0,0 +1,76 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.SuggestionType;
+import com.lambdaschool.oktafoundation.models.Tag;
+import com.lambdaschool.oktafoundation.models.User;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+
+/**
+ * JPA entity listener that keeps the {@link SuggestionService} index in step with the users, tags, and courses
+ * tables.
+ * <p>
+ * Changes are applied once the surrounding transaction commits, so a rolled back save never shows up in the
+ * suggestions. Hibernate builds this listener through Spring, the service is looked up lazily because the
+ * listener is created while the EntityManagerFactory (which the service depends on) is still starting.
+ */
+public class SuggestionIndexListener {
+
+	@Autowired
+	private ObjectProvider<SuggestionService> suggestionService;
+
+	@PostPersist
+	@PostUpdate
+	public void onSave(Object entity) {
+		if (entity instanceof User) {
+			afterCommit(() -> suggestionService.getObject()
+					.index((User) entity));
+		} else if (entity instanceof Tag) {
+			afterCommit(() -> suggestionService.getObject()
+					.index((Tag) entity));
+		} else if (entity instanceof Course) {
+			afterCommit(() -> suggestionService.getObject()
+					.index((Course) entity));
+		}
+	}
+
+	@PostRemove
+	public void onRemove(Object entity) {
+		if (entity instanceof User) {
+			long id = ((User) entity).getUserId();
+			afterCommit(() -> suggestionService.getObject()
+					.remove(SuggestionType.USER, id));
+		} else if (entity instanceof Tag) {
+			long id = ((Tag) entity).getTagId();
+			afterCommit(() -> suggestionService.getObject()
+					.remove(SuggestionType.TAG, id));
+		} else if (entity instanceof Course) {
+			long id = ((Course) entity).getCourseId();
+			afterCommit(() -> suggestionService.getObject()
+					.remove(SuggestionType.COURSE, id));
+		}
+	}
+
+	private static void afterCommit(Runnable change) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					change.run();
+				}
+			});
+		} else {
+			change.run();
+		}
+	}
+
+}
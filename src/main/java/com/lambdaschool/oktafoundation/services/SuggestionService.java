@@ -0,0 +1,52 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.Suggestion;
+import com.lambdaschool.oktafoundation.models.SuggestionType;
+import com.lambdaschool.oktafoundation.models.Tag;
+import com.lambdaschool.oktafoundation.models.User;
+
+import java.util.List;
+
+
+/**
+ * In-memory typeahead index over users, tags, and courses.
+ * <p>
+ * Kept up to date by {@link SuggestionIndexListener} as entities are saved and deleted, so lookups never touch
+ * the database.
+ */
+public interface SuggestionService {
+
+	/**
+	 * Returns up to limit suggestions with a word starting with the given prefix
+	 *
+	 * @param prefix The text typed so far. Case is ignored.
+	 * @param type   Restricts results to a single type. Null for every type.
+	 * @param limit  The maximum number of suggestions to return
+	 *
+	 * @return The matching suggestions. If the prefix is blank, an empty list.
+	 */
+	List<Suggestion> suggest(
+			String prefix,
+			SuggestionType type,
+			int limit
+	);
+
+	void index(User user);
+
+	void index(Tag tag);
+
+	void index(Course course);
+
+	void remove(
+			SuggestionType type,
+			long id
+	);
+
+	/**
+	 * Throws away the index and reloads it from the database
+	 */
+	void rebuild();
+
+}
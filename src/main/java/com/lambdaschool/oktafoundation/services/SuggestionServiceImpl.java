@@ -0,0 +1,197 @@
+package com.lambdaschool.oktafoundation.services;
+
+
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.Suggestion;
+import com.lambdaschool.oktafoundation.models.SuggestionType;
+import com.lambdaschool.oktafoundation.models.Tag;
+import com.lambdaschool.oktafoundation.models.User;
+import com.lambdaschool.oktafoundation.repository.CourseRepository;
+import com.lambdaschool.oktafoundation.repository.TagRepository;
+import com.lambdaschool.oktafoundation.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+
+/**
+ * Keeps a sorted map of lowercased tokens (whole values plus each word within them) to suggestions. A prefix
+ * lookup is a range scan over the map, so it costs O(log n + k) no matter how many entities are indexed.
+ */
+@Service(value = "suggestionService")
+public class SuggestionServiceImpl
+		implements SuggestionService {
+
+	private static final int MAX_LIMIT = 50;
+
+	/**
+	 * token -> every suggestion with that token
+	 */
+	private final ConcurrentSkipListMap<String, Set<Suggestion>> tokens = new ConcurrentSkipListMap<>();
+
+	/**
+	 * suggestion -> the tokens it was indexed under, so an entity can be re-indexed or removed
+	 */
+	private final Map<Suggestion, Set<String>> indexed = new ConcurrentHashMap<>();
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TagRepository tagRepository;
+
+	@Autowired
+	private CourseRepository courseRepository;
+
+	@Override
+	public List<Suggestion> suggest(
+			String prefix,
+			SuggestionType type,
+			int limit
+	) {
+		if (prefix == null || prefix.isBlank() || limit < 1) {
+			return Collections.emptyList();
+		}
+		String key = prefix.trim()
+				.toLowerCase();
+		int max = Math.min(limit, MAX_LIMIT);
+
+		NavigableMap<String, Set<Suggestion>> matches = tokens.subMap(key, true, key + Character.MAX_VALUE, true);
+
+		Set<Suggestion> found = new LinkedHashSet<>();
+		for (Set<Suggestion> suggestions : matches.values()) {
+			for (Suggestion suggestion : suggestions) {
+				if (type == null || suggestion.getType() == type) {
+					found.add(suggestion);
+					if (found.size() == max) {
+						return new ArrayList<>(found);
+					}
+				}
+			}
+		}
+		return new ArrayList<>(found);
+	}
+
+	@Override
+	public void index(User user) {
+		put(new Suggestion(SuggestionType.USER, user.getUserId(), userLabel(user)),
+				user.getUsername(),
+				user.getFirstName(),
+				user.getLastName(),
+				user.getEmail()
+		);
+	}
+
+	@Override
+	public void index(Tag tag) {
+		put(new Suggestion(SuggestionType.TAG, tag.getTagId(), tag.getTitle()), tag.getTitle());
+	}
+
+	@Override
+	public void index(Course course) {
+		put(new Suggestion(SuggestionType.COURSE, course.getCourseId(), courseLabel(course)),
+				course.getCourseName(),
+				course.getCourseCode()
+		);
+	}
+
+	@Override
+	public synchronized void remove(
+			SuggestionType type,
+			long id
+	) {
+		Suggestion  suggestion = new Suggestion(type, id, null);
+		Set<String> previous   = indexed.remove(suggestion);
+		if (previous != null) {
+			for (String token : previous) {
+				tokens.computeIfPresent(token, (t, suggestions) -> {
+					suggestions.remove(suggestion);
+					return suggestions.isEmpty()
+					       ? null
+					       : suggestions;
+				});
+			}
+		}
+	}
+
+	@Override
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public synchronized void rebuild() {
+		tokens.clear();
+		indexed.clear();
+		userRepository.findAll()
+				.forEach(this::index);
+		tagRepository.findAll()
+				.forEach(this::index);
+		courseRepository.findAll()
+				.forEach(this::index);
+	}
+
+	private synchronized void put(
+			Suggestion suggestion,
+			String... values
+	) {
+		// drop whatever the entity was indexed under before (it may have been renamed)
+		remove(suggestion.getType(), suggestion.getId());
+
+		Set<String> entityTokens = tokenize(values);
+		for (String token : entityTokens) {
+			tokens.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet())
+					.add(suggestion);
+		}
+		indexed.put(suggestion, entityTokens);
+	}
+
+	/**
+	 * Each value is indexed as a whole (so "jane.doe@" keeps matching an email) and word by word (so "doe"
+	 * matches "Jane Doe")
+	 */
+	static Set<String> tokenize(String... values) {
+		Set<String> result = new LinkedHashSet<>();
+		for (String value : values) {
+			if (value == null || value.isBlank()) {
+				continue;
+			}
+			String lower = value.trim()
+					.toLowerCase();
+			result.add(lower);
+			for (String word : lower.split("[^\\p{L}\\p{N}]+")) {
+				if (!word.isEmpty()) {
+					result.add(word);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static String userLabel(User user) {
+		String name = ((user.getFirstName() == null
+		                ? ""
+		                : user.getFirstName()) + " " + (user.getLastName() == null
+		                                                ? ""
+		                                                : user.getLastName())).trim();
+		return name.isEmpty()
+		       ? user.getUsername()
+		       : name + " (" + user.getUsername() + ")";
+	}
+
+	private static String courseLabel(Course course) {
+		return course.getCourseCode() == null
+		       ? course.getCourseName()
+		       : course.getCourseName() + " (" + course.getCourseCode() + ")";
+	}
+
+}
@@ -2,6 +2,7 @@ package com.lambdaschool.oktafoundation.services;
 
 
 import com.lambdaschool.oktafoundation.models.Tag;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +12,14 @@ public interface TagService {
 
 	// GET ALL
 	List<Tag> getAll();
+	Slice<Tag> getAllAfter(
+			long tagId,
+			int size
+	);
+
+	// VERSIONS, for ETags
+	String findVersion(long tagId);
+	String findListVersion();
 
 
 	// GET TAG BY ...
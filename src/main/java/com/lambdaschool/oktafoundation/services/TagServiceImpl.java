@@ -9,7 +9,11 @@ import com.lambdaschool.oktafoundation.models.ProgramTags;
 import com.lambdaschool.oktafoundation.models.Tag;
 import com.lambdaschool.oktafoundation.repository.TagRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,6 +30,7 @@ public class TagServiceImpl
 	@Autowired
 	private ProgramService programService;
 
+	@Transactional(readOnly = true)
 	@Override
 	public List<Tag> getAll() {
 		List<Tag> tags = new ArrayList<>();
@@ -35,12 +40,39 @@ public class TagServiceImpl
 		return tags;
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<Tag> getAllAfter(
+			long tagId,
+			int size
+	) {
+		return tagRepository.findByTagIdGreaterThan(tagId, PageRequest.of(0, size, Sort.by("tagId")));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public String findVersion(long tagId)
+	throws TagNotFoundException {
+		return tagRepository.findVersionById(tagId)
+				.map(String::valueOf)
+				.orElseThrow(() -> new TagNotFoundException(tagId));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public String findListVersion() {
+		return tagRepository.findTableVersion()
+				.asString();
+	}
+
+	@Transactional(readOnly = true)
 	@Override
 	public Tag get(long tagId)
 	throws TagNotFoundException {
 		return find(tagId).orElseThrow(() -> new TagNotFoundException(tagId));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public Tag get(String title)
 	throws TagNotFoundException {
@@ -57,6 +89,7 @@ public class TagServiceImpl
 		return tagRepository.findById(tagId);
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public List<Tag> getByProgram(long programId) {
 		List<Tag> tags = new ArrayList<>();
@@ -66,6 +99,7 @@ public class TagServiceImpl
 		return tags;
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public List<Tag> getByProgram(String programName) {
 		List<Tag> tags = new ArrayList<>();
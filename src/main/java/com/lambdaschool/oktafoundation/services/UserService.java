@@ -3,7 +3,13 @@ package com.lambdaschool.oktafoundation.services;
 
 import com.lambdaschool.oktafoundation.models.RoleType;
 import com.lambdaschool.oktafoundation.models.User;
+import com.lambdaschool.oktafoundation.models.UserRow;
+import com.lambdaschool.oktafoundation.utils.StreamConsumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,7 +30,68 @@ public interface UserService {
 	 */
 	List<User> findAll();
 
-	List<User> search(String query);
+	/**
+	 * Returns the next page of users, in id order, after the given id
+	 *
+	 * @param userId The id of the last user the client has seen. 0 for the first page.
+	 * @param size   The maximum number of users to return
+	 *
+	 * @return A slice of users that knows whether there is another page
+	 */
+	Slice<User> findAllAfter(
+			long userId,
+			int size
+	);
+
+	/**
+	 * Same as {@link #findAllAfter(long, int)}, but selects only the columns a user row renders
+	 *
+	 * @param userId The id of the last user the client has seen. 0 for the first page.
+	 * @param size   The maximum number of rows to return
+	 *
+	 * @return A slice of user rows that knows whether there is another page
+	 */
+	Slice<UserRow> findRowsAfter(
+			long userId,
+			int size
+	);
+
+	/**
+	 * Same as {@link #findAllAfter(long, int)}, but selects only the ids
+	 *
+	 * @param userId The id of the last user the client has seen. 0 for the first page.
+	 * @param size   The maximum number of ids to return
+	 *
+	 * @return A slice of user ids that knows whether there is another page
+	 */
+	Slice<Long> findIdsAfter(
+			long userId,
+			int size
+	);
+
+	/**
+	 * Hands every user, in id order, to the consumer as a stream over a database cursor. The stream is only good
+	 * until the consumer returns.
+	 *
+	 * @param consumer Reads the users, e.g. to write them out as they come
+	 * @throws IOException if the consumer throws it
+	 */
+	void streamAll(StreamConsumer<User> consumer)
+	throws IOException;
+
+	/**
+	 * Returns a page of the users matching the given search term
+	 *
+	 * @param query    The search term to match against username, first name, last name, and email. When null,
+	 *                 every user is returned (one page at a time).
+	 * @param pageable The page of results to return
+	 *
+	 * @return A page of users. If no users match, an empty page.
+	 */
+	Page<User> search(
+			String query,
+			Pageable pageable
+	);
 
 	/**
 	 * A list of all users whose username contains the given substring
@@ -73,6 +140,16 @@ public interface UserService {
 	 */
 	User save(User user);
 
+	/**
+	 * Saves a new user like save does, and queues them to be created in Okta in the same transaction, so that the
+	 * user is never saved here without Okta hearing about it
+	 *
+	 * @param user the user object to be saved
+	 *
+	 * @return the saved user object including any automatically generated fields
+	 */
+	User saveAndProvision(User user);
+
 	/**
 	 * Updates the provided fields in the user record referenced by the primary key.
 	 * <p>
@@ -5,19 +5,32 @@ import com.lambdaschool.oktafoundation.exceptions.ResourceNotFoundException;
 import com.lambdaschool.oktafoundation.exceptions.RoleNotSufficientException;
 import com.lambdaschool.oktafoundation.exceptions.UserNotFoundException;
 import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.OktaProvisioningTask;
 import com.lambdaschool.oktafoundation.models.Role;
 import com.lambdaschool.oktafoundation.models.RoleType;
 import com.lambdaschool.oktafoundation.models.User;
 import com.lambdaschool.oktafoundation.models.UserCourses;
 import com.lambdaschool.oktafoundation.models.UserRoles;
+import com.lambdaschool.oktafoundation.models.UserRow;
 import com.lambdaschool.oktafoundation.repository.UserRepository;
+import com.lambdaschool.oktafoundation.utils.StreamConsumer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
@@ -46,6 +59,22 @@ public class UserServiceImpl
 	@Autowired
 	private HelperFunctions helperFunctions;
 
+	@Autowired
+	private SearchService searchService;
+
+	@Autowired
+	private EnrollmentCountService enrollmentCountService;
+
+	@Autowired
+	private OktaProvisioningService oktaProvisioningService;
+
+	/**
+	 * Told about every change to a user's name or roles, so the caller's next request sees it
+	 */
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Transactional(readOnly = true)
 	@Override
 	public List<User> findAll() {
 		List<User> list = new ArrayList<>();
@@ -57,25 +86,65 @@ public class UserServiceImpl
 		return list;
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<User> findAllAfter(
+			long userId,
+			int size
+	) {
+		return userRepository.findByUserIdGreaterThan(userId, PageRequest.of(0, size, Sort.by("userId")));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<UserRow> findRowsAfter(
+			long userId,
+			int size
+	) {
+		return userRepository.findRowsAfter(userId, PageRequest.of(0, size));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public Slice<Long> findIdsAfter(
+			long userId,
+			int size
+	) {
+		return userRepository.findIdsAfter(userId, PageRequest.of(0, size));
+	}
+
+	@Transactional(readOnly = true)
+	@Override
+	public void streamAll(StreamConsumer<User> consumer)
+	throws IOException {
+		try (Stream<User> users = userRepository.streamAll()) {
+			consumer.accept(users);
+		}
+	}
+
+	@Transactional(readOnly = true)
 	@Override
-	public List<User> search(String query) {
-		List<User> users = new ArrayList<>();
+	public Page<User> search(
+			String query,
+			Pageable pageable
+	) {
 		if (query != null) {
-			userRepository.search(query)
-					.iterator()
-					.forEachRemaining(users::add);
-		} else {
-			return findAll();
+			return searchService.searchUsers(query, pageable);
 		}
-		return users;
+		// unfiltered listings are ordered by id so that pages don't shift underneath the client
+		return userRepository.findAll(pageable.isPaged()
+		                              ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("userId"))
+		                              : pageable);
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public List<User> findByNameContaining(String username) {
 
 		return userRepository.findByUsernameContainingIgnoreCase(username.toLowerCase());
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public User findUserById(long userId)
 	throws UserNotFoundException {
@@ -83,11 +152,13 @@ public class UserServiceImpl
 				.orElseThrow(() -> new UserNotFoundException(userId));
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public Optional<User> findByEmail(String email) {
 		return userRepository.findByEmail(email);
 	}
 
+	@Transactional(readOnly = true)
 	@Override
 	public User findByName(String name)
 	throws UserNotFoundException {
@@ -102,18 +173,25 @@ public class UserServiceImpl
 	@Override
 	public void delete(long userId)
 	throws UserNotFoundException {
-		findUserById(userId); // this will throw if user not found
+		User      user      = findUserById(userId); // this will throw if user not found
+		Set<Long> courseIds = courseIdsOf(user);
+		principalCache.invalidate(user.getUsername());
 		userRepository.deleteById(userId);
+		enrollmentCountService.recount(courseIds);
 	}
 
 	@Transactional
 	@Override
 	public User save(User user) {
 
-		User newUser = new User();
+		User      newUser   = new User();
+		Set<Long> courseIds = new HashSet<>();
 
 		if (user.getUserId() != 0) {
-			findUserById(user.getUserId()); // throws if user not found
+			// throws if user not found
+			User currentUser = findUserById(user.getUserId());
+			courseIds.addAll(courseIdsOf(currentUser));
+			principalCache.invalidate(currentUser.getUsername());
 			newUser.setUserId(user.getUserId());
 		}
 		newUser.setUsername(user.getUsername()
@@ -142,6 +220,12 @@ public class UserServiceImpl
 			}
 
 		}
+		if (newUser.refreshRole() == null) {
+			// users.role_type is NOT NULL, so a user without a typed role is a student
+			newUser.getRoles()
+					.add(new UserRoles(newUser, roleService.findByName(RoleType.STUDENT.name())));
+			newUser.refreshRole();
+		}
 
 		newUser.getCourses()
 				.clear();
@@ -152,7 +236,18 @@ public class UserServiceImpl
 					.add(new UserCourses(newUser, course));
 		}
 
-		return userRepository.save(newUser);
+		newUser = userRepository.save(newUser);
+		courseIds.addAll(courseIdsOf(newUser));
+		enrollmentCountService.recount(courseIds);
+		return newUser;
+	}
+
+	@Transactional
+	@Override
+	public User saveAndProvision(User user) {
+		User newUser = save(user);
+		oktaProvisioningService.provision(List.of(new OktaProvisioningTask(newUser)));
+		return newUser;
 	}
 
 	@Transactional
@@ -176,6 +271,7 @@ public class UserServiceImpl
 	@Transactional
 	@Override
 	public void deleteAll() {
+		principalCache.invalidateAll();
 		userRepository.deleteAll();
 	}
 
@@ -190,8 +286,12 @@ public class UserServiceImpl
 			throw new RoleNotSufficientException("ADMIN users cannot be changed from ADMIN");
 		} else {
 			Role roleToUse = roleService.findByName(newRole.name());
+			principalCache.invalidate(userToUpdate.getUsername());
 			userToUpdate.getRoles()
 					.add(new UserRoles(userToUpdate, roleToUse));
+			userToUpdate.refreshRole();
+			// the user may now count under a different role in each of their courses
+			enrollmentCountService.recount(courseIdsOf(userToUpdate));
 		}
 		return userToUpdate;
 	}
@@ -201,6 +301,10 @@ public class UserServiceImpl
 			User currentUser,
 			User userIn
 	) {
+		Set<Long> courseIds = courseIdsOf(currentUser);
+		// by the name it had, which may be about to change
+		principalCache.invalidate(currentUser.getUsername());
+
 		if (userIn.getUsername() != null) {
 			currentUser.setUsername(userIn.getUsername()
 					.toLowerCase());
@@ -239,6 +343,7 @@ public class UserServiceImpl
 			}
 
 		}
+		currentUser.refreshRole();
 
 		if (userIn.getCourses()
 				    .size() > 0) {
@@ -251,7 +356,22 @@ public class UserServiceImpl
 						.add(new UserCourses(currentUser, course));
 			}
 		}
-		return userRepository.save(currentUser);
+		currentUser = userRepository.save(currentUser);
+		if (userIn.getRole() != null || !userIn.getRoles()
+				.isEmpty() || !userIn.getCourses()
+				.isEmpty()) {
+			courseIds.addAll(courseIdsOf(currentUser));
+			enrollmentCountService.recount(courseIds);
+		}
+		return currentUser;
+	}
+
+	private static Set<Long> courseIdsOf(User user) {
+		return user.getCourses()
+				.stream()
+				.map(userCourses -> userCourses.getCourse()
+						.getCourseId())
+				.collect(Collectors.toSet());
 	}
 
 
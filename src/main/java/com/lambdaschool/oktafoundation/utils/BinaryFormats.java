@@ -0,0 +1,72 @@
+package com.lambdaschool.oktafoundation.utils;
+
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+
+/**
+ * The binary renderings of the API that HypermediaConfig registers: CBOR and Smile, both carrying exactly what the
+ * JSON carries.
+ * <p>
+ * An endpoint that restricts what it produces lists them next to JSON, JSON first, so a client without a
+ * preference keeps getting JSON. Since the body then depends on Accept, an ETagged endpoint adds the rendering it
+ * negotiated to the ETag (a strong ETag stands for one exact body) and sends Vary: Accept.
+ */
+public final class BinaryFormats {
+
+	public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+
+	public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+	public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+	public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+	/**
+	 * What an endpoint producing JSON, CBOR, and Smile can produce, in that order
+	 */
+	private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, CBOR, SMILE);
+
+	private BinaryFormats() {}
+
+	/**
+	 * Negotiates the way Spring MVC does for an endpoint producing JSON, CBOR, and Smile: the most specific, then
+	 * most preferred, accepted type that one of them is compatible with, with ties going to JSON.
+	 *
+	 * @param accept The Accept header, possibly null
+	 * @return "cbor" or "smile" when the response will be in that format, null when it will be JSON
+	 */
+	public static String of(String accept) {
+		if (accept == null || accept.isBlank()) {
+			return null;
+		}
+
+		List<MediaType> accepted;
+		try {
+			accepted = MediaType.parseMediaTypes(accept);
+		} catch (InvalidMediaTypeException e) {
+			return null;
+		}
+		MediaType.sortBySpecificityAndQuality(accepted);
+
+		for (MediaType mediaType : accepted) {
+			if (mediaType.getQualityValue() == 0) {
+				continue;
+			}
+			for (MediaType producible : PRODUCIBLE) {
+				if (mediaType.isCompatibleWith(producible)) {
+					return producible.equals(MediaType.APPLICATION_JSON) ? null : nameOf(producible);
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String nameOf(MediaType mediaType) {
+		return mediaType.equals(CBOR) ? "cbor" : "smile";
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.lambdaschool.oktafoundation.utils;
+
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+
+/**
+ * The compact view of the big listings (/courses, /users, /programs, /modules): the ids of a page and the links to
+ * page on and to fetch any one of them, without an entity or its per entity links.
+ * <p>
+ * Bulk consumers ask for it with ?view=compact, or with an Accept header carrying the compact profile, e.g.
+ * {@code Accept: application/json;profile="compact"}. Since the same URL answers differently by Accept, both views
+ * are sent with Vary: Accept.
+ */
+public final class CompactView {
+
+	/**
+	 * The view parameter's value for the compact view
+	 */
+	public static final String COMPACT = "compact";
+
+	/**
+	 * The view parameter's default. A String so it can be used in @RequestParam defaults.
+	 */
+	public static final String FULL = "full";
+
+	private static final String PROFILE = "profile";
+
+	private CompactView() {}
+
+	/**
+	 * @param view   The view request parameter
+	 * @param accept The Accept header, possibly null
+	 * @return Whether the client asked for the compact view
+	 */
+	public static boolean isRequested(
+			String view,
+			String accept
+	) {
+		if (COMPACT.equalsIgnoreCase(view)) {
+			return true;
+		}
+		if (accept == null || accept.isBlank()) {
+			return false;
+		}
+
+		List<MediaType> mediaTypes;
+		try {
+			mediaTypes = MediaType.parseMediaTypes(accept);
+		} catch (InvalidMediaTypeException e) {
+			return false;
+		}
+		for (MediaType mediaType : mediaTypes) {
+			String profile = mediaType.getParameter(PROFILE);
+			if (profile != null && COMPACT.equalsIgnoreCase(unquote(profile))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String unquote(String value) {
+		return StringUtils.trimTrailingCharacter(StringUtils.trimLeadingCharacter(value, '"'), '"');
+	}
+
+	/**
+	 * @return Headers for either view of a listing
+	 */
+	public static HttpHeaders headers() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setVary(List.of(HttpHeaders.ACCEPT));
+		return headers;
+	}
+
+}
@@ -5,62 +5,48 @@ import com.lambdaschool.oktafoundation.models.User;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-
 
 @Component
 public class CsvHelper {
 
 	public static String CSV_TYPE = "text/csv";
 
+	/**
+	 * The columns of a roster: email, first name, last name, phone number, and role (which is not read)
+	 */
+	private static final int ROSTER_COLUMNS = 4;
+
 	public static boolean hasCsvFormat(MultipartFile file) {
 		return CSV_TYPE.equals(file.getContentType());
 	}
 
-	public static File convert(MultipartFile file)
-	throws IOException {
-		if (file == null) {
-			throw new RuntimeException("File cannot be null!");
-		} else {
-			File             convertedFile = new File(Objects.requireNonNull(file.getOriginalFilename()));
-			FileOutputStream fos           = new FileOutputStream(convertedFile);
-			fos.write(file.getBytes());
-			fos.close();
-			return convertedFile;
+	/**
+	 * @param row A row of a roster, after the header
+	 * @return A new, unsaved user with what the row gives
+	 * @throws IllegalArgumentException When the row is too short to be a roster row
+	 */
+	public static User toStudent(String[] row) {
+		if (row.length < ROSTER_COLUMNS) {
+			throw new IllegalArgumentException(String.format("The row has %d columns, expected %d",
+					row.length,
+					ROSTER_COLUMNS
+			));
 		}
-	}
 
-	public static List<User> csvToStudents(MultipartFile file)
-	throws Exception {
-		NativeJavaCsvParser parser        = new NativeJavaCsvParser();
-		File                convertedFile = convert(file);
-		List<String[]>      result        = parser.readFile(convertedFile, 1);
-		List<User>          userToCreate  = new ArrayList<>();
+		String email       = row[0];
+		String firstName   = row[1];
+		String lastName    = row[2];
+		String phoneNumber = row[3];
 
-		for (String[] userArr : result) {
-			String email       = userArr[0];
-			String firstName   = userArr[1];
-			String lastName    = userArr[2];
-			String phoneNumber = userArr[3];
-			String roleType    = userArr[4];
-
-			User newUser = new User();
-			newUser.setEmail(email);
-			newUser.setUsername(email);
-			newUser.setFirstName(firstName);
-			newUser.setLastName(lastName);
-			newUser.setPhoneNumber(phoneNumber);
-
-			newUser.setUserId(0);
-			userToCreate.add(newUser);
-		}
+		User newUser = new User();
+		newUser.setEmail(email);
+		newUser.setUsername(email);
+		newUser.setFirstName(firstName);
+		newUser.setLastName(lastName);
+		newUser.setPhoneNumber(phoneNumber);
 
-		return userToCreate;
+		newUser.setUserId(0);
+		return newUser;
 	}
 
 }
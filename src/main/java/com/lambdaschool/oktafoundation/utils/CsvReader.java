@@ -0,0 +1,199 @@
+package com.lambdaschool.oktafoundation.utils;
+
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ * Reads CSV (RFC 4180: comma separated, fields optionally in double quotes, "" for a quote inside one) a row at a
+ * time, straight off a stream.
+ * <p>
+ * The input is read through one fixed size char buffer and each field is built in one reused StringBuilder, so
+ * what is held at any time is a buffer and the current row, however long the input. Quoted fields may span lines.
+ * Lines may end in \n, \r\n, or \r. Blank lines are skipped.
+ */
+public final class CsvReader
+		implements Closeable {
+
+	public static final int BUFFER_SIZE = 8192;
+
+	private static final char SEPARATOR = ',';
+
+	private static final char QUOTE = '"';
+
+	private static final int END = -1;
+
+	private final Reader reader;
+
+	private final char[] buffer;
+
+	private int position;
+
+	private int limit;
+
+	private final StringBuilder field = new StringBuilder();
+
+	private final List<String> row = new ArrayList<>();
+
+	private long rowNumber;
+
+	public CsvReader(Reader reader) {
+		this(reader, BUFFER_SIZE);
+	}
+
+	CsvReader(
+			Reader reader,
+			int bufferSize
+	) {
+		this.reader = reader;
+		this.buffer = new char[bufferSize];
+	}
+
+	/**
+	 * @param in UTF-8 CSV, such as an upload's input stream. Closed when the reader is.
+	 * @return A reader of it
+	 */
+	public static CsvReader of(InputStream in) {
+		return new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @return The fields of the next row, or null at the end of the input
+	 * @throws IOException When the input cannot be read
+	 */
+	public String[] next()
+	throws IOException {
+		row.clear();
+		field.setLength(0);
+
+		int c = read();
+		while (c == '\n' || c == '\r') {
+			c = read();
+		}
+		if (c == END) {
+			return null;
+		}
+
+		while (true) {
+			if (c == QUOTE && field.length() == 0) {
+				c = readQuoted();
+			}
+
+			if (c == SEPARATOR) {
+				endField();
+			} else if (c == '\n' || c == '\r' || c == END) {
+				if (c == '\r' && peek() == '\n') {
+					read();
+				}
+				endField();
+				rowNumber++;
+				return row.toArray(new String[0]);
+			} else {
+				field.append((char) c);
+			}
+			c = read();
+		}
+	}
+
+	/**
+	 * @param skip     How many rows to skip first, such as 1 for a header
+	 * @param consumer Given each row after those, in order
+	 * @return How many rows the consumer was given
+	 * @throws IOException When the input cannot be read
+	 */
+	public long forEach(
+			int skip,
+			Consumer<String[]> consumer
+	)
+	throws IOException {
+		long     given = 0;
+		String[] fields;
+		while ((fields = next()) != null) {
+			if (rowNumber <= skip) {
+				continue;
+			}
+			consumer.accept(fields);
+			given++;
+		}
+		return given;
+	}
+
+	/**
+	 * @return The number of the row next() last returned, counting from 1
+	 */
+	public long getRowNumber() {
+		return rowNumber;
+	}
+
+	@Override
+	public void close()
+	throws IOException {
+		reader.close();
+	}
+
+	/**
+	 * Reads a quoted field up to its closing quote, into field
+	 *
+	 * @return The character after the closing quote
+	 */
+	private int readQuoted()
+	throws IOException {
+		while (true) {
+			int c = read();
+			if (c == END) {
+				return END;
+			}
+			if (c == QUOTE) {
+				if (peek() != QUOTE) {
+					return read();
+				}
+				read();
+			}
+			field.append((char) c);
+		}
+	}
+
+	private void endField() {
+		row.add(field.toString());
+		field.setLength(0);
+	}
+
+	private int read()
+	throws IOException {
+		if (position == limit && !fill()) {
+			return END;
+		}
+		return buffer[position++];
+	}
+
+	private int peek()
+	throws IOException {
+		if (position == limit && !fill()) {
+			return END;
+		}
+		return buffer[position];
+	}
+
+	private boolean fill()
+	throws IOException {
+		int read;
+		do {
+			read = reader.read(buffer, 0, buffer.length);
+		} while (read == 0);
+		if (read == END) {
+			return false;
+		}
+		position = 0;
+		limit    = read;
+		return true;
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.lambdaschool.oktafoundation.utils;
+
+
+import com.lambdaschool.oktafoundation.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+
+/**
+ * Opaque pagination cursors.
+ * <p>
+ * A cursor wraps a single position: for keyset listings it is the id of the last row the client has seen, for
+ * ranked searches it is the next page number. Clients are expected to treat the token as opaque and simply follow
+ * the "next" link, which lets us change what the position means without breaking anybody.
+ */
+public final class Cursor {
+
+	/**
+	 * Page size used when the client does not ask for one. A String so it can be used in @RequestParam defaults.
+	 */
+	public static final String DEFAULT_SIZE = "25";
+
+	public static final int MAX_SIZE = 100;
+
+	private static final String PREFIX = "c1:";
+
+	private Cursor() {}
+
+	/**
+	 * @param position The id of the last row on the page (or the next page number for searches)
+	 *
+	 * @return The opaque token to hand to the client
+	 */
+	public static String encode(long position) {
+		return Base64.getUrlEncoder()
+				.withoutPadding()
+				.encodeToString((PREFIX + position).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param cursor The token the client sent back, possibly null or blank for the first page
+	 *
+	 * @return The position the token wraps, 0 for the first page
+	 *
+	 * @throws InvalidCursorException if the token was not produced by {@link #encode(long)}
+	 */
+	public static long decode(String cursor)
+	throws InvalidCursorException {
+		if (cursor == null || cursor.isBlank()) {
+			return 0;
+		}
+		try {
+			String decoded = new String(Base64.getUrlDecoder()
+					.decode(cursor), StandardCharsets.UTF_8);
+			if (!decoded.startsWith(PREFIX)) {
+				throw new InvalidCursorException(cursor);
+			}
+			long position = Long.parseLong(decoded.substring(PREFIX.length()));
+			if (position < 0) {
+				throw new InvalidCursorException(cursor);
+			}
+			return position;
+		} catch (IllegalArgumentException e) {
+			// covers both bad base64 and NumberFormatException
+			throw new InvalidCursorException(cursor);
+		}
+	}
+
+	/**
+	 * Same as {@link #decode(String)}, for cursors that wrap a page number
+	 */
+	public static int decodePage(String cursor)
+	throws InvalidCursorException {
+		long page = decode(cursor);
+		if (page > Integer.MAX_VALUE) {
+			throw new InvalidCursorException(cursor);
+		}
+		return (int) page;
+	}
+
+	/**
+	 * Clamps a client supplied page size to 1..{@value #MAX_SIZE}
+	 */
+	public static int size(int requested) {
+		return Math.min(Math.max(requested, 1), MAX_SIZE);
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.lambdaschool.oktafoundation.utils;
+
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+
+/**
+ * ETags made from entity versions instead of from the rendered body, so that a GET whose If-None-Match still matches
+ * can be answered 304 Not Modified before anything is loaded or rendered.
+ * <p>
+ * Controllers hand the ETag to WebRequest.checkNotModified, which compares it with If-None-Match and puts it on the
+ * response either way. One entity gets a strong ETag, since the same version always renders the same. A listing
+ * gets a weak one: it is versioned by its whole table rather than by the page, so a change anywhere in the table
+ * changes it, or, where that aggregate would cost too much, by a digest of the rows on the page. Anything else the
+ * representation depends on, such as the caller's role (which decides the links), is part of the ETag too.
+ */
+public final class ETags {
+
+	private ETags() {}
+
+	/**
+	 * @param version What the service says the entity's version is
+	 * @param variant What else the representation depends on, if anything. Nulls are left out.
+	 * @return A strong ETag, quoted
+	 */
+	public static String strong(
+			String version,
+			Object... variant
+	) {
+		return "\"" + version + Arrays.stream(variant)
+				.filter(Objects::nonNull)
+				.map(part -> "-" + part)
+				.collect(Collectors.joining()) + "\"";
+	}
+
+	/**
+	 * @param version What the service says the listing's version is
+	 * @param variant What else the representation depends on, if anything
+	 * @return A weak ETag, quoted and prefixed with W/
+	 */
+	public static String weak(
+			String version,
+			Object... variant
+	) {
+		return "W/" + strong(version, variant);
+	}
+
+	/**
+	 * @param rowVersions The versions of the rows a page renders, in order
+	 * @return One short version for the whole page
+	 */
+	public static String digest(List<String> rowVersions) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(String.join(",", rowVersions)
+							.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getUrlEncoder()
+					.withoutPadding()
+					.encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			// every JRE has SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
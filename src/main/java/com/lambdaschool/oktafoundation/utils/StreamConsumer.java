@@ -0,0 +1,19 @@
+package com.lambdaschool.oktafoundation.utils;
+
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+
+/**
+ * Reads a stream a service hands over while its transaction is open, such as rows coming off a database cursor
+ *
+ * @param <T> What the stream holds
+ */
+@FunctionalInterface
+public interface StreamConsumer<T> {
+
+	void accept(Stream<T> stream)
+	throws IOException;
+
+}
@@ -0,0 +1,74 @@
+package com.lambdaschool.oktafoundation.utils;
+
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Limits how often something happens: the bucket holds up to burst tokens, refills at a steady rate, and every
+ * acquire takes a token, waiting for one when the bucket is empty. Safe to share between threads.
+ */
+public final class TokenBucket {
+
+	private final double capacity;
+
+	private final double tokensPerNano;
+
+	private final LongSupplier nanoTime;
+
+	private double tokens;
+
+	private long refilledAt;
+
+	/**
+	 * @param tokensPerSecond The steady rate
+	 * @param burst           How many tokens can be taken at once after a quiet spell. The bucket starts full.
+	 */
+	public TokenBucket(
+			double tokensPerSecond,
+			int burst
+	) {
+		this(tokensPerSecond, burst, System::nanoTime);
+	}
+
+	TokenBucket(
+			double tokensPerSecond,
+			int burst,
+			LongSupplier nanoTime
+	) {
+		if (tokensPerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("A token bucket needs a positive rate and a burst of at least 1");
+		}
+		this.capacity      = burst;
+		this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.nanoTime      = nanoTime;
+		this.tokens        = burst;
+		this.refilledAt    = nanoTime.getAsLong();
+	}
+
+	/**
+	 * Takes a token, waiting as long as it takes for one
+	 */
+	public void acquire() throws InterruptedException {
+		long wait;
+		while ((wait = tryAcquire()) > 0) {
+			TimeUnit.NANOSECONDS.sleep(wait);
+		}
+	}
+
+	/**
+	 * @return 0 when a token was taken, otherwise how many nanoseconds until there will be one
+	 */
+	synchronized long tryAcquire() {
+		long now = nanoTime.getAsLong();
+		tokens     = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+		refilledAt = now;
+		if (tokens >= 1) {
+			tokens--;
+			return 0;
+		}
+		return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+	}
+
+}
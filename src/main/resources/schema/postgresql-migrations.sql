@@ -0,0 +1,32 @@
+-- Brings a database created by an earlier version of the mapping up to the current one, for the changes
+-- ddl-auto=update cannot make by itself. Applied by SchemaMigrations on each startup against PostgreSQL, after
+-- Hibernate has updated the schema, so every statement is idempotent.
+
+-- Ids used to come from the shared hibernate_sequence. Each table now has its own pooled sequence, which Hibernate
+-- creates starting at 1, and the pooled optimizer hands out the ids above the sequence's value. Move each sequence
+-- past the highest id its table already holds so those ids are not handed out again.
+SELECT setval('users_seq', (SELECT max(user_id) FROM users))
+WHERE (SELECT max(user_id) FROM users) > (SELECT last_value FROM users_seq);
+
+SELECT setval('roles_seq', (SELECT max(role_id) FROM roles))
+WHERE (SELECT max(role_id) FROM roles) > (SELECT last_value FROM roles_seq);
+
+SELECT setval('programs_seq', (SELECT max(program_id) FROM programs))
+WHERE (SELECT max(program_id) FROM programs) > (SELECT last_value FROM programs_seq);
+
+SELECT setval('courses_seq', (SELECT max(course_id) FROM courses))
+WHERE (SELECT max(course_id) FROM courses) > (SELECT last_value FROM courses_seq);
+
+SELECT setval('modules_seq', (SELECT max(module_id) FROM modules))
+WHERE (SELECT max(module_id) FROM modules) > (SELECT last_value FROM modules_seq);
+
+SELECT setval('tags_seq', (SELECT max(tag_id) FROM tags))
+WHERE (SELECT max(tag_id) FROM tags) > (SELECT last_value FROM tags_seq);
+
+-- Optimistic lock versions of courses, programs, modules and tags. The mapping gives the column a default so
+-- Hibernate's own ALTER can fill the rows a table already has (without one, PostgreSQL rejects adding a NOT NULL
+-- column to a table with rows). This adds it the same way if that ALTER was ever skipped or failed.
+ALTER TABLE courses ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE programs ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE modules ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE tags ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,36 @@
+-- Search columns and indexes backing CourseRepository.searchRanked and UserRepository.searchRanked.
+-- Every statement is idempotent, this script is applied on each startup against PostgreSQL (12+).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE courses
+    ADD COLUMN IF NOT EXISTS search_text text GENERATED ALWAYS AS (
+        lower(coalesce(course_name, '') || ' ' || coalesce(course_description, '') || ' ' ||
+              coalesce(course_code, ''))
+        ) STORED;
+
+ALTER TABLE courses
+    ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(course_name, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(course_code, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(course_description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS courses_search_vector_idx ON courses USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS courses_search_text_trgm_idx ON courses USING gin (search_text gin_trgm_ops);
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS search_text text GENERATED ALWAYS AS (
+        lower(coalesce(username, '') || ' ' || coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' ||
+              coalesce(email, ''))
+        ) STORED;
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(username, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(first_name, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(last_name, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(email, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS users_search_vector_idx ON users USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS users_search_text_trgm_idx ON users USING gin (search_text gin_trgm_ops);
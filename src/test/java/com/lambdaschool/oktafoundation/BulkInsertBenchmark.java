@@ -0,0 +1,158 @@
+package com.lambdaschool.oktafoundation;
+
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.Module;
+import com.lambdaschool.oktafoundation.models.Program;
+import com.lambdaschool.oktafoundation.models.User;
+import com.lambdaschool.oktafoundation.repository.UserRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Bulk insert throughput with JDBC batching off (one statement per row, what every insert used to cost) and on
+ * (hibernate.jdbc.batch_size from application.properties).
+ * <p>
+ * Both runs use the pooled sequences, so this isolates batching. Before those were introduced every row also paid
+ * a sequence round trip of its own, which the unbatched numbers do not include.
+ * <p>
+ * Not part of the regular test run (the class name does not end in Test). Run it with
+ * {@code mvn test -Dtest=BulkInsertBenchmark}; each run inserts and then rolls back its rows.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = OktaFoundationApplicationTest.class)
+public class BulkInsertBenchmark
+{
+    private static final int ROWS   = 5_000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void bulkInsertThroughput()
+    {
+        // warm up the JIT, connection and statement caches
+        insertModules(1);
+        insertModules(null);
+
+        Result unbatched = best(1);
+        Result batched = best(null);
+
+        System.out.printf("unbatched: %,8.0f rows/s, %,6d statements%n",
+            unbatched.rowsPerSecond(),
+            unbatched.statements);
+        System.out.printf("batched:   %,8.0f rows/s, %,6d statements%n",
+            batched.rowsPerSecond(),
+            batched.statements);
+
+        assertTrue("batching should cut statements by an order of magnitude",
+            batched.statements * 10 <= unbatched.statements);
+    }
+
+    private Result best(Integer batchSize)
+    {
+        Result best = null;
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            Result result = insertModules(batchSize);
+            if (best == null || result.nanos < best.nanos)
+            {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Inserts ROWS modules under a fresh course, then rolls everything back
+     *
+     * @param batchSize The JDBC batch size for this session. Null for the configured one.
+     */
+    private Result insertModules(Integer batchSize)
+    {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status ->
+        {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(batchSize);
+
+            User owner = userRepository.findByUsername("admin");
+            Program program = new Program("Benchmark",
+                "benchmark",
+                "bulk insert benchmark");
+            program.setUser(owner);
+            entityManager.persist(program);
+            Course course = new Course("Benchmark",
+                "BENCH",
+                "bulk insert benchmark",
+                program);
+            entityManager.persist(course);
+            entityManager.flush();
+
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++)
+            {
+                entityManager.persist(new Module("Module " + i,
+                    "bulk insert benchmark",
+                    "# module " + i,
+                    course));
+                if (i % 500 == 499)
+                {
+                    entityManager.flush();
+                    entityManager.clear();
+                    course = entityManager.getReference(Course.class,
+                        course.getCourseId());
+                }
+            }
+            entityManager.flush();
+            long nanos = System.nanoTime() - start;
+            long statements = statistics.getPrepareStatementCount();
+
+            status.setRollbackOnly();
+            entityManager.clear();
+            return new Result(nanos,
+                statements);
+        });
+    }
+
+    private static class Result
+    {
+        final long nanos;
+        final long statements;
+
+        Result(long nanos,
+               long statements)
+        {
+            this.nanos = nanos;
+            this.statements = statements;
+        }
+
+        double rowsPerSecond()
+        {
+            return ROWS / (nanos / 1_000_000_000.0);
+        }
+    }
+}
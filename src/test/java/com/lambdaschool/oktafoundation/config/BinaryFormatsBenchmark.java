@@ -0,0 +1,273 @@
+package com.lambdaschool.oktafoundation.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.lambdaschool.oktafoundation.modelAssemblers.CourseModelAssembler;
+import com.lambdaschool.oktafoundation.modelAssemblers.ProgramModelAssembler;
+import com.lambdaschool.oktafoundation.modelAssemblers.UserModelAssembler;
+import com.lambdaschool.oktafoundation.models.Caller;
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.Program;
+import com.lambdaschool.oktafoundation.models.Role;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import com.lambdaschool.oktafoundation.models.User;
+import com.lambdaschool.oktafoundation.models.UserRoles;
+import com.lambdaschool.oktafoundation.services.HelperFunctionsImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Payload size and encode/decode time of a page of HAL courses, programs and users in JSON, CBOR and Smile, with
+ * mappers set up the way HypermediaConfig sets them up. Also checks that the binary formats carry exactly what the
+ * JSON carries, so the ignore rules on User, Course and Program hold in every format.
+ * <p>
+ * Not part of the regular test run (the class name does not end in Test). Run it with
+ * {@code mvn test -Dtest=BinaryFormatsBenchmark}. No application context is needed.
+ */
+public class BinaryFormatsBenchmark
+{
+    private static final int ENTITIES = 2_000;
+    private static final int ROUNDS   = 5;
+
+    private final ObjectMapper json  = halMapper(new ObjectMapper());
+    private final ObjectMapper cbor  = halMapper(new ObjectMapper(new CBORFactory()));
+    private final ObjectMapper smile = halMapper(new ObjectMapper(new SmileFactory()));
+
+    private final List<CollectionModel<?>> pages = new ArrayList<>();
+
+    /**
+     * The application's Jackson settings come from application.properties, so the ones that matter here are
+     * repeated
+     */
+    private static ObjectMapper halMapper(ObjectMapper objectMapper)
+    {
+        Jackson2ObjectMapperBuilder.json()
+            .failOnEmptyBeans(false)
+            .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+            .timeZone("America/Los_Angeles")
+            .configure(objectMapper);
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new DefaultLinkRelationProvider(),
+            CurieProvider.NONE,
+            MessageResolver.DEFAULTS_ONLY));
+        return objectMapper;
+    }
+
+    @Before
+    public void setUp()
+    {
+        Caller admin = new Caller(1,
+            "admin",
+            RoleType.ADMIN,
+            Set.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        SecurityContextHolder.getContext()
+            .setAuthentication(new UsernamePasswordAuthenticationToken(admin,
+                null,
+                admin.getAuthorities()));
+
+        HelperFunctionsImpl helperFunctions = new HelperFunctionsImpl();
+        Role teacher = new Role("TEACHER");
+
+        List<User> users = new ArrayList<>();
+        List<Program> programs = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < ENTITIES; i++)
+        {
+            User user = new User("user" + i,
+                "user" + i + "@lambdaschool.local",
+                "First" + i,
+                "Last" + i,
+                "555-555-5555");
+            user.setUserId(1_000 + i);
+            user.getRoles()
+                .add(new UserRoles(user,
+                    teacher));
+            users.add(user);
+
+            Program program = new Program("Program " + i,
+                "benchmark",
+                "binary formats benchmark");
+            program.setProgramId(1_000 + i);
+            program.setUser(user);
+            programs.add(program);
+
+            Course course = new Course("Course " + i,
+                "BENCH" + i,
+                "binary formats benchmark",
+                program);
+            course.setCourseId(1_000 + i);
+            program.getCourses()
+                .add(course);
+            courses.add(course);
+        }
+
+        CourseModelAssembler courseModelAssembler = new CourseModelAssembler(helperFunctions);
+        ProgramModelAssembler programModelAssembler = new ProgramModelAssembler(helperFunctions);
+        UserModelAssembler userModelAssembler = new UserModelAssembler(helperFunctions);
+        pages.add(CollectionModel.of(courses.stream()
+            .map(courseModelAssembler::toModel)
+            .collect(Collectors.toList())));
+        pages.add(CollectionModel.of(programs.stream()
+            .map(programModelAssembler::toModel)
+            .collect(Collectors.toList())));
+        pages.add(CollectionModel.of(users.stream()
+            .map(userModelAssembler::toModel)
+            .collect(Collectors.toList())));
+    }
+
+    @After
+    public void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void binaryFormatsCarryWhatJsonCarries() throws Exception
+    {
+        for (CollectionModel<?> page : pages)
+        {
+            JsonNode expected = json.readTree(json.writeValueAsBytes(page));
+
+            assertEquals(expected,
+                cbor.readTree(cbor.writeValueAsBytes(page)));
+            assertEquals(expected,
+                smile.readTree(smile.writeValueAsBytes(page)));
+        }
+
+        JsonNode course = embedded(cbor.readTree(cbor.writeValueAsBytes(pages.get(0))));
+        assertFalse(course.has("program"));
+        assertFalse(course.has("users"));
+        assertFalse(course.has("version"));
+        assertTrue(course.has("_links"));
+
+        JsonNode program = embedded(smile.readTree(smile.writeValueAsBytes(pages.get(1))));
+        assertFalse(program.has("courses"));
+        assertFalse(program.has("user"));
+
+        JsonNode user = embedded(cbor.readTree(cbor.writeValueAsBytes(pages.get(2))));
+        assertFalse(user.has("roles"));
+        assertFalse(user.has("programs"));
+        assertFalse(user.has("authority"));
+    }
+
+    @Test
+    public void sizeAndThroughput() throws Exception
+    {
+        // warm up the JIT
+        for (ObjectMapper mapper : List.of(json, cbor, smile))
+        {
+            encode(mapper);
+            decode(mapper,
+                payloads(mapper));
+        }
+
+        long jsonBytes = report("JSON ",
+            json);
+        long cborBytes = report("CBOR ",
+            cbor);
+        long smileBytes = report("Smile",
+            smile);
+
+        assertTrue("CBOR should be smaller than JSON",
+            cborBytes < jsonBytes);
+        assertTrue("Smile should be smaller than JSON",
+            smileBytes < jsonBytes);
+    }
+
+    private long report(String name,
+                        ObjectMapper mapper) throws Exception
+    {
+        List<byte[]> payloads = payloads(mapper);
+        long bytes = payloads.stream()
+            .mapToLong(payload -> payload.length)
+            .sum();
+        System.out.printf("%s %,10d bytes   encode %,8d us   decode %,8d us%n",
+            name,
+            bytes,
+            encode(mapper) / 1_000,
+            decode(mapper,
+                payloads) / 1_000);
+        return bytes;
+    }
+
+    private List<byte[]> payloads(ObjectMapper mapper) throws Exception
+    {
+        List<byte[]> payloads = new ArrayList<>();
+        for (CollectionModel<?> page : pages)
+        {
+            payloads.add(mapper.writeValueAsBytes(page));
+        }
+        return payloads;
+    }
+
+    /**
+     * @return The best time of a few rounds of writing every page, in nanoseconds
+     */
+    private long encode(ObjectMapper mapper) throws Exception
+    {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            long start = System.nanoTime();
+            for (CollectionModel<?> page : pages)
+            {
+                mapper.writeValueAsBytes(page);
+            }
+            best = Math.min(best,
+                System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * @return The best time of a few rounds of reading every page back, in nanoseconds
+     */
+    private long decode(ObjectMapper mapper,
+                        List<byte[]> payloads) throws Exception
+    {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            long start = System.nanoTime();
+            for (byte[] payload : payloads)
+            {
+                mapper.readTree(payload);
+            }
+            best = Math.min(best,
+                System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * @return The first entity embedded in a HAL collection
+     */
+    private static JsonNode embedded(JsonNode page)
+    {
+        JsonNode embedded = page.get("_embedded");
+        return embedded.get(embedded.fieldNames()
+            .next())
+            .get(0);
+    }
+}
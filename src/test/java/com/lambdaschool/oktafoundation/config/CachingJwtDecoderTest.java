@@ -0,0 +1,243 @@
+package com.lambdaschool.oktafoundation.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies tokens signed with locally generated keys, served by a JwksCache whose fetches run on the calling thread
+ */
+public class CachingJwtDecoderTest
+{
+    private static final String ISSUER   = "https://issuer.test/oauth2/default";
+    private static final String AUDIENCE = "api://default";
+
+    private static final long MIN_REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private RSAKey signingKey;
+
+    private JWKSet published;
+
+    private JwtDecoder verifying;
+
+    @Before
+    public void setUp()
+        throws JOSEException
+    {
+        signingKey = newKey("key-1");
+        published = new JWKSet(signingKey.toPublicJWK());
+
+        JwksCache keys = new JwksCache(() ->
+        {
+            fetches.incrementAndGet();
+            return published;
+        },
+            Runnable::run,
+            TimeUnit.HOURS.toNanos(1),
+            MIN_REFRESH_INTERVAL,
+            TimeUnit.SECONDS.toNanos(5),
+            nanos::get);
+        JwtDecoder decoder = JwtDecoderConfig.verifyingDecoder(keys,
+            ISSUER,
+            AUDIENCE);
+        verifying = token ->
+        {
+            verifications.incrementAndGet();
+            return decoder.decode(token);
+        };
+    }
+
+    private static RSAKey newKey(String keyId)
+        throws JOSEException
+    {
+        return new RSAKeyGenerator(2048).keyID(keyId)
+            .generate();
+    }
+
+    private static String sign(RSAKey key,
+                               String subject,
+                               Instant expiresAt)
+        throws JOSEException
+    {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder().issuer(ISSUER)
+            .audience(AUDIENCE)
+            .subject(subject)
+            .issueTime(Date.from(expiresAt.minus(Duration.ofHours(1))))
+            .expirationTime(Date.from(expiresAt))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID())
+            .build(),
+            claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private CachingJwtDecoder decoderAt(Instant now)
+    {
+        return new CachingJwtDecoder(verifying,
+            100,
+            Clock.fixed(now,
+                ZoneOffset.UTC));
+    }
+
+    @Test
+    public void verifiesEachTokenOnce()
+        throws JOSEException
+    {
+        CachingJwtDecoder decoder = decoderAt(Instant.now());
+        String token = sign(signingKey,
+            "admin",
+            Instant.now()
+                .plus(Duration.ofHours(1)));
+
+        for (int i = 0; i < 5; i++)
+        {
+            Jwt jwt = decoder.decode(token);
+            assertEquals("admin",
+                jwt.getSubject());
+        }
+
+        assertEquals(1,
+            verifications.get());
+        assertEquals(1,
+            fetches.get());
+        assertEquals(4,
+            decoder.getStatistics()
+                .getHits());
+    }
+
+    @Test
+    public void cachedTokensStopAtTheirExp()
+        throws JOSEException
+    {
+        Instant expiresAt = Instant.now()
+            .plus(Duration.ofMinutes(5));
+        String token = sign(signingKey,
+            "admin",
+            expiresAt);
+
+        decoderAt(Instant.now()).decode(token);
+        CachingJwtDecoder later = decoderAt(expiresAt);
+        later.decode(token);
+        later.decode(token);
+
+        // the token is still valid to the verifier (clock skew) but never served from the cache at its exp
+        assertEquals(3,
+            verifications.get());
+        assertEquals(0,
+            later.getStatistics()
+                .getHits());
+    }
+
+    @Test
+    public void rejectsATokenSignedWithAnotherKey()
+        throws JOSEException
+    {
+        RSAKey impostor = new RSAKeyGenerator(2048).keyID(signingKey.getKeyID())
+            .generate();
+        String token = sign(impostor,
+            "admin",
+            Instant.now()
+                .plus(Duration.ofHours(1)));
+
+        CachingJwtDecoder decoder = decoderAt(Instant.now());
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                decoder.decode(token);
+                fail("a forged token was accepted");
+            } catch (JwtException expected)
+            {
+                // verified, and rejected, every time
+            }
+        }
+        assertEquals(2,
+            verifications.get());
+    }
+
+    @Test
+    public void unknownKeyIdRefetchesTheKeys()
+        throws JOSEException
+    {
+        CachingJwtDecoder decoder = decoderAt(Instant.now());
+        decoder.decode(sign(signingKey,
+            "admin",
+            Instant.now()
+                .plus(Duration.ofHours(1))));
+
+        // the issuer rotates its keys
+        nanos.addAndGet(MIN_REFRESH_INTERVAL);
+        RSAKey rotated = newKey("key-2");
+        published = new JWKSet(rotated.toPublicJWK());
+
+        Jwt jwt = decoder.decode(sign(rotated,
+            "teacher",
+            Instant.now()
+                .plus(Duration.ofHours(1))));
+
+        assertEquals("teacher",
+            jwt.getSubject());
+        assertEquals(2,
+            fetches.get());
+    }
+
+    @Test
+    public void madeUpKeyIdsDoNotCauseAFetchEach()
+        throws JOSEException
+    {
+        CachingJwtDecoder decoder = decoderAt(Instant.now());
+        decoder.decode(sign(signingKey,
+            "admin",
+            Instant.now()
+                .plus(Duration.ofHours(1))));
+
+        for (int i = 0; i < 5; i++)
+        {
+            try
+            {
+                decoder.decode(sign(newKey("bogus-" + i),
+                    "admin",
+                    Instant.now()
+                        .plus(Duration.ofHours(1))));
+                fail("a token signed with an unknown key was accepted");
+            } catch (JwtException expected)
+            {
+                // no key with that id
+            }
+        }
+
+        // the first fetch, then nothing until MIN_REFRESH_INTERVAL has passed
+        assertEquals(1,
+            fetches.get());
+    }
+}
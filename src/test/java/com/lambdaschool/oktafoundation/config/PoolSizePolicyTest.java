@@ -0,0 +1,118 @@
+package com.lambdaschool.oktafoundation.config;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PoolSizePolicyTest
+{
+    private PoolSizePolicy policy;
+
+    @Before
+    public void setUp()
+    {
+        policy = new PoolSizePolicy(2,
+            20,
+            2,
+            5.0,
+            2.0);
+    }
+
+    /**
+     * @param acquires          connections handed out in the window
+     * @param meanAcquireMillis average wait for each of them
+     * @param meanUsageMillis   average time each was held
+     * @param timeouts          callers that gave up
+     */
+    private static PoolMetrics.Totals window(long acquires,
+                                             double meanAcquireMillis,
+                                             long meanUsageMillis,
+                                             long timeouts)
+    {
+        return new PoolMetrics.Totals(acquires,
+            (long) (acquires * meanAcquireMillis * 1_000_000),
+            acquires,
+            acquires * meanUsageMillis,
+            timeouts);
+    }
+
+    @Test
+    public void growsWhenCallersWaitOnAHealthyDatabase()
+    {
+        policy.resize(10,
+            window(100, 0.1, 4, 0),
+            0,
+            0);
+
+        assertEquals(12,
+            policy.resize(10,
+                window(100, 40, 5, 0),
+                3,
+                0));
+    }
+
+    @Test
+    public void shrinksWhenCallersWaitOnASaturatedDatabase()
+    {
+        policy.resize(10,
+            window(100, 0.1, 4, 0),
+            0,
+            0);
+
+        assertEquals(8,
+            policy.resize(10,
+                window(100, 40, 30, 0),
+                3,
+                0));
+    }
+
+    @Test
+    public void timeoutsCountAsWaiting()
+    {
+        assertEquals(12,
+            policy.resize(10,
+                window(10, 0.1, 4, 1),
+                0,
+                0));
+    }
+
+    @Test
+    public void givesBackIdleConnections()
+    {
+        assertEquals(8,
+            policy.resize(10,
+                window(100, 0.1, 4, 0),
+                0,
+                6));
+        assertEquals(4.0,
+            policy.getBaselineUsageMillis(),
+            0.001);
+    }
+
+    @Test
+    public void staysWithinBounds()
+    {
+        assertEquals(20,
+            policy.resize(20,
+                window(100, 40, 5, 0),
+                5,
+                0));
+        assertEquals(2,
+            policy.resize(2,
+                window(100, 0.1, 4, 0),
+                0,
+                2));
+    }
+
+    @Test
+    public void bucketsAcquireLatency()
+    {
+        assertEquals(0,
+            PoolMetrics.bucketOf(50_000));
+        assertEquals(1,
+            PoolMetrics.bucketOf(1_000_000));
+        assertEquals(PoolMetrics.BUCKET_BOUNDS.length,
+            PoolMetrics.bucketOf(5_000_000_000L));
+    }
+}
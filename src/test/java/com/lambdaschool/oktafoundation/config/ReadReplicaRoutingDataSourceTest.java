@@ -0,0 +1,128 @@
+package com.lambdaschool.oktafoundation.config;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Two in memory H2 databases stand in for the primary and a replica. Each holds a single row naming itself, so
+ * reading it back shows where a query was routed.
+ */
+public class ReadReplicaRoutingDataSourceTest
+{
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @Before
+    public void setUp()
+    {
+        DataSource primary = standIn("primary");
+        DataSource replica = standIn("replica");
+
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary,
+            Collections.singletonList(replica));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        ReadReplicaRoutingDataSource.clearPin();
+    }
+
+    @After
+    public void tearDown()
+    {
+        ReadReplicaRoutingDataSource.closePinScope();
+    }
+
+    private static DataSource standIn(String name)
+    {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1",
+            "sa",
+            "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM whoami");
+        jdbc.update("INSERT INTO whoami (name) VALUES (?)",
+            name);
+        return dataSource;
+    }
+
+    private String whoami()
+    {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami",
+            String.class);
+    }
+
+    @Test
+    public void readOnlyTransactionsGoToTheReplica()
+    {
+        assertEquals("replica",
+            readOnly.execute(status -> whoami()));
+        assertFalse(ReadReplicaRoutingDataSource.isPinnedToPrimary());
+    }
+
+    @Test
+    public void readWriteTransactionsGoToThePrimary()
+    {
+        assertEquals("primary",
+            readWrite.execute(status -> whoami()));
+    }
+
+    @Test
+    public void workOutsideATransactionGoesToThePrimary()
+    {
+        assertEquals("primary",
+            whoami());
+        assertFalse(ReadReplicaRoutingDataSource.isPinnedToPrimary());
+    }
+
+    @Test
+    public void readsAfterAWriteStayOnThePrimaryUntilTheRequestEnds()
+    {
+        ReadReplicaRoutingDataSource.openPinScope();
+        readWrite.execute(status -> jdbcTemplate.update("UPDATE whoami SET name = 'written'"));
+
+        assertTrue(ReadReplicaRoutingDataSource.isPinnedToPrimary());
+        assertEquals("written",
+            readOnly.execute(status -> whoami()));
+
+        ReadReplicaRoutingDataSource.closePinScope();
+        assertEquals("replica",
+            readOnly.execute(status -> whoami()));
+    }
+
+    @Test
+    public void withoutARequestThePinEndsWithTheWritingTransaction()
+    {
+        readWrite.execute(status ->
+        {
+            jdbcTemplate.update("UPDATE whoami SET name = 'written'");
+            assertTrue(ReadReplicaRoutingDataSource.isPinnedToPrimary());
+            return null;
+        });
+
+        assertFalse(ReadReplicaRoutingDataSource.isPinnedToPrimary());
+        assertEquals("replica",
+            readOnly.execute(status -> whoami()));
+    }
+}
@@ -0,0 +1,181 @@
+package com.lambdaschool.oktafoundation.modelAssemblers;
+
+import com.lambdaschool.oktafoundation.controllers.CourseController;
+import com.lambdaschool.oktafoundation.controllers.ModuleController;
+import com.lambdaschool.oktafoundation.controllers.ProgramController;
+import com.lambdaschool.oktafoundation.controllers.StudentTeacherController;
+import com.lambdaschool.oktafoundation.models.Caller;
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.Program;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import com.lambdaschool.oktafoundation.services.HelperFunctionsImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * CourseModelAssembler with its compiled link templates against what it used to do, one linkTo(methodOn(...)) per
+ * link per course, for an ADMIN caller (the largest link set).
+ * <p>
+ * Not part of the regular test run (the class name does not end in Test). Run it with
+ * {@code mvn test -Dtest=CourseLinksBenchmark}. No application context is needed.
+ */
+public class CourseLinksBenchmark
+{
+    private static final int COURSES = 2_000;
+    private static final int ROUNDS  = 5;
+
+    private final CourseModelAssembler assembler = new CourseModelAssembler(new HelperFunctionsImpl());
+
+    private final List<Course> courses = new ArrayList<>();
+
+    @Before
+    public void setUp()
+    {
+        Caller admin = new Caller(1,
+            "admin",
+            RoleType.ADMIN,
+            Set.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        SecurityContextHolder.getContext()
+            .setAuthentication(new UsernamePasswordAuthenticationToken(admin,
+                null,
+                admin.getAuthorities()));
+
+        Program program = new Program("Benchmark",
+            "benchmark",
+            "link benchmark");
+        program.setProgramId(3);
+        for (int i = 0; i < COURSES; i++)
+        {
+            Course course = new Course("Course " + i,
+                "BENCH" + i,
+                "link benchmark",
+                program);
+            course.setCourseId(1_000 + i);
+            courses.add(course);
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void templatedLinksThroughput()
+    {
+        for (Course course : courses.subList(0,
+            10))
+        {
+            assertEquals(toStrings(previousToModel(course)),
+                toStrings(assembler.toModel(course)));
+        }
+
+        // warm up the JIT
+        best(this::previousToModel);
+        best(assembler::toModel);
+
+        long previous = best(this::previousToModel);
+        long templated = best(assembler::toModel);
+
+        System.out.printf("linkTo per link:  %,8d ns per course%n",
+            previous / COURSES);
+        System.out.printf("link templates:   %,8d ns per course%n",
+            templated / COURSES);
+
+        assertTrue("expanding templates should beat building every link",
+            templated < previous);
+    }
+
+    private long best(Function<Course, EntityModel<Course>> toModel)
+    {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            long start = System.nanoTime();
+            for (Course course : courses)
+            {
+                toModel.apply(course);
+            }
+            best = Math.min(best,
+                System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static List<String> toStrings(EntityModel<Course> model)
+    {
+        List<String> links = new ArrayList<>();
+        for (Link link : model.getLinks())
+        {
+            links.add(link.getRel()
+                .value() + " " + link.getHref());
+        }
+        return links;
+    }
+
+    /**
+     * The links CourseModelAssembler built for an ADMIN before the templates
+     */
+    private EntityModel<Course> previousToModel(Course course)
+    {
+        try
+        {
+            return EntityModel.of(course,
+                linkTo(methodOn(CourseController.class).getCourseByCourseId(course.getCourseId(), null)).withSelfRel(),
+                linkTo(methodOn(ProgramController.class).getProgramById(course.getProgram()
+                    .getProgramId(),
+                    null)).withRel("program"),
+                linkTo(methodOn(CourseController.class).getAllCourses(null,
+                    null,
+                    null,
+                    null,
+                    null)).withRel("all_courses"),
+                linkTo(methodOn(ModuleController.class).getModulesByCourseId(course.getCourseId())).withRel("modules"),
+                linkTo(methodOn(StudentTeacherController.class).getAllEnrolled(course.getCourseId(),
+                    null,
+                    null)).withRel("enrolled_users"),
+                linkTo(methodOn(StudentTeacherController.class).getEnrolledTeachers(course.getCourseId(),
+                    null,
+                    null)).withRel("enrolled_teachers"),
+                linkTo(methodOn(StudentTeacherController.class).getEnrolledStudents(course.getCourseId(),
+                    null,
+                    null)).withRel("enrolled_students"),
+                linkTo(methodOn(StudentTeacherController.class).getAllNotEnrolled(course.getCourseId(),
+                    null,
+                    null)).withRel("available_users"),
+                linkTo(methodOn(StudentTeacherController.class).getDetachedTeachers(course.getCourseId(),
+                    null,
+                    null)).withRel("available_teachers"),
+                linkTo(methodOn(StudentTeacherController.class).getDetachedStudents(course.getCourseId(),
+                    null,
+                    null)).withRel("available_students"),
+                linkTo(methodOn(ModuleController.class).addNewModule(course.getCourseId(),
+                    null)).withRel("add_module"),
+                linkTo(methodOn(CourseController.class).updateCourse(course.getCourseId(),
+                    null)).withRel("edit_course"),
+                linkTo(methodOn(CourseController.class).updateFullCourse(course.getCourseId(),
+                    null)).withRel("replace_course"),
+                linkTo(methodOn(CourseController.class).deleteCourseById(course.getCourseId())).withRel("delete_course"));
+        } catch (Exception e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.lambdaschool.oktafoundation.modelAssemblers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The streamer writes one array, lets go of every row it has written, and clears the persistence context as it
+ * flushes, so a long stream never piles up in memory
+ */
+public class EntityModelStreamerTest
+{
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final RepresentationModelAssembler<Long, EntityModel<Map<String, Long>>> assembler =
+        id -> EntityModel.of(Map.of("id",
+            id));
+
+    private List<Object> detached;
+
+    private int clears;
+
+    private EntityModelStreamer streamer;
+
+    @Before
+    public void setUp()
+    {
+        detached = new ArrayList<>();
+        clears = 0;
+        EntityManager entityManager = (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+            new Class<?>[]{EntityManager.class},
+            (proxy, method, args) ->
+            {
+                switch (method.getName())
+                {
+                    case "detach":
+                        detached.add(args[0]);
+                        return null;
+                    case "clear":
+                        clears++;
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        streamer = new EntityModelStreamer(objectMapper,
+            entityManager);
+    }
+
+    @Test
+    public void writesEveryRowAsOneArray() throws Exception
+    {
+        int rows = 2 * EntityModelStreamer.FLUSH_EVERY + 3;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = streamer.write(LongStream.range(0,
+            rows)
+            .boxed(),
+            assembler,
+            out);
+
+        JsonNode array = objectMapper.readTree(out.toByteArray());
+        assertTrue(array.isArray());
+        assertEquals(rows,
+            array.size());
+        assertEquals(rows,
+            written);
+        assertEquals(rows - 1,
+            array.get(rows - 1)
+                .get("id")
+                .asLong());
+        assertEquals(rows,
+            detached.size());
+        assertEquals(2,
+            clears);
+    }
+
+    @Test
+    public void nothingToStreamIsAnEmptyArray() throws Exception
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = streamer.write(LongStream.empty()
+            .boxed(),
+            assembler,
+            out);
+
+        assertEquals("[]",
+            out.toString("UTF-8"));
+        assertEquals(0,
+            written);
+    }
+}
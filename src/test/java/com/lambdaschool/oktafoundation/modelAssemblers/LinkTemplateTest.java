@@ -0,0 +1,120 @@
+package com.lambdaschool.oktafoundation.modelAssemblers;
+
+import com.lambdaschool.oktafoundation.controllers.CourseController;
+import com.lambdaschool.oktafoundation.controllers.StudentTeacherController;
+import com.lambdaschool.oktafoundation.controllers.UserController;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * An expanded template has to be the very link WebMvcLinkBuilder makes, or clients following the hrefs break
+ */
+public class LinkTemplateTest
+{
+    @After
+    public void tearDown()
+    {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void idTemplatesMatchTheBuilder()
+    {
+        LinkTemplate course = LinkTemplate.ofId(id -> methodOn(CourseController.class).getCourseByCourseId(id, null));
+        LinkTemplate makeTeacher = LinkTemplate.ofId(id -> methodOn(UserController.class).updateUserRole(id,
+            RoleType.TEACHER));
+
+        assertEquals(linkTo(methodOn(CourseController.class).getCourseByCourseId(42, null)).toString(),
+            course.expand(42L));
+        assertEquals(linkTo(methodOn(UserController.class).updateUserRole(5L,
+            RoleType.TEACHER)).toString(),
+            makeTeacher.expand(5L));
+    }
+
+    @Test
+    public void namesAreEncodedLikeTheBuilderEncodesThem()
+    {
+        LinkTemplate byName = LinkTemplate.ofName(name -> methodOn(UserController.class).getUserByName(name));
+
+        for (String name : new String[]{"barnbarn", "a b/c", "100%", "x?y#z", "a+b&c=d", "se\u00f1or", "{braces}"})
+        {
+            assertEquals(name,
+                linkTo(methodOn(UserController.class).getUserByName(name)).toString(),
+                byName.expand(name));
+        }
+    }
+
+    @Test
+    public void requestParametersStayTemplated()
+    {
+        LinkTemplate enrolled = LinkTemplate.ofId(id -> methodOn(StudentTeacherController.class).getAllEnrolled(id,
+            null,
+            null));
+        Link link = enrolled.toLink("",
+            7L,
+            IanaLinkRelations.SELF);
+
+        assertEquals(linkTo(methodOn(StudentTeacherController.class).getAllEnrolled(7L,
+            null,
+            null)).toString(),
+            link.getHref());
+        assertTrue(link.isTemplated());
+        assertEquals(linkTo(methodOn(CourseController.class).getAllCourses(null,
+            null,
+            null,
+            null,
+            null)).toString(),
+            LinkTemplate.of(methodOn(CourseController.class).getAllCourses(null,
+                null,
+                null,
+                null,
+                null))
+                .expand(null));
+    }
+
+    @Test
+    public void templatedLinksLeaveTheVariableToTheClient()
+    {
+        LinkTemplate course = LinkTemplate.ofId(id -> methodOn(CourseController.class).getCourseByCourseId(id, null));
+        Link item = course.toTemplatedLink("",
+            "id",
+            IanaLinkRelations.ITEM);
+
+        assertEquals("/courses/course/{id}",
+            item.getHref());
+        assertEquals(course.expand(9L),
+            item.expand(9L)
+                .getHref());
+    }
+
+    @Test
+    public void linksStartWithTheBaseUriOfTheRequest()
+    {
+        LinkTemplate course = LinkTemplate.ofId(id -> methodOn(CourseController.class).getCourseByCourseId(id, null));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("lms.example.com");
+        request.setServerPort(8443);
+        request.setScheme("https");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertEquals("https://lms.example.com:8443",
+            LinkTemplate.currentBaseUri());
+        assertEquals(linkTo(methodOn(CourseController.class).getCourseByCourseId(3, null)).toString(),
+            course.toLink(LinkTemplate.currentBaseUri(),
+                3L,
+                IanaLinkRelations.SELF)
+                .getHref());
+    }
+}
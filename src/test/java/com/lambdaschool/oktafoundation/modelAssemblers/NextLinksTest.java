@@ -0,0 +1,86 @@
+package com.lambdaschool.oktafoundation.modelAssemblers;
+
+import com.lambdaschool.oktafoundation.controllers.TagController;
+import com.lambdaschool.oktafoundation.utils.Cursor;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+public class NextLinksTest
+{
+    @Test
+    public void keysetPageContinuesAfterItsLastRow()
+    {
+        SliceImpl<Long> page = new SliceImpl<>(List.of(4L,
+            9L,
+            17L),
+            PageRequest.of(0,
+                3),
+            true);
+
+        assertEquals(17L,
+            Cursor.decode(NextLinks.cursorAfter(page,
+                Long::longValue)));
+    }
+
+    @Test
+    public void rankedPageContinuesAtTheNextPage()
+    {
+        SliceImpl<Long> page = new SliceImpl<>(List.of(4L),
+            PageRequest.of(2,
+                1),
+            true);
+
+        assertEquals(3,
+            Cursor.decodePage(NextLinks.cursorAfterPage(page)));
+    }
+
+    @Test
+    public void lastPageHasNoNextLink()
+    {
+        SliceImpl<Long> page = new SliceImpl<>(List.of(4L),
+            PageRequest.of(0,
+                3),
+            false);
+        CollectionModel<Long> model = CollectionModel.of(page.getContent());
+
+        assertNull(NextLinks.cursorAfter(page,
+            Long::longValue));
+        assertNull(NextLinks.cursorAfterPage(page));
+
+        NextLinks.addAfter(model,
+            page,
+            Long::longValue,
+            next ->
+            {
+                throw new AssertionError("no link to build");
+            });
+        assertFalse(model.hasLink(IanaLinkRelations.NEXT));
+    }
+
+    @Test
+    public void addsTheLinkTheInvocationBuilds()
+    {
+        CollectionModel<Long> model = CollectionModel.of(List.of());
+
+        NextLinks.add(model,
+            "abc",
+            next -> methodOn(TagController.class).getAll(next,
+                10,
+                null));
+        assertEquals(linkTo(methodOn(TagController.class).getAll("abc",
+                10,
+                null)).withRel(IanaLinkRelations.NEXT),
+            model.getRequiredLink(IanaLinkRelations.NEXT));
+    }
+}
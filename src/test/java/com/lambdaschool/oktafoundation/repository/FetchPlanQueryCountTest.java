@@ -0,0 +1,221 @@
+package com.lambdaschool.oktafoundation.repository;
+
+import com.lambdaschool.oktafoundation.OktaFoundationApplicationTest;
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.Module;
+import com.lambdaschool.oktafoundation.models.Program;
+import com.lambdaschool.oktafoundation.models.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pins the number of statements each list query issues, including everything its model assembler touches.
+ * A change to a mapping or an entity graph that brings back an N+1 shows up here as a different count.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = OktaFoundationApplicationTest.class)
+@Transactional
+public class FetchPlanQueryCountTest
+{
+    private static final int COURSES            = 5;
+    private static final int MODULES_PER_COURSE = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    private Statistics statistics;
+
+    private long ownerId;
+
+    private long programId;
+
+    @Before
+    public void setUp()
+    {
+        User owner = userRepository.findByUsername("admin");
+        ownerId = owner.getUserId();
+
+        Program program = new Program("Fetch Plans",
+            "test",
+            "program seeded for query counts");
+        program.setUser(owner);
+        programId = programRepository.save(program)
+            .getProgramId();
+
+        for (int i = 0; i < COURSES; i++)
+        {
+            Course course = courseRepository.save(new Course("Course " + i,
+                "FP" + i,
+                "course seeded for query counts",
+                program));
+            for (int j = 0; j < MODULES_PER_COURSE; j++)
+            {
+                moduleRepository.save(new Module("Module " + i + "." + j,
+                    "module seeded for query counts",
+                    "# content",
+                    course));
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void listModulesIsOneStatement()
+    {
+        Slice<Module> page = moduleRepository.findByModuleIdGreaterThan(0,
+            PageRequest.of(0,
+                25,
+                Sort.by("moduleId")));
+
+        assertEquals(COURSES * MODULES_PER_COURSE,
+            page.getNumberOfElements());
+        for (Module module : page)
+        {
+            // the links ModuleModelAssembler builds
+            module.getCourse()
+                .getCourseId();
+            module.getCourse()
+                .getProgram()
+                .getProgramId();
+        }
+
+        assertEquals(1,
+            statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void listCoursesIsOneStatement()
+    {
+        Slice<Course> page = courseRepository.findByCourseIdGreaterThan(0,
+            PageRequest.of(0,
+                25,
+                Sort.by("courseId")));
+
+        assertEquals(COURSES,
+            page.getNumberOfElements());
+        for (Course course : page)
+        {
+            // the link CourseModelAssembler builds
+            course.getProgram()
+                .getProgramId();
+        }
+
+        assertEquals(1,
+            statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void listCoursesByProgramIsOneStatement()
+    {
+        List<Course> courses = courseRepository.findCoursesByProgram_ProgramId(programId);
+
+        assertEquals(COURSES,
+            courses.size());
+        for (Course course : courses)
+        {
+            course.getProgram()
+                .getProgramName();
+        }
+
+        assertEquals(1,
+            statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void listProgramsLoadsOwnerRolesInOneBatch()
+    {
+        List<Program> programs = programRepository.findProgramsByUserId(ownerId);
+
+        assertTrue(programs.size() >= 1);
+        for (Program program : programs)
+        {
+            // the links ProgramModelAssembler builds
+            program.getUser()
+                .getUserId();
+        }
+
+        // programs joined to their owner, then one batch for the owners' (EAGER) roles
+        assertEquals(2,
+            statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void listUsersLoadsRolesInOneBatch()
+    {
+        Slice<User> page = userRepository.findByUserIdGreaterThan(0,
+            PageRequest.of(0,
+                10,
+                Sort.by("userId")));
+
+        assertEquals(10,
+            page.getNumberOfElements());
+        for (User user : page)
+        {
+            user.getRole();
+        }
+
+        // the page itself, then a single batch for every user's roles
+        assertEquals(2,
+            statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void streamUsersIsOneStatement()
+    {
+        int users = 0;
+        try (Stream<User> stream = userRepository.streamAll())
+        {
+            for (User user : (Iterable<User>) stream::iterator)
+            {
+                // what UserModelAssembler reads, then detached as EntityModelStreamer does
+                user.getRole();
+                user.getRoles()
+                    .forEach(userRoles -> userRoles.getRole()
+                        .getName());
+                entityManager.detach(user);
+                users++;
+            }
+        }
+
+        assertTrue(users >= 1);
+        // the roles come in the same rows as their users
+        assertEquals(1,
+            statistics.getPrepareStatementCount());
+    }
+}
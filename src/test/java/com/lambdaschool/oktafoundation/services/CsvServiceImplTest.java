@@ -0,0 +1,209 @@
+package com.lambdaschool.oktafoundation.services;
+
+import com.lambdaschool.oktafoundation.OktaFoundationApplicationTest;
+import com.lambdaschool.oktafoundation.exceptions.ResourceNotFoundException;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import com.lambdaschool.oktafoundation.models.RosterImportJob;
+import com.lambdaschool.oktafoundation.models.RosterImportStatus;
+import com.lambdaschool.oktafoundation.repository.CourseRepository;
+import com.lambdaschool.oktafoundation.repository.RosterImportJobRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.servlet.MultipartConfigElement;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * A roster imported in the background, in chunks of two rows so that a bad row sends its chunk down the row by row
+ * path while the other chunks commit whole
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = OktaFoundationApplicationTest.class,
+    properties = {
+        "roster-import.chunk-size=2"})
+@WithMockUser(username = "admin",
+    roles = {"ADMIN"})
+public class CsvServiceImplTest
+{
+    @Autowired
+    private CsvService csvService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentCountService enrollmentCountService;
+
+    @Autowired
+    private RosterImportJobRepository rosterImportJobRepository;
+
+    @Autowired
+    private MultipartConfigElement multipartConfig;
+
+    @MockBean
+    private OktaSDKService okta;
+
+    @Before
+    public void setUp() throws InterruptedException
+    {
+        Mockito.when(okta.containsUser(anyString(),
+            any()))
+            .thenReturn(true);
+    }
+
+    private RosterImportJob awaitJob(long jobId) throws InterruptedException
+    {
+        for (int i = 0; i < 100; i++)
+        {
+            RosterImportJob job = csvService.findImportJobById(jobId);
+            if (job.isDone())
+            {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Roster import job " + jobId + " did not finish");
+    }
+
+    @Test
+    public void importsGoodRowsAndRecordsBadOnes() throws Exception
+    {
+        String roster = "email,firstname,lastname,phonenumber,role\n" +
+            "rosterjob1@lambdaschool.local,Roster,One,555-555-5555,STUDENT\n" +
+            "rosterjob2@lambdaschool.local,Roster,Two,555-555-5555,STUDENT\n" +
+            "rosterjob3@lambdaschool.local,Roster,Three,555-555-5555,STUDENT\n" +
+            "rosterjob4@lambdaschool.local,too short\n" +
+            "rosterjob5@lambdaschool.local,Roster,Five,555-555-5555,STUDENT\n";
+        MockMultipartFile file = new MockMultipartFile("file",
+            "roster.csv",
+            "text/csv",
+            roster.getBytes(StandardCharsets.UTF_8));
+
+        RosterImportJob queued = csvService.importRoster(file,
+            null);
+        RosterImportJob job = awaitJob(queued.getJobId());
+
+        assertEquals(RosterImportStatus.SUCCEEDED,
+            job.getStatus());
+        assertEquals("admin",
+            job.getSubmittedBy());
+        assertEquals(5,
+            job.getRowsProcessed());
+        assertEquals(4,
+            job.getCreated());
+        assertEquals(1,
+            job.getFailed());
+        assertEquals(5,
+            job.getFailures()
+                .get(0)
+                .getRowNumber());
+        assertEquals("rosterjob4@lambdaschool.local",
+            job.getFailures()
+                .get(0)
+                .getEmail());
+
+        // the rest of the bad row's chunk was kept
+        assertTrue(userService.findByEmail("rosterjob3@lambdaschool.local")
+            .isPresent());
+        assertTrue(userService.findByEmail("rosterjob5@lambdaschool.local")
+            .isPresent());
+    }
+
+    @Test
+    public void enrollsEachUserOnceWithoutDuplicatingThem() throws Exception
+    {
+        long courseId = courseRepository.findByCourseName("Course2")
+            .orElseThrow()
+            .getCourseId();
+        long students = enrollmentCountService.findByCourseId(courseId)
+            .getOrDefault(RoleType.STUDENT,
+                0L);
+
+        // the seeded student is already in Course2, and the second new student is listed twice
+        String roster = "email,firstname,lastname,phonenumber,role\n" +
+            "reach.lms.test+Student001@gmail.com,Student001,STUDENT_001,,STUDENT\n" +
+            "rosterbulk1@lambdaschool.local,Roster,One,555-555-5555,STUDENT\n" +
+            "rosterbulk2@lambdaschool.local,Roster,Two,555-555-5555,STUDENT\n" +
+            "rosterbulk2@lambdaschool.local,Roster,Again,555-555-5555,STUDENT\n";
+        MockMultipartFile file = new MockMultipartFile("file",
+            "roster.csv",
+            "text/csv",
+            roster.getBytes(StandardCharsets.UTF_8));
+
+        RosterImportJob job = awaitJob(csvService.importRoster(file,
+            courseId)
+            .getJobId());
+
+        assertEquals(RosterImportStatus.SUCCEEDED,
+            job.getStatus());
+        assertEquals(4,
+            job.getRowsProcessed());
+        assertEquals(2,
+            job.getCreated());
+        assertEquals(2,
+            job.getEnrolled());
+        assertEquals(0,
+            job.getFailed());
+        assertEquals("Two",
+            userService.findByEmail("rosterbulk2@lambdaschool.local")
+                .orElseThrow()
+                .getLastName());
+        assertEquals(Long.valueOf(students + 2),
+            enrollmentCountService.findByCourseId(courseId)
+                .get(RoleType.STUDENT));
+    }
+
+    @Test
+    public void aLargeRosterFitsInAnUpload()
+    {
+        // the 500k-row roster CsvReaderTest streams
+        long rosterBytes = 500_000L * "reach.lms.test@example.com,First,Last,123456789,STUDENT\n".length();
+
+        assertTrue(multipartConfig.getMaxFileSize() >= rosterBytes);
+        assertTrue(multipartConfig.getMaxRequestSize() >= multipartConfig.getMaxFileSize());
+        assertEquals(0,
+            multipartConfig.getFileSizeThreshold());
+    }
+
+    @Test(expected = ResourceNotFoundException.class)
+    @WithMockUser(username = "teacher",
+        roles = {"TEACHER"})
+    public void othersCannotReadAJob()
+    {
+        RosterImportJob job = rosterImportJobRepository.save(new RosterImportJob(null,
+            "roster.csv",
+            "admin"));
+
+        csvService.findImportJobById(job.getJobId());
+    }
+
+    @Test
+    @WithMockUser(username = "teacher",
+        roles = {"TEACHER"})
+    public void theSubmitterCanReadTheirJob()
+    {
+        RosterImportJob job = rosterImportJobRepository.save(new RosterImportJob(null,
+            "roster.csv",
+            "teacher"));
+
+        assertEquals("teacher",
+            csvService.findImportJobById(job.getJobId())
+                .getSubmittedBy());
+    }
+}
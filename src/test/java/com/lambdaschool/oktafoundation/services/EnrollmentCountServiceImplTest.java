@@ -0,0 +1,141 @@
+package com.lambdaschool.oktafoundation.services;
+
+import com.lambdaschool.oktafoundation.OktaFoundationApplicationTest;
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.EnrollmentCount;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import com.lambdaschool.oktafoundation.repository.CourseRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * The tally on its own, then the counters themselves against the seeded H2 database
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = OktaFoundationApplicationTest.class)
+@Transactional
+public class EnrollmentCountServiceImplTest
+{
+    @Autowired
+    private EnrollmentCountService enrollmentCountService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private static Object[] row(long courseId,
+                                long userId,
+                                RoleType role)
+    {
+        return new Object[]{courseId, userId, role};
+    }
+
+    private static Map<String, Long> byKey(List<EnrollmentCount> counts)
+    {
+        Map<String, Long> map = new HashMap<>();
+        for (EnrollmentCount count : counts)
+        {
+            map.put(count.getCourseId() + ":" + count.getRole(),
+                count.getEnrolled());
+        }
+        return map;
+    }
+
+    @Test
+    public void tallyCountsEachUserOnceUnderTheirHighestRole()
+    {
+        Map<String, Long> counts = byKey(EnrollmentCountServiceImpl.tally(Arrays.asList(
+            row(1, 10, RoleType.STUDENT),
+            row(1, 11, RoleType.STUDENT),
+            // a student who is also a teacher counts as a teacher only
+            row(1, 12, RoleType.STUDENT),
+            row(1, 12, RoleType.TEACHER),
+            row(2, 10, RoleType.STUDENT))));
+
+        assertEquals(Long.valueOf(2),
+            counts.get("1:STUDENT"));
+        assertEquals(Long.valueOf(1),
+            counts.get("1:TEACHER"));
+        assertEquals(Long.valueOf(1),
+            counts.get("2:STUDENT"));
+        assertEquals(3,
+            counts.size());
+    }
+
+    @Test
+    public void tallyLeavesOutAdmins()
+    {
+        Map<String, Long> counts = byKey(EnrollmentCountServiceImpl.tally(Arrays.asList(
+            row(1, 10, RoleType.ADMIN),
+            row(1, 10, RoleType.STUDENT),
+            row(1, 11, RoleType.STUDENT))));
+
+        assertFalse(counts.containsKey("1:ADMIN"));
+        assertEquals(Long.valueOf(1),
+            counts.get("1:STUDENT"));
+    }
+
+    @Test
+    public void incrementCreatesACounterThenAddsToIt()
+    {
+        Course course2 = courseRepository.findByCourseName("Course2")
+            .orElseThrow();
+        long courseId = courseService.save(course2.getProgram()
+                .getProgramId(),
+            new Course("Counted",
+                "COUNTED",
+                "course with no counters yet",
+                null))
+            .getCourseId();
+
+        enrollmentCountService.increment(courseId,
+            RoleType.TEACHER);
+        enrollmentCountService.increment(courseId,
+            RoleType.TEACHER,
+            2);
+        enrollmentCountService.increment(courseId,
+            RoleType.ADMIN);
+
+        assertEquals(Map.of(RoleType.TEACHER,
+            3L),
+            enrollmentCountService.findByCourseId(courseId));
+    }
+
+    @Test
+    public void recountStartsOverFromTheEnrollments()
+    {
+        long courseId = courseRepository.findByCourseName("Course2")
+            .orElseThrow()
+            .getCourseId();
+        // loads the course's counters into the persistence context
+        Map<RoleType, Long> counted = enrollmentCountService.findByCourseId(courseId);
+
+        enrollmentCountService.increment(courseId,
+            RoleType.STUDENT,
+            100);
+        enrollmentCountService.recount(List.of(courseId));
+        // nothing is left to update a counter recount deleted
+        entityManager.flush();
+
+        assertEquals(counted,
+            enrollmentCountService.findByCourseId(courseId));
+    }
+}
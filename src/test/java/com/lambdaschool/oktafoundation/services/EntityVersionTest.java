@@ -0,0 +1,93 @@
+package com.lambdaschool.oktafoundation.services;
+
+import com.lambdaschool.oktafoundation.OktaFoundationApplicationTest;
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.Module;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * The ETags are only as good as the versions behind them: an update has to change both the entity's version and
+ * the version of its listing, and reading them must not need the entity
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = OktaFoundationApplicationTest.class)
+@Transactional
+public class EntityVersionTest
+{
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Test
+    public void updatingACourseChangesItsVersions()
+    {
+        Course course = courseService.findAllAfter(0,
+            1)
+            .getContent()
+            .get(0);
+        String version = courseService.findVersion(course.getCourseId());
+        String pageVersion = courseService.findPageVersion(0,
+            1);
+
+        Course rename = new Course();
+        rename.setCourseName("Renamed " + course.getCourseName());
+        courseService.update(course.getCourseId(),
+            rename);
+
+        assertNotEquals(version,
+            courseService.findVersion(course.getCourseId()));
+        assertNotEquals(pageVersion,
+            courseService.findPageVersion(0,
+                1));
+    }
+
+    @Test
+    public void replacingACourseKeepsItsVersion()
+    {
+        Course course = courseService.findAllAfter(0,
+            1)
+            .getContent()
+            .get(0);
+        Course rename = new Course();
+        rename.setCourseName("Renamed " + course.getCourseName());
+        courseService.update(course.getCourseId(),
+            rename);
+
+        // a replacement carries no version of its own, it is merged with the row's
+        Course replacement = new Course("Replaced",
+            course.getCourseCode(),
+            course.getCourseDescription(),
+            null);
+        replacement.setCourseId(course.getCourseId());
+        Course replaced = courseService.save(course.getProgram()
+                .getProgramId(),
+            replacement);
+
+        assertEquals("Replaced",
+            replaced.getCourseName());
+    }
+
+    @Test
+    public void readingAVersionDoesNotChangeIt()
+    {
+        Module module = moduleService.findAllAfter(0,
+            1)
+            .getContent()
+            .get(0);
+
+        assertEquals(moduleService.findVersion(module.getModuleId()),
+            moduleService.findVersion(module.getModuleId()));
+        assertEquals(moduleService.findListVersion(),
+            moduleService.findListVersion());
+    }
+}
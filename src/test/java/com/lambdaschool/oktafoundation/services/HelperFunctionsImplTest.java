@@ -0,0 +1,64 @@
+package com.lambdaschool.oktafoundation.services;
+
+import com.lambdaschool.oktafoundation.models.Caller;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * A request authenticated by JwtAuthenticationFilter carries a Caller, which answers who is calling without a
+ * UserService (there is none here, so any lookup would fail)
+ */
+public class HelperFunctionsImplTest
+{
+    private final HelperFunctionsImpl helperFunctions = new HelperFunctionsImpl();
+
+    private Caller caller;
+
+    @Before
+    public void setUp()
+    {
+        caller = new Caller(7,
+            "barnbarn",
+            RoleType.TEACHER,
+            Set.of(new SimpleGrantedAuthority("ROLE_TEACHER"),
+                new SimpleGrantedAuthority("ROLE_STUDENT")));
+        SecurityContextHolder.getContext()
+            .setAuthentication(new UsernamePasswordAuthenticationToken(caller,
+                null,
+                caller.getAuthorities()));
+    }
+
+    @After
+    public void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void callerComesFromTheSecurityContext()
+    {
+        assertSame(caller,
+            helperFunctions.getCaller());
+        assertEquals("barnbarn",
+            SecurityContextHolder.getContext()
+                .getAuthentication()
+                .getName());
+    }
+
+    @Test
+    public void priorityRoleComesFromTheCaller()
+    {
+        assertEquals(RoleType.TEACHER,
+            helperFunctions.getCurrentPriorityRole());
+    }
+}
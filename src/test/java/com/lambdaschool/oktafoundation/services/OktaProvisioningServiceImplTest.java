@@ -0,0 +1,199 @@
+package com.lambdaschool.oktafoundation.services;
+
+import com.lambdaschool.oktafoundation.OktaFoundationApplicationTest;
+import com.lambdaschool.oktafoundation.models.OktaProvisioningStatus;
+import com.lambdaschool.oktafoundation.models.OktaProvisioningTask;
+import com.lambdaschool.oktafoundation.models.User;
+import com.lambdaschool.oktafoundation.models.UserRoles;
+import com.lambdaschool.oktafoundation.repository.OktaProvisioningTaskRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * The Okta provisioning outbox, drained against a mocked Okta with short backoffs, so that a retry or a dead letter
+ * takes milliseconds
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = OktaFoundationApplicationTest.class,
+    properties = {
+        "okta-provisioning.poll-interval-ms=50",
+        "okta-provisioning.backoff-ms=10",
+        "okta-provisioning.max-backoff-ms=20",
+        "okta-provisioning.max-attempts=3",
+        "okta-provisioning.rate-per-second=1000"})
+@WithMockUser(username = "admin",
+    roles = {"ADMIN"})
+public class OktaProvisioningServiceImplTest
+{
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private OktaProvisioningTaskRepository oktaProvisioningTaskRepository;
+
+    @MockBean
+    private OktaSDKService okta;
+
+    private void saveStudent(String email)
+    {
+        User student = new User(email,
+            email,
+            "Outbox",
+            "Student",
+            null);
+        student.getRoles()
+            .add(new UserRoles(student,
+                roleService.findByName("STUDENT")));
+        userService.saveAndProvision(student);
+    }
+
+    private Optional<OktaProvisioningTask> findTask(String email)
+    {
+        return StreamSupport.stream(oktaProvisioningTaskRepository.findAll()
+            .spliterator(),
+            false)
+            .filter(task -> task.getEmail()
+                .equals(email))
+            .findFirst();
+    }
+
+    private Optional<OktaProvisioningTask> awaitTask(String email,
+                                                     Predicate<Optional<OktaProvisioningTask>> done)
+        throws InterruptedException
+    {
+        for (int i = 0; i < 100; i++)
+        {
+            Optional<OktaProvisioningTask> task = findTask(email);
+            if (done.test(task))
+            {
+                return task;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("The Okta provisioning task for " + email + " did not finish");
+    }
+
+    @Test
+    public void createsASavedUserInOkta() throws Exception
+    {
+        saveStudent("outbox1@lambdaschool.local");
+
+        awaitTask("outbox1@lambdaschool.local",
+            Optional::isEmpty);
+        Mockito.verify(okta)
+            .createOktaUser(eq("outbox1@lambdaschool.local"),
+                eq("Outbox"),
+                eq("Student"),
+                eq("STUDENT"),
+                any());
+    }
+
+    @Test
+    public void leavesUsersWhoAreInOktaAlready() throws Exception
+    {
+        Mockito.when(okta.containsUser(eq("outbox2@lambdaschool.local"),
+            any()))
+            .thenReturn(true);
+
+        saveStudent("outbox2@lambdaschool.local");
+
+        awaitTask("outbox2@lambdaschool.local",
+            Optional::isEmpty);
+        Mockito.verify(okta,
+            Mockito.never())
+            .createOktaUser(eq("outbox2@lambdaschool.local"),
+                anyString(),
+                anyString(),
+                anyString(),
+                any());
+    }
+
+    @Test
+    public void retriesAFailedAttempt() throws Exception
+    {
+        Mockito.when(okta.containsUser(eq("outbox3@lambdaschool.local"),
+            any()))
+            .thenThrow(new RuntimeException("Too Many Requests"))
+            .thenReturn(false);
+
+        saveStudent("outbox3@lambdaschool.local");
+
+        awaitTask("outbox3@lambdaschool.local",
+            Optional::isEmpty);
+        Mockito.verify(okta,
+            Mockito.times(2))
+            .containsUser(eq("outbox3@lambdaschool.local"),
+                any());
+        Mockito.verify(okta)
+            .createOktaUser(eq("outbox3@lambdaschool.local"),
+                eq("Outbox"),
+                eq("Student"),
+                eq("STUDENT"),
+                any());
+    }
+
+    @Test
+    public void deadLettersAfterTheLastAttempt() throws Exception
+    {
+        Mockito.when(okta.containsUser(eq("outbox4@lambdaschool.local"),
+            any()))
+            .thenThrow(new RuntimeException("Okta is down"));
+
+        saveStudent("outbox4@lambdaschool.local");
+
+        OktaProvisioningTask task = awaitTask("outbox4@lambdaschool.local",
+            found -> found.isPresent() && found.get()
+                .getStatus() == OktaProvisioningStatus.DEAD).get();
+        assertEquals(3,
+            task.getAttempts());
+        assertEquals("Okta is down",
+            task.getLastError());
+        Mockito.verify(okta,
+            Mockito.never())
+            .createOktaUser(eq("outbox4@lambdaschool.local"),
+                anyString(),
+                anyString(),
+                anyString(),
+                any());
+    }
+
+    @Test
+    public void backoffDoublesUpToTheLongestDelay()
+    {
+        assertEquals(1000,
+            OktaProvisioningServiceImpl.backoff(1,
+                1000,
+                60_000));
+        assertEquals(8000,
+            OktaProvisioningServiceImpl.backoff(4,
+                1000,
+                60_000));
+        assertEquals(60_000,
+            OktaProvisioningServiceImpl.backoff(7,
+                1000,
+                60_000));
+        // far past where doubling would overflow
+        assertEquals(60_000,
+            OktaProvisioningServiceImpl.backoff(200,
+                1000,
+                60_000));
+    }
+}
@@ -0,0 +1,162 @@
+package com.lambdaschool.oktafoundation.services;
+
+import com.lambdaschool.oktafoundation.models.CacheStatistics;
+import com.lambdaschool.oktafoundation.models.Caller;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PrincipalCacheImplTest
+{
+    private static final long TTL = 1_000;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private PrincipalCacheImpl cache;
+
+    @Before
+    public void setUp()
+    {
+        cache = new PrincipalCacheImpl(10,
+            TTL,
+            now::get);
+    }
+
+    private Caller load(String username)
+    {
+        loads.incrementAndGet();
+        return new Caller(loads.get(),
+            username,
+            RoleType.ADMIN,
+            Set.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    @Test
+    public void secondLookupIsAHit()
+    {
+        Caller first = cache.get("admin",
+            this::load);
+        Caller second = cache.get("admin",
+            this::load);
+
+        assertSame(first,
+            second);
+        assertEquals(1,
+            loads.get());
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1,
+            statistics.getHits());
+        assertEquals(1,
+            statistics.getMisses());
+        assertEquals(0.5,
+            statistics.getHitRatio(),
+            0.0);
+    }
+
+    @Test
+    public void usernamesAreCaseInsensitive()
+    {
+        cache.get("Admin",
+            this::load);
+        cache.get("admin",
+            this::load);
+
+        assertEquals(1,
+            loads.get());
+    }
+
+    @Test
+    public void entriesExpireAfterTheirTtl()
+    {
+        cache.get("admin",
+            this::load);
+        now.addAndGet(TTL - 1);
+        cache.get("admin",
+            this::load);
+        assertEquals(1,
+            loads.get());
+
+        now.addAndGet(1);
+        cache.get("admin",
+            this::load);
+        assertEquals(2,
+            loads.get());
+    }
+
+    @Test
+    public void invalidateDropsOneUser()
+    {
+        cache.get("admin",
+            this::load);
+        cache.get("teacher",
+            this::load);
+
+        cache.invalidate("ADMIN");
+        cache.get("admin",
+            this::load);
+        cache.get("teacher",
+            this::load);
+
+        assertEquals(3,
+            loads.get());
+    }
+
+    @Test
+    public void invalidateAllDropsEveryone()
+    {
+        cache.get("admin",
+            this::load);
+        cache.get("teacher",
+            this::load);
+
+        cache.invalidateAll();
+
+        assertEquals(0,
+            cache.size());
+    }
+
+    @Test
+    public void loadRacingAnInvalidationIsNotCached()
+    {
+        cache.get("admin",
+            username ->
+            {
+                // someone changes this user while their old roles are being read
+                cache.invalidate(username);
+                return load(username);
+            });
+
+        assertEquals(0,
+            cache.size());
+    }
+
+    @Test
+    public void sizeStaysBounded()
+    {
+        for (int i = 0; i < 100; i++)
+        {
+            now.incrementAndGet();
+            cache.get("user" + i,
+                this::load);
+        }
+
+        assertTrue(cache.size() <= 10);
+        // the newest entry is always kept
+        cache.get("user99",
+            this::load);
+        assertEquals(100,
+            loads.get());
+    }
+}
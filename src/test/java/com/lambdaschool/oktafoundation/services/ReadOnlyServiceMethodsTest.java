@@ -0,0 +1,109 @@
+package com.lambdaschool.oktafoundation.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lambdaschool.oktafoundation.OktaFoundationApplicationTest;
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.Module;
+import com.lambdaschool.oktafoundation.models.Program;
+import com.lambdaschool.oktafoundation.models.User;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Open-in-view is off, so whatever a read only service method returns is detached by the time a response is
+ * rendered. Deliberately not @Transactional: everything the model assemblers and Jackson touch has to have been
+ * fetched already, otherwise these throw a LazyInitializationException.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = OktaFoundationApplicationTest.class)
+public class ReadOnlyServiceMethodsTest
+{
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ModuleService moduleService;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    public void coursesRenderDetached() throws Exception
+    {
+        Slice<Course> courses = courseService.findAllAfter(0,
+            25);
+
+        assertFalse(courses.isEmpty());
+        for (Course course : courses)
+        {
+            course.getProgram()
+                .getProgramId();
+        }
+        objectMapper.writeValueAsString(courses.getContent());
+    }
+
+    @Test
+    public void modulesRenderDetached() throws Exception
+    {
+        Slice<Module> modules = moduleService.findAllAfter(0,
+            25);
+
+        assertFalse(modules.isEmpty());
+        Module module = moduleService.findModulesById(modules.getContent()
+            .get(0)
+            .getModuleId());
+        module.getCourse()
+            .getProgram()
+            .getProgramId();
+        objectMapper.writeValueAsString(module);
+
+        for (Module listed : moduleService.findByCourse(module.getCourse()
+            .getCourseId()))
+        {
+            listed.getCourse()
+                .getProgram()
+                .getProgramId();
+        }
+    }
+
+    @Test
+    public void programsRenderDetached() throws Exception
+    {
+        Slice<Program> programs = programService.findAllAfter(0,
+            25);
+
+        assertFalse(programs.isEmpty());
+        for (Program program : programs)
+        {
+            program.getUser()
+                .getUserId();
+        }
+        objectMapper.writeValueAsString(programs.getContent());
+    }
+
+    @Test
+    public void usersRenderDetached() throws Exception
+    {
+        Slice<User> users = userService.findAllAfter(0,
+            25);
+
+        assertFalse(users.isEmpty());
+        for (User user : users)
+        {
+            user.getRole();
+        }
+        objectMapper.writeValueAsString(users.getContent());
+    }
+}
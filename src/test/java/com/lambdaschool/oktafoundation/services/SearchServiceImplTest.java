@@ -0,0 +1,28 @@
+package com.lambdaschool.oktafoundation.services;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SearchServiceImplTest
+{
+    @Test
+    public void normalizeStripsWildcardsAndWhitespace()
+    {
+        assertEquals("java",
+            SearchServiceImpl.normalize("  %java% "));
+        assertEquals("",
+            SearchServiceImpl.normalize(null));
+    }
+
+    @Test
+    public void toPatternLowercasesAndEscapes()
+    {
+        assertEquals("%intro to java%",
+            SearchServiceImpl.toPattern("Intro to Java"));
+        assertEquals("%cs\\_101%",
+            SearchServiceImpl.toPattern("CS_101"));
+        assertEquals("%a\\\\b%",
+            SearchServiceImpl.toPattern("a\\b"));
+    }
+}
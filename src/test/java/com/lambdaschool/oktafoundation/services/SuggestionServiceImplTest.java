@@ -0,0 +1,85 @@
+package com.lambdaschool.oktafoundation.services;
+
+import com.lambdaschool.oktafoundation.models.Course;
+import com.lambdaschool.oktafoundation.models.Suggestion;
+import com.lambdaschool.oktafoundation.models.SuggestionType;
+import com.lambdaschool.oktafoundation.models.Tag;
+import com.lambdaschool.oktafoundation.models.User;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SuggestionServiceImplTest
+{
+    private SuggestionServiceImpl suggestionService;
+
+    @Before
+    public void setUp()
+    {
+        suggestionService = new SuggestionServiceImpl();
+
+        User u1 = new User("jdoe");
+        u1.setUserId(1);
+        u1.setFirstName("Jane");
+        u1.setLastName("Doe");
+        u1.setEmail("jane.doe@lambdaschool.local");
+        suggestionService.index(u1);
+
+        Tag t1 = new Tag("Java");
+        t1.setTagId(2);
+        suggestionService.index(t1);
+
+        Course c1 = new Course();
+        c1.setCourseId(3);
+        c1.setCourseName("Intro to Java");
+        c1.setCourseCode("CS101");
+        suggestionService.index(c1);
+    }
+
+    @Test
+    public void suggestMatchesWordPrefixes()
+    {
+        List<Suggestion> suggestions = suggestionService.suggest("Ja", null, 10);
+        assertEquals(3,
+            suggestions.size());
+    }
+
+    @Test
+    public void suggestFiltersByType()
+    {
+        List<Suggestion> suggestions = suggestionService.suggest("ja", SuggestionType.COURSE, 10);
+        assertEquals(1,
+            suggestions.size());
+        assertEquals("Intro to Java (CS101)",
+            suggestions.get(0)
+                .getLabel());
+    }
+
+    @Test
+    public void reindexDropsStaleTokens()
+    {
+        Course renamed = new Course();
+        renamed.setCourseId(3);
+        renamed.setCourseName("Data Structures");
+        renamed.setCourseCode("CS201");
+        suggestionService.index(renamed);
+
+        assertTrue(suggestionService.suggest("intro", null, 10)
+            .isEmpty());
+        assertEquals(1,
+            suggestionService.suggest("data", null, 10)
+                .size());
+    }
+
+    @Test
+    public void removeDropsEntity()
+    {
+        suggestionService.remove(SuggestionType.USER, 1);
+        assertTrue(suggestionService.suggest("doe", null, 10)
+            .isEmpty());
+    }
+}
@@ -0,0 +1,77 @@
+package com.lambdaschool.oktafoundation.services;
+
+import com.lambdaschool.oktafoundation.OktaFoundationApplicationTest;
+import com.lambdaschool.oktafoundation.models.RoleType;
+import com.lambdaschool.oktafoundation.models.User;
+import com.lambdaschool.oktafoundation.models.UserRoles;
+import com.lambdaschool.oktafoundation.repository.UserRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The role_type column has to follow the user's roles, since the role filtered queries read nothing else
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = OktaFoundationApplicationTest.class)
+@Transactional
+public class UserPriorityRoleTest
+{
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private boolean listedAs(RoleType roleType,
+                             long userId)
+    {
+        return userRepository.findByPriorityRole(roleType,
+            0,
+            PageRequest.of(0,
+                1000))
+            .stream()
+            .anyMatch(user -> user.getUserId() == userId);
+    }
+
+    @Test
+    public void roleTypeFollowsRoleChanges()
+    {
+        User user = new User("prioritytest",
+            "prioritytest@lambdaschool.local",
+            "Priority",
+            "Test",
+            "555-555-5555");
+        user.getRoles()
+            .add(new UserRoles(user,
+                roleService.findByName(RoleType.STUDENT.name())));
+        user = userService.save(user);
+
+        assertEquals(RoleType.STUDENT,
+            user.getRoleType());
+        assertTrue(listedAs(RoleType.STUDENT,
+            user.getUserId()));
+
+        user = userService.updateRole(user,
+            RoleType.TEACHER);
+
+        // still a student as well, but teacher outranks it
+        assertEquals(RoleType.TEACHER,
+            user.getRoleType());
+        assertTrue(listedAs(RoleType.TEACHER,
+            user.getUserId()));
+        assertFalse(listedAs(RoleType.STUDENT,
+            user.getUserId()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.lambdaschool.oktafoundation.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BinaryFormatsTest
+{
+    @Test
+    public void noPreferenceIsJson()
+    {
+        assertNull(BinaryFormats.of(null));
+        assertNull(BinaryFormats.of(""));
+        assertNull(BinaryFormats.of("*/*"));
+        assertNull(BinaryFormats.of("application/json"));
+        assertNull(BinaryFormats.of("not a media type"));
+    }
+
+    @Test
+    public void binaryFormatsAreNamed()
+    {
+        assertEquals("cbor",
+            BinaryFormats.of(BinaryFormats.CBOR_VALUE));
+        assertEquals("smile",
+            BinaryFormats.of(BinaryFormats.SMILE_VALUE));
+        assertEquals("cbor",
+            BinaryFormats.of("application/cbor, application/json;q=0.5"));
+    }
+
+    @Test
+    public void qualityAndSpecificityDecide()
+    {
+        assertNull(BinaryFormats.of("application/cbor;q=0.5, application/json"));
+        assertEquals("smile",
+            BinaryFormats.of("*/*, application/x-jackson-smile"));
+        assertNull(BinaryFormats.of("application/cbor;q=0, */*"));
+    }
+}
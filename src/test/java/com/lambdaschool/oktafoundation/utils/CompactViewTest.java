@@ -0,0 +1,36 @@
+package com.lambdaschool.oktafoundation.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompactViewTest
+{
+    @Test
+    public void viewParameter()
+    {
+        assertTrue(CompactView.isRequested("compact",
+            null));
+        assertFalse(CompactView.isRequested(CompactView.FULL,
+            null));
+    }
+
+    @Test
+    public void acceptProfile()
+    {
+        assertTrue(CompactView.isRequested(CompactView.FULL,
+            "application/json;profile=\"compact\""));
+        assertTrue(CompactView.isRequested(CompactView.FULL,
+            "application/hal+json, application/json;profile=compact;q=0.5"));
+        assertFalse(CompactView.isRequested(CompactView.FULL,
+            "application/json"));
+    }
+
+    @Test
+    public void unreadableAcceptIsTheFullView()
+    {
+        assertFalse(CompactView.isRequested(CompactView.FULL,
+            "not/a;;type=="));
+    }
+}
@@ -0,0 +1,133 @@
+package com.lambdaschool.oktafoundation.utils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CsvReaderTest
+{
+    private static List<String[]> readAll(String csv,
+                                          int bufferSize) throws IOException
+    {
+        List<String[]> rows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv),
+            bufferSize))
+        {
+            reader.forEach(0,
+                rows::add);
+        }
+        return rows;
+    }
+
+    @Test
+    public void readsPlainRows() throws IOException
+    {
+        List<String[]> rows = readAll("email,first\r\na@b.c,Ann\nd@e.f,,\n\n",
+            CsvReader.BUFFER_SIZE);
+
+        assertEquals(3,
+            rows.size());
+        assertArrayEquals(new String[]{"email", "first"},
+            rows.get(0));
+        assertArrayEquals(new String[]{"a@b.c", "Ann"},
+            rows.get(1));
+        assertArrayEquals(new String[]{"d@e.f", "", ""},
+            rows.get(2));
+    }
+
+    @Test
+    public void readsQuotedFields() throws IOException
+    {
+        String csv = "\"Smith, Jr.\",\"say \"\"hi\"\"\",\"two\nlines\",\"\"\nlast,row";
+
+        // a buffer of 1 puts every quote and line break on a buffer boundary
+        for (int bufferSize : new int[]{1, 2, CsvReader.BUFFER_SIZE})
+        {
+            List<String[]> rows = readAll(csv,
+                bufferSize);
+
+            assertEquals(2,
+                rows.size());
+            assertArrayEquals(new String[]{"Smith, Jr.", "say \"hi\"", "two\nlines", ""},
+                rows.get(0));
+            assertArrayEquals(new String[]{"last", "row"},
+                rows.get(1));
+        }
+    }
+
+    @Test
+    public void skipsTheHeader() throws IOException
+    {
+        List<String[]> rows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader("email\n\na@b.c\nd@e.f")))
+        {
+            assertEquals(2,
+                reader.forEach(1,
+                    rows::add));
+            assertEquals(3,
+                reader.getRowNumber());
+            assertNull(reader.next());
+        }
+        assertArrayEquals(new String[]{"a@b.c"},
+            rows.get(0));
+    }
+
+    @Test
+    public void streamsALargeRoster() throws IOException
+    {
+        int rows = 500_000;
+        Reader roster = new Reader()
+        {
+            private final char[] line = "reach.lms.test@example.com,First,Last,123456789,STUDENT\n".toCharArray();
+
+            private long remaining = (long) rows * line.length;
+
+            @Override
+            public int read(char[] cbuf,
+                            int off,
+                            int len)
+            {
+                if (remaining == 0)
+                {
+                    return -1;
+                }
+                int n = (int) Math.min(len,
+                    remaining);
+                for (int i = 0; i < n; i++)
+                {
+                    cbuf[off + i] = line[(int) ((line.length - remaining % line.length + i) % line.length)];
+                }
+                remaining -= n;
+                return n;
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        };
+
+        long[] students = new long[1];
+        try (CsvReader reader = new CsvReader(roster))
+        {
+            assertEquals(rows,
+                reader.forEach(0,
+                    row ->
+                    {
+                        assertEquals(5,
+                            row.length);
+                        students[0] += "STUDENT".equals(row[4]) ? 1 : 0;
+                    }));
+        }
+        assertEquals(rows,
+            students[0]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.lambdaschool.oktafoundation.utils;
+
+import com.lambdaschool.oktafoundation.exceptions.InvalidCursorException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class CursorTest
+{
+    @Test
+    public void roundTrip()
+    {
+        String cursor = Cursor.encode(12345L);
+        assertNotEquals("12345",
+            cursor);
+        assertEquals(12345L,
+            Cursor.decode(cursor));
+    }
+
+    @Test
+    public void missingCursorIsFirstPage()
+    {
+        assertEquals(0L,
+            Cursor.decode(null));
+        assertEquals(0L,
+            Cursor.decode(""));
+    }
+
+    @Test(expected = InvalidCursorException.class)
+    public void rejectsForeignTokens()
+    {
+        Cursor.decode("not-a-cursor");
+    }
+
+    @Test(expected = InvalidCursorException.class)
+    public void rejectsPageOverflow()
+    {
+        Cursor.decodePage(Cursor.encode(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void clampsSize()
+    {
+        assertEquals(1,
+            Cursor.size(0));
+        assertEquals(Cursor.MAX_SIZE,
+            Cursor.size(10_000));
+    }
+}
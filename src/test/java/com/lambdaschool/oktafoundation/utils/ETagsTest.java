@@ -0,0 +1,68 @@
+package com.lambdaschool.oktafoundation.utils;
+
+import com.lambdaschool.oktafoundation.models.RoleType;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ETagsTest
+{
+    @Test
+    public void strongETagsAreQuoted()
+    {
+        assertEquals("\"3\"",
+            ETags.strong("3"));
+        assertEquals("\"3.0.12.1-TEACHER\"",
+            ETags.strong("3.0.12.1",
+                RoleType.TEACHER));
+    }
+
+    @Test
+    public void weakETagsArePrefixed()
+    {
+        assertEquals("W/\"4.40.9-compact\"",
+            ETags.weak("4.40.9",
+                CompactView.COMPACT));
+    }
+
+    @Test
+    public void rolesGetTheirOwnETag()
+    {
+        assertNotEquals(ETags.strong("3",
+                RoleType.STUDENT),
+            ETags.strong("3",
+                RoleType.ADMIN));
+    }
+
+    @Test
+    public void binaryFormatsGetTheirOwnETag()
+    {
+        assertEquals("\"3-ADMIN\"",
+            ETags.strong("3",
+                RoleType.ADMIN,
+                BinaryFormats.of("application/json")));
+        assertEquals("\"3-ADMIN-cbor\"",
+            ETags.strong("3",
+                RoleType.ADMIN,
+                BinaryFormats.of(BinaryFormats.CBOR_VALUE)));
+    }
+
+    @Test
+    public void pageDigestsFollowTheirRows()
+    {
+        assertEquals(ETags.digest(List.of("6:2.4.5.1",
+                "7:0.0.0.0")),
+            ETags.digest(List.of("6:2.4.5.1",
+                "7:0.0.0.0")));
+        assertNotEquals(ETags.digest(List.of("6:2.4.5.1",
+                "7:0.0.0.0")),
+            ETags.digest(List.of("6:2.4.6.1",
+                "7:0.0.0.0")));
+        assertNotEquals(ETags.digest(List.of("6:2.4.5.1")),
+            ETags.digest(List.of("6:2.4.5.1",
+                "next")));
+    }
+}
@@ -0,0 +1,62 @@
+package com.lambdaschool.oktafoundation.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class TokenBucketTest
+{
+    private long now;
+
+    @Test
+    public void allowsABurstThenTheSteadyRate()
+    {
+        TokenBucket bucket = new TokenBucket(2,
+            3,
+            () -> now);
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(0,
+                bucket.tryAcquire());
+        }
+        // empty, and refilling at one token every half second
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500),
+            bucket.tryAcquire());
+
+        now += TimeUnit.MILLISECONDS.toNanos(200);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300),
+            bucket.tryAcquire());
+
+        now += TimeUnit.MILLISECONDS.toNanos(300);
+        assertEquals(0,
+            bucket.tryAcquire());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500),
+            bucket.tryAcquire());
+    }
+
+    @Test
+    public void neverHoldsMoreThanTheBurst()
+    {
+        TokenBucket bucket = new TokenBucket(10,
+            2,
+            () -> now);
+
+        now += TimeUnit.HOURS.toNanos(1);
+        assertEquals(0,
+            bucket.tryAcquire());
+        assertEquals(0,
+            bucket.tryAcquire());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100),
+            bucket.tryAcquire());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void needsAPositiveRate()
+    {
+        new TokenBucket(0,
+            1);
+    }
+}